@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Throughput and tail latency of platform-thread vs virtual-thread request handling.
+# Starts the packaged app once per mode (same DB/profile), drives it with wrk, then stops it.
+#   ./mvnw -DskipTests package && bench/threads-compare.sh
+# Requires wrk. Tune with PROFILE, CONNECTIONS, THREADS, DURATION, PATHS.
+set -euo pipefail
+
+JAR=${JAR:-$(ls target/backend-*.jar | grep -v original | head -1)}
+PROFILE=${PROFILE:-dev}
+PORT=${PORT:-8080}
+CONNECTIONS=${CONNECTIONS:-2000}
+THREADS=${THREADS:-8}
+DURATION=${DURATION:-30s}
+PATHS=${PATHS:-"/api/posts /api/home /api/posts/suggest?prefix=a"}
+
+run_mode() {
+  local virtual=$1
+  java -jar "$JAR" --spring.profiles.active="$PROFILE" --server.port="$PORT" \
+       --spring.threads.virtual.enabled="$virtual" > "target/threads-$virtual.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+  for _ in $(seq 1 60); do
+    curl -fsS "http://localhost:$PORT/actuator/health" > /dev/null 2>&1 && break
+    sleep 1
+  done
+  for path in $PATHS; do
+    echo "=== virtual=$virtual $path (c=$CONNECTIONS, t=$THREADS, $DURATION)"
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "http://localhost:$PORT$path" \
+      | grep -E 'Requests/sec|50%|90%|99%|Non-2xx|Socket errors' || true
+  done
+  echo "--- pinning events (virtual mode only)"
+  curl -fsS "http://localhost:$PORT/actuator/metrics/jvm.threads.virtual.pinned" 2>/dev/null || echo "n/a"
+  echo
+}
+
+run_mode false
+run_mode true
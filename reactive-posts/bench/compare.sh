@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Compare the servlet backend and the reactive read API under high concurrency.
+# Both must be running against the same database, e.g.
+#   ./mvnw spring-boot:run                                  (servlet, :8080)
+#   ./mvnw -f reactive-posts/pom.xml spring-boot:run        (reactive, :8081)
+# Requires wrk (https://github.com/wg/wrk). Tune with CONNECTIONS, THREADS, DURATION, SLUG.
+set -euo pipefail
+
+SERVLET=${SERVLET:-http://localhost:8080}
+REACTIVE=${REACTIVE:-http://localhost:8081}
+CONNECTIONS=${CONNECTIONS:-1000}
+THREADS=${THREADS:-8}
+DURATION=${DURATION:-30s}
+SLUG=${SLUG:-$(curl -fsS "$SERVLET/api/posts?fields=slug" | sed -n 's/.*"slug":"\([^"]*\)".*/\1/p' | head -1)}
+
+for path in "/api/posts" "/api/posts/slug/$SLUG"; do
+  for target in "servlet:$SERVLET" "reactive:$REACTIVE"; do
+    name=${target%%:*}
+    base=${target#*:}
+    echo "=== $name $path (c=$CONNECTIONS, t=$THREADS, $DURATION)"
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "$base$path" | grep -E 'Requests/sec|Latency|50%|99%|Non-2xx|Socket errors' || true
+  done
+done
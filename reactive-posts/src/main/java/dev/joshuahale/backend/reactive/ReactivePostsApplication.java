@@ -0,0 +1,12 @@
+package dev.joshuahale.backend.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactivePostsApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactivePostsApplication.class, args);
+    }
+}
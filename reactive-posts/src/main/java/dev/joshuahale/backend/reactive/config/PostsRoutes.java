@@ -0,0 +1,43 @@
+package dev.joshuahale.backend.reactive.config;
+
+import dev.joshuahale.backend.reactive.posts.handler.PostsHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Configuration
+public class PostsRoutes {
+
+    // Same paths as the servlet PostsController's read endpoints
+    @Bean
+    public RouterFunction<ServerResponse> postsRouter(PostsHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/posts", handler::listAllOrdered)
+                .GET("/api/posts/slug/{slug}", handler::getBySlug)
+                .GET("/api/posts/{id}", handler::getById)
+                .build();
+    }
+
+    // Mirrors the servlet SecurityConfig CORS policy (read-only methods only)
+    @Bean
+    public CorsWebFilter corsWebFilter(@Value("${cors.allowed-origins}") String allowedOrigins) {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(Arrays.stream(allowedOrigins.split(",")).map(String::trim).toList());
+        configuration.setAllowedMethods(List.of("GET", "HEAD", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setAllowCredentials(true);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return new CorsWebFilter(source);
+    }
+}
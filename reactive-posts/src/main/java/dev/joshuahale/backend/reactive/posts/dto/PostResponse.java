@@ -0,0 +1,36 @@
+package dev.joshuahale.backend.reactive.posts.dto;
+
+import java.time.OffsetDateTime;
+
+// Mirrors dev.joshuahale.backend.posts.dto.PostResponse field-for-field: the JSON contract must stay identical
+public class PostResponse {
+    private Long id;
+    private String title;
+    private String slug;
+    private String content;
+    private String heroImage;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+
+    // getters & setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getSlug() { return slug; }
+    public void setSlug(String slug) { this.slug = slug; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public String getHeroImage() { return heroImage; }
+    public void setHeroImage(String heroImage) { this.heroImage = heroImage; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
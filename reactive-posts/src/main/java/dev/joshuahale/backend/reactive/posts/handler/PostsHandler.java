@@ -0,0 +1,61 @@
+package dev.joshuahale.backend.reactive.posts.handler;
+
+import dev.joshuahale.backend.reactive.posts.dto.PostResponse;
+import dev.joshuahale.backend.reactive.posts.repository.PostRow;
+import dev.joshuahale.backend.reactive.posts.repository.ReactivePostsRepository;
+import dev.joshuahale.backend.reactive.posts.service.PostContentDecoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public class PostsHandler {
+
+    private final ReactivePostsRepository repo;
+    private final PostContentDecoder decoder;
+
+    public PostsHandler(ReactivePostsRepository repo, PostContentDecoder decoder) {
+        this.repo = repo;
+        this.decoder = decoder;
+    }
+
+    // GET /api/posts: a JSON array by default; one post per line with Accept: application/x-ndjson,
+    // written as each row arrives instead of after the whole list is read
+    public Mono<ServerResponse> listAllOrdered(ServerRequest request) {
+        boolean ndjson = request.headers().accept().stream()
+                .anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_NDJSON) && !type.isWildcardType());
+        Flux<PostResponse> posts = repo.findAllOrdered().concatMap(decoder::decode);
+        return ServerResponse.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(posts, PostResponse.class);
+    }
+
+    // GET /api/posts/{id}
+    public Mono<ServerResponse> getById(ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException ex) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid post id"));
+        }
+        return single(repo.findById(id), "Post not found: id=" + id);
+    }
+
+    // GET /api/posts/slug/{slug}
+    public Mono<ServerResponse> getBySlug(ServerRequest request) {
+        String slug = request.pathVariable("slug");
+        return single(repo.findBySlug(slug), "Post not found: slug=" + slug);
+    }
+
+    private Mono<ServerResponse> single(Mono<PostRow> row, String notFound) {
+        return row
+                .flatMap(decoder::decode)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, notFound)))
+                .flatMap(post -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(post));
+    }
+}
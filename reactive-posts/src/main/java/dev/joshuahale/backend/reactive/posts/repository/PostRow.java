@@ -0,0 +1,6 @@
+package dev.joshuahale.backend.reactive.posts.repository;
+
+import dev.joshuahale.backend.reactive.posts.dto.PostResponse;
+
+/** A posts row as read: compressed rows carry their body in contentDeflated (see PostContentDecoder). */
+public record PostRow(PostResponse response, byte[] contentDeflated, Integer contentDictId) { }
@@ -0,0 +1,69 @@
+package dev.joshuahale.backend.reactive.posts.repository;
+
+import dev.joshuahale.backend.reactive.posts.dto.PostResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Read-only access to the servlet backend's posts table (the schema is owned by its Flyway migrations).
+ * Rows are mapped straight into responses; nothing here writes.
+ */
+@Repository
+public class ReactivePostsRepository {
+
+    private static final String SELECT = """
+        select id, title, slug, content, hero_image, created_at, updated_at, content_deflated, content_dict_id
+        from posts
+        """;
+
+    private final DatabaseClient db;
+
+    public ReactivePostsRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    // Newest first, emitted row by row as the driver receives them
+    public Flux<PostRow> findAllOrdered() {
+        return db.sql(SELECT + "order by created_at desc, id desc")
+                .map(ReactivePostsRepository::mapRow)
+                .all();
+    }
+
+    public Mono<PostRow> findById(long id) {
+        return db.sql(SELECT + "where id = :id")
+                .bind("id", id)
+                .map(ReactivePostsRepository::mapRow)
+                .one();
+    }
+
+    public Mono<PostRow> findBySlug(String slug) {
+        return db.sql(SELECT + "where slug = :slug")
+                .bind("slug", slug)
+                .map(ReactivePostsRepository::mapRow)
+                .one();
+    }
+
+    public Mono<byte[]> findDictionary(int id) {
+        return db.sql("select dictionary from post_content_dictionaries where id = :id")
+                .bind("id", id)
+                .map(row -> row.get("dictionary", byte[].class))
+                .one();
+    }
+
+    private static PostRow mapRow(Readable row) {
+        PostResponse r = new PostResponse();
+        r.setId(row.get("id", Long.class));
+        r.setTitle(row.get("title", String.class));
+        r.setSlug(row.get("slug", String.class));
+        r.setContent(row.get("content", String.class));
+        r.setHeroImage(row.get("hero_image", String.class));
+        r.setCreatedAt(row.get("created_at", OffsetDateTime.class));
+        r.setUpdatedAt(row.get("updated_at", OffsetDateTime.class));
+        return new PostRow(r, row.get("content_deflated", byte[].class), row.get("content_dict_id", Integer.class));
+    }
+}
@@ -0,0 +1,82 @@
+package dev.joshuahale.backend.reactive.posts.service;
+
+import dev.joshuahale.backend.reactive.posts.dto.PostResponse;
+import dev.joshuahale.backend.reactive.posts.repository.PostRow;
+import dev.joshuahale.backend.reactive.posts.repository.ReactivePostsRepository;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read side of the servlet backend's PostContentCodec: compressed bodies are
+ * [format byte 1][int uncompressed length][raw deflate], optionally primed with a stored dictionary.
+ */
+@Component
+public class PostContentDecoder {
+
+    private static final byte FORMAT_DEFLATE_V1 = 1;
+    private static final int HEADER_BYTES = 1 + Integer.BYTES;
+
+    private final ReactivePostsRepository repo;
+
+    // Dictionaries never change once stored; cache the lookup (not just the value) so concurrent
+    // first requests share one query
+    private final Map<Integer, Mono<byte[]>> dictionaries = new ConcurrentHashMap<>();
+
+    public PostContentDecoder(ReactivePostsRepository repo) {
+        this.repo = repo;
+    }
+
+    public Mono<PostResponse> decode(PostRow row) {
+        if (row.contentDeflated() == null) {
+            return Mono.just(row.response());
+        }
+        Mono<byte[]> dict = row.contentDictId() == null
+                ? Mono.just(new byte[0])
+                : dictionaries.computeIfAbsent(row.contentDictId(), id -> repo.findDictionary(id)
+                        .switchIfEmpty(Mono.error(() -> new IllegalStateException("Missing post content dictionary " + id)))
+                        .cache());
+        return dict.map(d -> {
+            PostResponse r = row.response();
+            r.setContent(new String(decompress(row.contentDeflated(), d.length == 0 ? null : d), StandardCharsets.UTF_8));
+            return r;
+        });
+    }
+
+    static byte[] decompress(byte[] stored, byte[] dict) {
+        ByteBuffer header = ByteBuffer.wrap(stored, 0, HEADER_BYTES);
+        byte format = header.get();
+        if (format != FORMAT_DEFLATE_V1) {
+            throw new IllegalStateException("Unknown post content format " + format);
+        }
+        int length = header.getInt();
+
+        Inflater inflater = new Inflater(true);
+        try {
+            // Raw deflate never asks for the dictionary, so it has to be primed up front
+            if (dict != null) inflater.setDictionary(dict);
+            inflater.setInput(stored, HEADER_BYTES, stored.length - HEADER_BYTES);
+            byte[] out = new byte[length];
+            int off = 0;
+            while (off < length) {
+                int n = inflater.inflate(out, off, length - off);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) break;
+                off += n;
+            }
+            if (off != length) {
+                throw new IllegalStateException("Truncated post content");
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt post content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.joshuahale.backend.reactive;
+
+import dev.joshuahale.backend.reactive.config.PostsRoutes;
+import dev.joshuahale.backend.reactive.posts.dto.PostResponse;
+import dev.joshuahale.backend.reactive.posts.handler.PostsHandler;
+import dev.joshuahale.backend.reactive.posts.repository.PostRow;
+import dev.joshuahale.backend.reactive.posts.repository.ReactivePostsRepository;
+import dev.joshuahale.backend.reactive.posts.service.PostContentDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.OffsetDateTime;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostsHandlerTest {
+
+    private ReactivePostsRepository repo;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(ReactivePostsRepository.class);
+        PostsHandler handler = new PostsHandler(repo, new PostContentDecoder(repo));
+        // Boot's default Jackson setup (ISO-8601 dates), as the running app and the servlet backend use
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        HandlerStrategies strategies = HandlerStrategies.builder().codecs(codecs -> {
+            codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper));
+            codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper));
+        }).build();
+        client = WebTestClient.bindToRouterFunction(new PostsRoutes().postsRouter(handler))
+                .handlerStrategies(strategies)
+                .build();
+    }
+
+    private PostRow row(long id, String slug) {
+        PostResponse r = new PostResponse();
+        r.setId(id);
+        r.setTitle("Title " + id);
+        r.setSlug(slug);
+        r.setContent("Body");
+        r.setCreatedAt(OffsetDateTime.parse("2025-09-29T12:00:00Z"));
+        r.setUpdatedAt(OffsetDateTime.parse("2025-09-29T12:00:00Z"));
+        return new PostRow(r, null, null);
+    }
+
+    @Test
+    void list_isAJsonArray_withTheServletContract() {
+        when(repo.findAllOrdered()).thenReturn(Flux.just(row(2, "b"), row(1, "a")));
+
+        client.get().uri("/api/posts").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(2)
+                .jsonPath("$[0].slug").isEqualTo("b")
+                .jsonPath("$[0].heroImage").doesNotExist()
+                .jsonPath("$[0].createdAt").isEqualTo("2025-09-29T12:00:00Z")
+                .jsonPath("$[1].id").isEqualTo(1);
+    }
+
+    @Test
+    void list_streamsNdjson_whenAsked() {
+        when(repo.findAllOrdered()).thenReturn(Flux.just(row(2, "b"), row(1, "a")));
+
+        client.get().uri("/api/posts").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PostResponse.class)
+                .getResponseBody()
+                .map(PostResponse::getSlug)
+                .as(StepVerifier::create)
+                .expectNext("b", "a")
+                .verifyComplete();
+    }
+
+    @Test
+    void getBySlug_andById_return404WhenMissing() {
+        when(repo.findBySlug("a")).thenReturn(Mono.just(row(1, "a")));
+        when(repo.findById(9L)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/posts/slug/a").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.title").isEqualTo("Title 1");
+        client.get().uri("/api/posts/9").exchange().expectStatus().isNotFound();
+        client.get().uri("/api/posts/abc").exchange().expectStatus().isBadRequest();
+    }
+}
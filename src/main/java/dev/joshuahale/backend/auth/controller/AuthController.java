@@ -4,7 +4,11 @@ import dev.joshuahale.backend.auth.dto.AuthResponse;
 import dev.joshuahale.backend.auth.dto.LoginRequest;
 import dev.joshuahale.backend.auth.dto.SignupRequest;
 import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.AuthService.CurrentSession;
+import dev.joshuahale.backend.auth.service.AuthService.LoginResult;
 import dev.joshuahale.backend.auth.service.SessionService;
+import dev.joshuahale.backend.config.ClientIp;
+import dev.joshuahale.backend.config.SessionCookies;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpHeaders;
@@ -13,17 +17,12 @@ import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Duration;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
-    private static final String SID_COOKIE = "sid";
-    // Keep this aligned with SessionService TTL (default we used = 7 days)
-    private static final Duration SESSION_TTL = Duration.ofDays(7);
-
     private final AuthService authService;
     private final SessionService sessionService;
 
@@ -43,7 +42,7 @@ public class AuthController {
 
         // Optional: auto-login on signup. If you want this, create a session here.
         String token = sessionService.create(user.getUserId(), userAgent(http), clientIp(http));
-        ResponseCookie sid = sessionCookie(token, true);
+        ResponseCookie sid = SessionCookies.issue(token, true);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .header(HttpHeaders.SET_COOKIE, sid.toString())
@@ -56,33 +55,27 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
                                               HttpServletRequest http) {
-        AuthResponse user = authService.login(request, userAgent(http), clientIp(http));
-        String token = sessionService.create(user.getUserId(), userAgent(http), clientIp(http));
+        // login creates the session itself; exactly one per successful login
+        LoginResult result = authService.login(request, userAgent(http), clientIp(http));
 
         // automatically set secure=true only in production
-        boolean secure = !isLocal(http);
-        ResponseCookie sid = sessionCookie(token, secure);
+        ResponseCookie sid = SessionCookies.issue(result.sessionToken(), SessionCookies.secure(http));
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, sid.toString())
-                .body(user);
-    }
-
-    private boolean isLocal(HttpServletRequest req) {
-        String host = req.getServerName();
-        return host.equals("localhost") || host.equals("127.0.0.1");
+                .body(result.user());
     }
 
     // ---------------------------
     // Logout current session
     // ---------------------------
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(@CookieValue(name = SID_COOKIE, required = false) String token) {
+    public ResponseEntity<Void> logout(@CookieValue(name = SessionCookies.NAME, required = false) String token) {
         if (token != null && !token.isBlank()) {
             sessionService.revoke(token);
         }
         // Clear cookie on client regardless
-        ResponseCookie clear = clearSessionCookie();
+        ResponseCookie clear = SessionCookies.clear();
         return ResponseEntity.noContent()
                 .header(HttpHeaders.SET_COOKIE, clear.toString())
                 .build();
@@ -92,53 +85,33 @@ public class AuthController {
     // Who am I
     // ---------------------------
     @GetMapping("/me")
-    public ResponseEntity<AuthResponse> me(@CookieValue(name = SID_COOKIE, required = false) String token) {
+    public ResponseEntity<AuthResponse> me(@CookieValue(name = SessionCookies.NAME, required = false) String token,
+                                           HttpServletRequest http) {
         if (token == null || token.isBlank()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        Optional<AuthResponse> me = authService.currentUser(token);
-        return me.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        Optional<CurrentSession> me = authService.currentSession(token);
+        if (me.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // Sliding expiry moved expires_at: move the cookie's Max-Age with it
+        var ok = ResponseEntity.ok();
+        if (me.get().extendedTo() != null) {
+            ok.header(HttpHeaders.SET_COOKIE, SessionCookies.renew(token, me.get().extendedTo(), http).toString());
+        }
+        return ok.body(me.get().user());
     }
 
     // ---------------------------
     // Helpers
     // ---------------------------
-    private ResponseCookie sessionCookie(String token, boolean secure) {
-        return ResponseCookie.from(SID_COOKIE, token)
-                .httpOnly(true)
-                .secure(secure)                 // true in prod (HTTPS); allow false only for local dev over http
-                .sameSite("Lax")                // or "Strict" if frontend and backend are same-site only
-                .path("/")
-                .maxAge(SESSION_TTL)
-                .build();
-    }
-
-    private ResponseCookie clearSessionCookie() {
-        return ResponseCookie.from(SID_COOKIE, "")
-                .httpOnly(true)
-                .secure(true)
-                .sameSite("Lax")
-                .path("/")
-                .maxAge(Duration.ZERO)
-                .build();
-    }
-
     private String userAgent(HttpServletRequest req) {
         String ua = req.getHeader("User-Agent");
         return ua != null ? ua : "";
     }
 
     private String clientIp(HttpServletRequest req) {
-        // If you’re behind a proxy, prefer X-Forwarded-For (and configure server to trust it)
-        String xff = req.getHeader("X-Forwarded-For");
-        if (xff != null && !xff.isBlank()) {
-            // XFF can be a comma-separated list. First is the original client IP.
-            int comma = xff.indexOf(',');
-            return comma > 0 ? xff.substring(0, comma).trim() : xff.trim();
-        }
-        String realIp = req.getHeader("X-Real-IP");
-        if (realIp != null && !realIp.isBlank()) return realIp;
-        return req.getRemoteAddr();
+        // X-Forwarded-For as far as our own proxies wrote it; shared with RateLimitFilter
+        return ClientIp.of(req);
     }
 }
@@ -0,0 +1,56 @@
+package dev.joshuahale.backend.auth.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+// A single signed session token revoked before its expiry (see SignedSessionServiceImpl)
+@Entity
+@Table(name = "revoked_sessions")
+public class RevokedSessionEntity {
+
+    // The token's random id (jti), not the token itself
+    @Id
+    @Column(name = "token_id", length = 32)
+    private String tokenId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Kept until the token would have expired anyway, then purged
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private OffsetDateTime revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.revokedAt = OffsetDateTime.now();
+    }
+
+    // === Getters / Setters ===
+    public String getTokenId() {
+        return tokenId;
+    }
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    public void setExpiresAt(OffsetDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public OffsetDateTime getRevokedAt() {
+        return revokedAt;
+    }
+}
@@ -29,7 +29,7 @@ public class SessionEntity {
     // === Lifecycle ===
     @PrePersist
     protected void onCreate() {
-        this.createdAt = OffsetDateTime.now();
+        if (this.createdAt == null) this.createdAt = OffsetDateTime.now();
     }
 
     // === Convenience ===
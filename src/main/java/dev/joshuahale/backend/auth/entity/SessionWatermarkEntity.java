@@ -0,0 +1,36 @@
+package dev.joshuahale.backend.auth.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+// Per-user "signed tokens issued at or before notBefore are invalid" (logout everywhere)
+@Entity
+@Table(name = "session_watermarks")
+public class SessionWatermarkEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "not_before", nullable = false)
+    private OffsetDateTime notBefore;
+
+    protected SessionWatermarkEntity() { }
+
+    public SessionWatermarkEntity(Long userId, OffsetDateTime notBefore) {
+        this.userId = userId;
+        this.notBefore = notBefore;
+    }
+
+    // === Getters / Setters ===
+    public Long getUserId() {
+        return userId;
+    }
+
+    public OffsetDateTime getNotBefore() {
+        return notBefore;
+    }
+    public void setNotBefore(OffsetDateTime notBefore) {
+        this.notBefore = notBefore;
+    }
+}
@@ -0,0 +1,305 @@
+package dev.joshuahale.backend.auth.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Sessions in a memory-mapped file, so a single-node deployment without Postgres keeps its logins
+ * across restarts (the embedded profile pairs it with EmbeddedPostsRepository).
+ *
+ * Layout: [magic "SESS"][version] followed by fixed-size slots of
+ * [state][token length][user id][expires epoch seconds][expires nanos][created epoch seconds][crc32c][token bytes].
+ * Sessions are small and rewritten in place (sliding expiry), so slots beat an append-only log here:
+ * a delete just frees its slot, and the file never needs compacting. It doubles when every slot is taken.
+ *
+ * The whole index lives on the heap (token -> slot, user -> tokens) and is rebuilt by one scan on open;
+ * lookups never read the file. Writes are serialized on this object. An insert sets the slot's state byte
+ * last; an expiry update rewrites the crc last, and a slot whose crc does not match (torn write) is freed on
+ * the next open. Without fsync, writes survive a process crash but not a power loss; the worst case is
+ * logging some users out. So is the fallback for a file in an older layout: it is started afresh.
+ */
+@Repository
+@ConditionalOnProperty(name = "auth.session.store", havingValue = "file")
+public class FileSessionStore implements SessionStore, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSessionStore.class);
+
+    private static final int MAGIC = 0x53455353;   // "SESS"
+    private static final int VERSION = 2;          // 2: created seconds added
+    private static final int FILE_HEADER = 2 * Integer.BYTES;
+
+    private static final int SLOT_BYTES = 128;
+    private static final int STATE = 0;                       // byte: FREE or LIVE
+    private static final int TOKEN_LENGTH = 1;                // byte
+    private static final int USER_ID = 2;                     // long
+    private static final int EXPIRES_SECONDS = 10;            // long
+    private static final int EXPIRES_NANOS = 18;              // int
+    private static final int CREATED_SECONDS = 22;            // long
+    private static final int CRC = 30;                        // int, over user id .. end of token
+    private static final int TOKEN = 34;
+    private static final int MAX_TOKEN_BYTES = SLOT_BYTES - TOKEN;
+
+    private static final byte FREE = 0;
+    private static final byte LIVE = 1;
+
+    private static final long MAX_SLOTS = (Integer.MAX_VALUE - FILE_HEADER) / SLOT_BYTES;
+
+    private final Path path;
+    private final boolean fsync;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private MappedByteBuffer map;
+    private int slots;
+
+    // Heap index; written under "this", index read lock-free
+    private final Map<String, Slot> byToken = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> byUser = new ConcurrentHashMap<>();
+    private final BitSet used = new BitSet();
+
+    public FileSessionStore(@Value("${auth.session.file-store.path:./data/sessions.db}") Path path,
+                            @Value("${auth.session.file-store.initial-slots:8192}") int initialSlots,
+                            @Value("${auth.session.file-store.fsync:false}") boolean fsync) {
+        this.path = path;
+        this.fsync = fsync;
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.lock = channel.tryLock();
+            if (lock == null) {
+                channel.close();
+                throw new IllegalStateException("Session file " + path + " is in use by another process");
+            }
+            try {
+                open(Math.max(1, initialSlots));
+            } catch (RuntimeException e) {
+                channel.close();   // also releases the lock
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open session file " + path, e);
+        }
+        log.info("Session file {} opened: {} sessions in {} slots", path, byToken.size(), slots);
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) return;
+        map.force();
+        lock.release();
+        channel.close();
+    }
+
+    // ===============================
+    // Reads (heap index only)
+    // ===============================
+    @Override
+    public Optional<StoredSession> find(String token) {
+        Slot s = byToken.get(token);
+        return s == null ? Optional.empty() : Optional.of(new StoredSession(token, s.userId(), s.expiresAt(), s.createdAt()));
+    }
+
+    public int size() {
+        return byToken.size();
+    }
+
+    // ===============================
+    // Writes (serialized)
+    // ===============================
+    @Override
+    public synchronized void insert(StoredSession session) {
+        byte[] token = session.token().getBytes(StandardCharsets.UTF_8);
+        if (token.length > MAX_TOKEN_BYTES) {
+            throw new IllegalArgumentException("Session tokens are limited to " + MAX_TOKEN_BYTES + " bytes here");
+        }
+        if (byToken.containsKey(session.token())) throw new DuplicateKeyException("Session token already stored");
+
+        int index = used.nextClearBit(0);
+        if (index >= slots) grow();
+        int at = offset(index);
+        map.put(at + TOKEN_LENGTH, (byte) token.length);
+        map.putLong(at + USER_ID, session.userId());
+        map.putLong(at + CREATED_SECONDS, session.createdAt().toEpochSecond());
+        map.put(at + TOKEN, token);
+        writeExpiry(at, session.expiresAt());
+        // State last: a crash before it leaves the slot free
+        map.put(at + STATE, LIVE);
+        if (fsync) map.force(at, SLOT_BYTES);
+
+        used.set(index);
+        byToken.put(session.token(), new Slot(index, session.userId(), session.expiresAt(), utcSeconds(session.createdAt())));
+        byUser.computeIfAbsent(session.userId(), id -> ConcurrentHashMap.newKeySet()).add(session.token());
+    }
+
+    @Override
+    public synchronized boolean delete(String token) {
+        Slot s = byToken.get(token);
+        if (s == null) return false;
+        free(token, s);
+        return true;
+    }
+
+    @Override
+    public synchronized int deleteByUser(Long userId) {
+        Set<String> tokens = byUser.get(userId);
+        if (tokens == null) return 0;
+        int removed = 0;
+        for (String token : List.copyOf(tokens)) {
+            Slot s = byToken.get(token);
+            if (s != null) {
+                free(token, s);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized void extend(String token, OffsetDateTime expiresAt) {
+        Slot s = byToken.get(token);
+        if (s == null || !expiresAt.isAfter(s.expiresAt())) return;
+        int at = offset(s.index());
+        writeExpiry(at, expiresAt);
+        if (fsync) map.force(at, SLOT_BYTES);
+        byToken.put(token, new Slot(s.index(), s.userId(), expiresAt, s.createdAt()));
+    }
+
+    @Override
+    public synchronized long purgeExpired(OffsetDateTime cutoff) {
+        List<String> expired = new ArrayList<>();
+        byToken.forEach((token, s) -> {
+            if (s.expiresAt().isBefore(cutoff)) expired.add(token);
+        });
+        for (String token : expired) free(token, byToken.get(token));
+        if (!expired.isEmpty() && !fsync) map.force();
+        return expired.size();
+    }
+
+    private void free(String token, Slot s) {
+        map.put(offset(s.index()) + STATE, FREE);
+        if (fsync) map.force(offset(s.index()), 1);
+        used.clear(s.index());
+        byToken.remove(token);
+        Set<String> tokens = byUser.get(s.userId());
+        if (tokens != null && tokens.remove(token) && tokens.isEmpty()) byUser.remove(s.userId());
+    }
+
+    // Expiry, then the crc over the whole payload: a torn update fails the crc and the slot is dropped on open
+    private void writeExpiry(int at, OffsetDateTime expiresAt) {
+        Instant i = expiresAt.toInstant();
+        map.putLong(at + EXPIRES_SECONDS, i.getEpochSecond());
+        map.putInt(at + EXPIRES_NANOS, i.getNano());
+        map.putInt(at + CRC, crc(at));
+    }
+
+    private int crc(int at) {
+        CRC32C crc = new CRC32C();
+        crc.update(map.slice(at + USER_ID, CRC - USER_ID));
+        crc.update(map.slice(at + TOKEN, map.get(at + TOKEN_LENGTH)));
+        return (int) crc.getValue();
+    }
+
+    private void grow() {
+        if (slots >= MAX_SLOTS) throw new IllegalStateException("Session file " + path + " is full (" + slots + " sessions)");
+        map(Math.min(slots * 2L, MAX_SLOTS));
+    }
+
+    private void map(long slotCount) {
+        try {
+            // Mapping past the end grows the file; new slots read as zeros, i.e. FREE
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER + slotCount * SLOT_BYTES);
+            slots = (int) slotCount;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map session file " + path, e);
+        }
+    }
+
+    private static int offset(int index) {
+        return FILE_HEADER + index * SLOT_BYTES;
+    }
+
+    // What a reopened file yields, so the heap copy never differs from it
+    private static OffsetDateTime utcSeconds(OffsetDateTime t) {
+        return Instant.ofEpochSecond(t.toEpochSecond()).atOffset(ZoneOffset.UTC);
+    }
+
+    // ===============================
+    // Recovery
+    // ===============================
+    private void open(int initialSlots) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            map(Math.min(initialSlots, MAX_SLOTS));
+            map.putInt(0, MAGIC);
+            map.putInt(Integer.BYTES, VERSION);
+            map.force();
+            return;
+        }
+        map(Math.max(initialSlots, (size - FILE_HEADER) / SLOT_BYTES));
+        if (size < FILE_HEADER || map.getInt(0) != MAGIC || map.getInt(Integer.BYTES) > VERSION) {
+            throw new IllegalStateException(path + " is not a version " + VERSION + " session file");
+        }
+        if (map.getInt(Integer.BYTES) < VERSION) {
+            log.warn("Session file {} has layout version {}; starting it afresh (signs everyone out once)",
+                    path, map.getInt(Integer.BYTES));
+            for (int index = 0; index < slots; index++) map.put(offset(index) + STATE, FREE);
+            map.putInt(Integer.BYTES, VERSION);
+            map.force();
+            return;
+        }
+
+        int torn = 0;
+        for (int index = 0; index < slots; index++) {
+            int at = offset(index);
+            if (map.get(at + STATE) != LIVE) continue;
+            int length = map.get(at + TOKEN_LENGTH);
+            if (length <= 0 || length > MAX_TOKEN_BYTES || crc(at) != map.getInt(at + CRC)) {
+                map.put(at + STATE, FREE);
+                torn++;
+                continue;
+            }
+            byte[] token = new byte[length];
+            map.get(at + TOKEN, token);
+            long userId = map.getLong(at + USER_ID);
+            OffsetDateTime expiresAt = Instant.ofEpochSecond(map.getLong(at + EXPIRES_SECONDS), map.getInt(at + EXPIRES_NANOS))
+                    .atOffset(ZoneOffset.UTC);
+            OffsetDateTime createdAt = Instant.ofEpochSecond(map.getLong(at + CREATED_SECONDS)).atOffset(ZoneOffset.UTC);
+            String key = new String(token, StandardCharsets.UTF_8);
+            used.set(index);
+            byToken.put(key, new Slot(index, userId, expiresAt, createdAt));
+            byUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        if (torn > 0) log.warn("Dropped {} torn session slots from {}", torn, path);
+    }
+
+    // Heap copy of a slot; replaced (not mutated) on extend so lock-free readers see a consistent value
+    private record Slot(int index, long userId, OffsetDateTime expiresAt, OffsetDateTime createdAt) { }
+}
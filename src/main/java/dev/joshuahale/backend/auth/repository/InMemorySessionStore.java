@@ -0,0 +1,210 @@
+package dev.joshuahale.backend.auth.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sessions on the heap, for single-node deployments that do not want a sessions table. Restarting the
+ * process logs everyone out.
+ *
+ * Tokens are spread over power-of-two shards by hash. Lookups are lock-free (each shard's token map is a
+ * ConcurrentHashMap); writes take only their shard's lock, which also guards the shard's user index and
+ * its expiry wheel. logout-everywhere visits every shard, since a user's tokens hash anywhere.
+ *
+ * Expiry wheel: one slot per tick (a minute) of expiresAt, modulo SLOTS. A purge walks only the slots
+ * whose ticks passed since the last purge and drops what has expired; sessions further out than one
+ * revolution share a slot with nearer ones and are simply skipped until their turn comes round.
+ */
+@Repository
+@ConditionalOnProperty(name = "auth.session.store", havingValue = "memory")
+public class InMemorySessionStore implements SessionStore {
+
+    private static final long TICK_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final int SLOTS = 4096;   // ~2.8 days per revolution
+
+    private final Shard[] shards;
+    private final int mask;
+
+    public InMemorySessionStore(@Value("${auth.session.memory-store.shards:64}") int shards) {
+        int n = shards <= 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;   // round up to a power of two
+        this.shards = new Shard[n];
+        this.mask = n - 1;
+        long now = tick(OffsetDateTime.now());
+        for (int i = 0; i < n; i++) this.shards[i] = new Shard(now);
+    }
+
+    @Override
+    public void insert(StoredSession session) {
+        Shard shard = shard(session.token());
+        synchronized (shard) {
+            if (shard.byToken.containsKey(session.token())) {
+                throw new DuplicateKeyException("Session token already stored");
+            }
+            Entry e = new Entry(session.token(), session.userId(), session.expiresAt(), session.createdAt());
+            shard.byToken.put(e.token, e);
+            shard.byUser.computeIfAbsent(e.userId, id -> new HashSet<>()).add(e.token);
+            shard.schedule(e);
+        }
+    }
+
+    @Override
+    public Optional<StoredSession> find(String token) {
+        Entry e = shard(token).byToken.get(token);
+        return e == null ? Optional.empty() : Optional.of(new StoredSession(e.token, e.userId, e.expiresAt, e.createdAt));
+    }
+
+    @Override
+    public boolean delete(String token) {
+        Shard shard = shard(token);
+        synchronized (shard) {
+            Entry e = shard.byToken.get(token);
+            if (e == null) return false;
+            shard.remove(e);
+            return true;
+        }
+    }
+
+    @Override
+    public int deleteByUser(Long userId) {
+        int removed = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                Set<String> tokens = shard.byUser.get(userId);
+                if (tokens == null) continue;
+                for (String token : Set.copyOf(tokens)) {
+                    shard.remove(shard.byToken.get(token));
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void extend(String token, OffsetDateTime expiresAt) {
+        Shard shard = shard(token);
+        synchronized (shard) {
+            Entry e = shard.byToken.get(token);
+            if (e == null || !expiresAt.isAfter(e.expiresAt)) return;
+            shard.unschedule(e);
+            e.expiresAt = expiresAt;
+            shard.schedule(e);
+        }
+    }
+
+    @Override
+    public long purgeExpired(OffsetDateTime cutoff) {
+        long purged = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                purged += shard.purge(cutoff);
+            }
+        }
+        return purged;
+    }
+
+    public int size() {
+        int n = 0;
+        for (Shard shard : shards) n += shard.byToken.size();
+        return n;
+    }
+
+    private Shard shard(String token) {
+        int h = token.hashCode();
+        return shards[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static long tick(OffsetDateTime t) {
+        return Math.floorDiv(t.toInstant().toEpochMilli(), TICK_MILLIS);
+    }
+
+    // ===============================
+    // Shard: token map (read lock-free), user index and expiry wheel (guarded by the shard's monitor)
+    // ===============================
+    private static final class Shard {
+        final Map<String, Entry> byToken = new ConcurrentHashMap<>();
+        final Map<Long, Set<String>> byUser = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        final Set<Entry>[] wheel = new Set[SLOTS];   // allocated on first use
+        long cursor;                                 // first tick not yet fully purged
+
+        Shard(long cursor) {
+            this.cursor = cursor;
+        }
+
+        void schedule(Entry e) {
+            // Already past the cursor: file it under the cursor so the next purge sees it
+            e.slot = (int) Math.floorMod(Math.max(tick(e.expiresAt), cursor), SLOTS);
+            Set<Entry> slot = wheel[e.slot];
+            if (slot == null) wheel[e.slot] = slot = new HashSet<>();
+            slot.add(e);
+        }
+
+        void unschedule(Entry e) {
+            Set<Entry> slot = wheel[e.slot];
+            if (slot != null) slot.remove(e);
+        }
+
+        void remove(Entry e) {
+            unschedule(e);
+            forget(e);
+        }
+
+        // Token map and user index only; the caller has dealt with the wheel
+        void forget(Entry e) {
+            byToken.remove(e.token);
+            Set<String> tokens = byUser.get(e.userId);
+            if (tokens != null && tokens.remove(e.token) && tokens.isEmpty()) byUser.remove(e.userId);
+        }
+
+        long purge(OffsetDateTime cutoff) {
+            long to = tick(cutoff);
+            if (to < cursor) return 0;
+            long purged = 0;
+            // More than a revolution since the last purge: every slot is due, visit each once
+            long from = to - cursor >= SLOTS ? to - SLOTS + 1 : cursor;
+            for (long t = from; t <= to; t++) {
+                Set<Entry> slot = wheel[(int) Math.floorMod(t, SLOTS)];
+                if (slot == null) continue;
+                for (Iterator<Entry> it = slot.iterator(); it.hasNext(); ) {
+                    Entry e = it.next();
+                    if (!e.expiresAt.isBefore(cutoff)) continue;   // a later revolution, or later this tick
+                    it.remove();
+                    forget(e);
+                    purged++;
+                }
+            }
+            // The cutoff's own tick may still hold sessions expiring later in it; it is walked again next time
+            cursor = to;
+            return purged;
+        }
+    }
+
+    // Identity equality: the wheel's sets hold entries, not tokens
+    private static final class Entry {
+        final String token;
+        final Long userId;
+        final OffsetDateTime createdAt;
+        volatile OffsetDateTime expiresAt;
+        int slot;
+
+        Entry(String token, Long userId, OffsetDateTime expiresAt, OffsetDateTime createdAt) {
+            this.token = token;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+            this.createdAt = createdAt;
+        }
+    }
+}
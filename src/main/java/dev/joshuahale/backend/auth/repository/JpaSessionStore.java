@@ -0,0 +1,87 @@
+package dev.joshuahale.backend.auth.repository;
+
+import dev.joshuahale.backend.auth.entity.SessionEntity;
+import dev.joshuahale.backend.auth.service.SessionWriteBehind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Sessions in Postgres. Expiry bumps go through SessionWriteBehind, so a sliding session costs a batched
+ * UPDATE per flush interval rather than one per request.
+ */
+@Repository
+@Transactional
+@ConditionalOnProperty(name = "auth.session.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaSessionStore implements SessionStore {
+
+    private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final SessionWriteBehind writeBehind;
+    private final int purgeChunkSize;
+
+    public JpaSessionStore(SessionRepository sessionRepository,
+                           UserRepository userRepository,
+                           SessionWriteBehind writeBehind,
+                           @Value("${auth.session.purge.chunk-size:1000}") int purgeChunkSize) {
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.writeBehind = writeBehind;
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    @Override
+    public void insert(StoredSession session) {
+        SessionEntity s = new SessionEntity();
+        // Only the FK is needed: a reference, not a SELECT (an unknown user fails the FK on insert)
+        s.setUser(userRepository.getReferenceById(session.userId()));
+        s.setSessionToken(session.token());
+        s.setExpiresAt(session.expiresAt());
+        s.setCreatedAt(session.createdAt());
+        sessionRepository.saveAndFlush(s);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredSession> find(String token) {
+        // getUser().getId() is read off the lazy proxy; the user row is not loaded
+        return sessionRepository.findBySessionToken(token)
+                .map(se -> new StoredSession(se.getSessionToken(), se.getUser().getId(), se.getExpiresAt(), se.getCreatedAt()));
+    }
+
+    @Override
+    public boolean delete(String token) {
+        writeBehind.forgetSession(token);
+        return sessionRepository.deleteBySessionToken(token) > 0;
+    }
+
+    @Override
+    public int deleteByUser(Long userId) {
+        return sessionRepository.deleteByUser_Id(userId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void extend(String token, OffsetDateTime expiresAt) {
+        writeBehind.touchSession(token, expiresAt);
+    }
+
+    // Chunk by chunk, each in its own short transaction, so a large backlog never holds locks (or
+    // bloats one transaction) for long
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long purgeExpired(OffsetDateTime cutoff) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = sessionRepository.deleteExpiredChunk(cutoff, purgeChunkSize);
+            purged += deleted;
+        } while (deleted == purgeChunkSize);
+        return purged;
+    }
+}
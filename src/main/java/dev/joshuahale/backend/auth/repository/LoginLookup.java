@@ -0,0 +1,64 @@
+package dev.joshuahale.backend.auth.repository;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Everything a login needs about a user, in one statement: the two case-insensitive index probes
+ * (email first, then username; see V10) and the user's role names, aggregated in the same query.
+ *
+ * Plain JDBC, no entity: nothing is put in a persistence context, so nothing can be dirty-checked or
+ * flushed back by accident, and the caller need not hold a transaction (or a connection) while it
+ * verifies the password.
+ */
+@Repository
+public class LoginLookup {
+
+    // :login must already be normalized (trimmed, lower-cased)
+    public static final String SQL = """
+        with candidate as (
+            (select id, username, email, password_hash, is_active from users where lower(email) = :login limit 1)
+            union all
+            (select id, username, email, password_hash, is_active from users where lower(username) = :login limit 1)
+            limit 1
+        )
+        select c.id, c.username, c.email, c.password_hash, c.is_active,
+               array_remove(array_agg(r.name), null) as roles
+        from candidate c
+        left join user_roles ur on ur.user_id = c.id
+        left join roles r on r.id = ur.role_id
+        group by c.id, c.username, c.email, c.password_hash, c.is_active
+        """;
+
+    private final JdbcClient jdbc;
+
+    public LoginLookup(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Optional<LoginCandidate> find(String normalizedLogin) {
+        return jdbc.sql(SQL)
+                .param("login", normalizedLogin)
+                .query(LoginLookup::mapRow)
+                .optional();
+    }
+
+    private static LoginCandidate mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Array roles = rs.getArray(6);
+        try {
+            return new LoginCandidate(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getBoolean(5), roles == null ? Set.of() : Set.of((String[]) roles.getArray()));
+        } finally {
+            if (roles != null) roles.free();
+        }
+    }
+
+    public record LoginCandidate(Long id, String username, String email, String passwordHash, boolean active,
+                                 Set<String> roles) { }
+}
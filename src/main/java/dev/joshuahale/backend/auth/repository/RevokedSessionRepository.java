@@ -0,0 +1,35 @@
+package dev.joshuahale.backend.auth.repository;
+
+import dev.joshuahale.backend.auth.entity.RevokedSessionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface RevokedSessionRepository extends JpaRepository<RevokedSessionEntity, String> {
+
+    // Everything that can still matter (used to rebuild the in-memory revocation set)
+    List<RevokedSessionEntity> findByExpiresAtAfter(OffsetDateTime now);
+
+    // Two logouts of the same token may race: the second is a no-op (0) rather than a duplicate-key error.
+    // Native, because save() on the assigned id would select then insert
+    @Modifying
+    @Transactional
+    @Query(value = """
+        insert into revoked_sessions (token_id, user_id, expires_at)
+        values (:tokenId, :userId, :expiresAt)
+        on conflict (token_id) do nothing
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("userId") Long userId,
+                       @Param("expiresAt") OffsetDateTime expiresAt);
+
+    // Housekeeping: a revoked token past its expiry is rejected anyway
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedSessionEntity r where r.expiresAt < :cutoff")
+    int deleteByExpiresAtBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
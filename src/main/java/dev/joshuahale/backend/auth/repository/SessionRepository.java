@@ -2,6 +2,9 @@ package dev.joshuahale.backend.auth.repository;
 
 import dev.joshuahale.backend.auth.entity.SessionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
@@ -11,14 +14,29 @@ public interface SessionRepository extends JpaRepository<SessionEntity, Long> {
 
     Optional<SessionEntity> findBySessionToken(String sessionToken);
 
-    boolean existsBySessionToken(String sessionToken);
-
-    // Housekeeping
+    // Revocation: one DELETE, no SELECT first
+    @Modifying
     @Transactional
-    long deleteByExpiresAtBefore(OffsetDateTime cutoff);
+    @Query("delete from SessionEntity s where s.sessionToken = :token")
+    int deleteBySessionToken(@Param("token") String token);
 
-    // When logging a user out everywhere
+    // Housekeeping: one bounded chunk per call (and per transaction), oldest first. SKIP LOCKED lets
+    // several nodes purge at once without queueing behind each other's row locks
+    @Modifying
+    @Transactional
+    @Query(value = """
+        delete from sessions where id in (
+            select id from sessions
+            where expires_at < :cutoff
+            order by expires_at
+            limit :limit
+            for update skip locked)
+        """, nativeQuery = true)
+    int deleteExpiredChunk(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+    // When logging a user out everywhere: one set-based DELETE, no entities loaded
+    @Modifying
     @Transactional
-    long deleteByUser_Id(Long userId);
+    @Query("delete from SessionEntity s where s.user.id = :userId")
+    int deleteByUser_Id(@Param("userId") Long userId);
 }
-
@@ -0,0 +1,34 @@
+package dev.joshuahale.backend.auth.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Where opaque sessions live (SessionServiceImpl). Selected with auth.session.store:
+ *   jpa (default) - the sessions table (JpaSessionStore)
+ *   memory        - sharded in-process maps; sessions are lost on restart (InMemorySessionStore)
+ *   file          - memory-mapped file, survives restarts without a database (FileSessionStore)
+ * The memory and file stores are for single-node deployments: nothing is shared between instances.
+ */
+public interface SessionStore {
+
+    // Throws DataIntegrityViolationException if the token is already stored
+    void insert(StoredSession session);
+
+    // The stored session, expired or not; callers check expiresAt. Purged sessions are gone
+    Optional<StoredSession> find(String token);
+
+    boolean delete(String token);
+
+    // Returns the number of sessions removed
+    int deleteByUser(Long userId);
+
+    // Sliding expiry: push expiresAt out, never back. May be applied asynchronously (the JPA store batches it)
+    void extend(String token, OffsetDateTime expiresAt);
+
+    // Removes every session that expired before cutoff; returns how many
+    long purgeExpired(OffsetDateTime cutoff);
+
+    // createdAt bounds sliding expiry (auth.session.max-lifetime); stores may keep it to the second
+    record StoredSession(String token, Long userId, OffsetDateTime expiresAt, OffsetDateTime createdAt) { }
+}
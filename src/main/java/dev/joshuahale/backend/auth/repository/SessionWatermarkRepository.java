@@ -0,0 +1,19 @@
+package dev.joshuahale.backend.auth.repository;
+
+import dev.joshuahale.backend.auth.entity.SessionWatermarkEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+public interface SessionWatermarkRepository extends JpaRepository<SessionWatermarkEntity, Long> {
+
+    // Housekeeping: once every token it could reject has expired, a watermark is dead weight
+    @Modifying
+    @Transactional
+    @Query("delete from SessionWatermarkEntity w where w.notBefore < :cutoff")
+    int deleteByNotBeforeBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
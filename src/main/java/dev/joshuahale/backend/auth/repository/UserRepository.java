@@ -3,6 +3,7 @@ package dev.joshuahale.backend.auth.repository;
 import dev.joshuahale.backend.auth.entity.UserEntity;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -12,27 +13,21 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByUsername(String username);
 
-    boolean existsByEmail(String email);
+    // Registration checks, matching the case-insensitive unique indexes. Arguments must already be normalized
+    @Query("select count(u) > 0 from UserEntity u where lower(u.email) = :email")
+    boolean existsByEmail(@Param("email") String email);
 
-    boolean existsByUsername(String username);
+    @Query("select count(u) > 0 from UserEntity u where lower(u.username) = :username")
+    boolean existsByUsername(@Param("username") String username);
 
-    // Login convenience: allow either email or username
-    @Query("""
-           select u from UserEntity u
-           where lower(u.email) = lower(:login) or lower(u.username) = lower(:login)
-           """)
-    Optional<UserEntity> findByEmailOrUsername(@Param("login") String login);
+    // Swap a password hash only if it is still the one we verified against (a concurrent change wins)
+    @Modifying
+    @Transactional
+    @Query("update UserEntity u set u.passwordHash = :newHash where u.id = :id and u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 
     // Eagerly fetch roles for auth checks (avoids N+1)
     @EntityGraph(attributePaths = "roles")
     @Query("select u from UserEntity u where u.id = :id")
     Optional<UserEntity> findByIdWithRoles(@Param("id") Long id);
-
-    @EntityGraph(attributePaths = "roles")
-    @Query("""
-           select u from UserEntity u
-           where lower(u.email) = lower(:login) or lower(u.username) = lower(:login)
-           """)
-    Optional<UserEntity> findByEmailOrUsernameWithRoles(@Param("login") String login);
 }
-
@@ -4,12 +4,22 @@ import dev.joshuahale.backend.auth.dto.AuthResponse;
 import dev.joshuahale.backend.auth.dto.LoginRequest;
 import dev.joshuahale.backend.auth.dto.SignupRequest;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
 public interface AuthService {
     AuthResponse register(SignupRequest request);
-    AuthResponse login(LoginRequest request, String userAgent, String ipAddress);
+    LoginResult login(LoginRequest request, String userAgent, String ipAddress);
     void logout(String sessionToken);
     void logoutAll(Long userId);
-    Optional<AuthResponse> currentUser(String sessionToken);
+    Optional<CurrentSession> currentSession(String sessionToken);
+
+    /** A successful login: the user and the one session created for it (the sid cookie value). */
+    record LoginResult(AuthResponse user, String sessionToken) { }
+
+    /**
+     * The user behind a session cookie. extendedTo is the session's new expiry when this lookup slid it
+     * forward (the caller re-issues the cookie with it), null when the expiry did not move.
+     */
+    record CurrentSession(AuthResponse user, OffsetDateTime extendedTo) { }
 }
@@ -0,0 +1,20 @@
+package dev.joshuahale.backend.auth.service;
+
+import java.time.Duration;
+
+/**
+ * PasswordService could not take the work: the hashing queue is full. Mapped to 503 + Retry-After for
+ * every endpoint (ApiExceptionHandler); callers for whom hashing is optional may catch it and carry on.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(Duration retryAfter) {
+        super("Too many sign-ins in progress; try again shortly");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,6 +1,10 @@
 package dev.joshuahale.backend.auth.service;
 
+// hash and verify throw PasswordHashingBusyException when the work cannot be queued
 public interface PasswordService {
     String hash(String rawPassword);
     boolean verify(String rawPassword, String passwordHash);
+
+    // True when the hash was made with different parameters than hash() uses now (re-hash after a successful login)
+    boolean needsRehash(String passwordHash);
 }
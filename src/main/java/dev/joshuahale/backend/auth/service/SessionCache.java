@@ -0,0 +1,191 @@
+package dev.joshuahale.backend.auth.service;
+
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of session token -> principal, so authenticated requests skip the
+ * session + user queries on the hot path.
+ *
+ * Entries live for at most ttl and never past the session's own expiresAt. Revocations evict
+ * immediately; a lookup that raced with a revocation is never stored (every eviction bumps a
+ * generation that loads must still match when they finish). Keys are SHA-256 digests, so live
+ * tokens don't sit in the heap. Invalid tokens are not cached. Role or account changes are picked
+ * up once the entry's ttl runs out.
+ */
+@Component
+public class SessionCache implements MeterBinder {
+
+    // InvalidationBus topics: a revoked session (keyed by key(token)) and logout-everywhere (keyed by user id)
+    public static final String TOPIC_SESSION = "session";
+    public static final String TOPIC_USER = "session-user";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public SessionCache(@Value("${auth.session-cache.enabled:true}") boolean enabled,
+                        @Value("${auth.session-cache.max-entries:10000}") int maxEntries,
+                        @Value("${auth.session-cache.ttl:60s}") Duration ttl) {
+        this(enabled, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public SessionCache(boolean enabled, int maxEntries, Duration ttl, Clock clock) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /** Cached principal for the token, or the loader's result (cached when present). */
+    public Optional<AuthResponse> get(String token, Supplier<Optional<CachedSession>> loader) {
+        return getSession(token, loader).map(CachedSession::principal);
+    }
+
+    /** As get, but also yields the session's expiresAt (as last known here) and createdAt, for sliding expiry. */
+    public Optional<CachedSession> getSession(String token, Supplier<Optional<CachedSession>> loader) {
+        if (!enabled) return loader.get();
+
+        String key = key(token);
+        Instant now = clock.instant();
+        Entry cached = entries.get(key);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            hits.increment();
+            return Optional.of(new CachedSession(cached.principal(), cached.sessionExpiresAt(), cached.sessionCreatedAt()));
+        }
+        misses.increment();
+        if (cached != null) entries.remove(key, cached);
+
+        long seen = generation.get();
+        Optional<CachedSession> loaded = loader.get();
+        loaded.ifPresent(s -> store(key, s, now, seen));
+        return loaded;
+    }
+
+    /**
+     * Record that the session's expiry was pushed out, so later hits see the new value. The entry's own
+     * lifetime is left alone: it still reloads from the store on schedule.
+     */
+    public void extend(String token, OffsetDateTime sessionExpiresAt) {
+        if (!enabled) return;
+        entries.computeIfPresent(key(token), (k, e) -> e.sessionExpiresAt() != null && sessionExpiresAt.isAfter(e.sessionExpiresAt())
+                ? new Entry(e.principal(), e.expiresAt(), sessionExpiresAt, e.sessionCreatedAt()) : e);
+    }
+
+    // ===============================
+    // Eviction
+    // ===============================
+    public void evict(String token) {
+        generation.incrementAndGet();
+        entries.remove(key(token));
+    }
+
+    /** As evict, by key(token): what other nodes are told, so raw tokens never leave the process. */
+    public void evictKey(String key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void evictUser(Long userId) {
+        generation.incrementAndGet();
+        entries.values().removeIf(e -> userId.equals(e.principal().getUserId()));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(String key, CachedSession session, Instant now, long seen) {
+        Instant expiresAt = now.plus(ttl);
+        if (session.expiresAt() != null && session.expiresAt().toInstant().isBefore(expiresAt)) {
+            expiresAt = session.expiresAt().toInstant();
+        }
+        if (!now.isBefore(expiresAt)) return;
+        if (entries.size() >= maxEntries) makeRoom(now);
+
+        entries.put(key, new Entry(session.principal(), expiresAt, session.expiresAt(), session.createdAt()));
+        // An eviction ran while we were loading: what we read may already be revoked
+        if (generation.get() != seen) entries.remove(key);
+    }
+
+    private void makeRoom(Instant now) {
+        entries.values().removeIf(e -> !now.isBefore(e.expiresAt()));
+        // Still full: drop arbitrary entries (keys are digests, so iteration order is effectively random)
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /** The cache key for a token: its SHA-256 digest, base64. */
+    public static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.session.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Session lookups answered from memory")
+                .register(registry);
+        FunctionCounter.builder("auth.session.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Session lookups that went to the database")
+                .register(registry);
+        Gauge.builder("auth.session.cache.hit.ratio", this, c -> {
+                    double h = c.hits.sum();
+                    double total = h + c.misses.sum();
+                    return total == 0 ? 0 : h / total;
+                })
+                .description("Share of session lookups answered from memory since startup")
+                .register(registry);
+        Gauge.builder("auth.session.cache.size", entries, Map::size)
+                .register(registry);
+    }
+
+    /** What a successful lookup yields: the principal, when its session stops being valid, and when it began. */
+    public record CachedSession(AuthResponse principal, OffsetDateTime expiresAt, OffsetDateTime createdAt) { }
+
+    private record Entry(AuthResponse principal, Instant expiresAt, OffsetDateTime sessionExpiresAt,
+                         OffsetDateTime sessionCreatedAt) { }
+}
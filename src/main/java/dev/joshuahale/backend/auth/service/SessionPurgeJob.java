@@ -0,0 +1,183 @@
+package dev.joshuahale.backend.auth.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes expired session state, so the sessions table stops growing without bound.
+ *
+ * strategy=delete (default): SessionService.purgeExpired(), which deletes in bounded chunks.
+ * strategy=partitions: sessions is range-partitioned by day of expires_at (db/partitioning); whole days
+ * whose sessions have all expired are dropped, partitions-ahead days are created in advance, and the
+ * chunked delete only mops up today's partition. Rows no day partition covered wait in sessions_default
+ * (which the job recreates if missing) and are moved into their day's partition once it is created.
+ *
+ * Runs once at startup (so partitions exist even after a long outage) and then every interval.
+ * Safe to run on several nodes at once: chunks use SKIP LOCKED and the DDL is idempotent.
+ */
+@Component
+public class SessionPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionPurgeJob.class);
+
+    private static final String PARTITION_PREFIX = "sessions_p";
+    private static final String DEFAULT_PARTITION = "sessions_default";
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.BASIC_ISO_DATE;   // yyyyMMdd
+    private static final String LIST_PARTITIONS_SQL = """
+        select c.relname from pg_inherits i
+        join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = 'sessions'::regclass
+        """;
+
+    // One statement, so one transaction: the default is locked against new rows until the day is attached
+    private static final String MOVE_FROM_DEFAULT_SQL = """
+        do $$
+        begin
+            lock table sessions_default in share row exclusive mode;
+            create table %1$s (like sessions including defaults);
+            with moved as (
+                delete from sessions_default where expires_at >= '%2$s' and expires_at < '%3$s' returning *
+            )
+            insert into %1$s select * from moved;
+            alter table sessions attach partition %1$s for values from ('%2$s') to ('%3$s');
+        end $$
+        """;
+
+    // === config ===
+    private final boolean enabled;
+    private final Duration interval;
+    private final boolean partitioned;
+    private final int partitionsAhead;
+    private final Clock clock;
+
+    // === deps ===
+    private final SessionService sessionService;
+    private final JdbcTemplate jdbc;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public SessionPurgeJob(SessionService sessionService,
+                           JdbcTemplate jdbc,
+                           @Value("${auth.session.purge.enabled:true}") boolean enabled,
+                           @Value("${auth.session.purge.interval:1h}") Duration interval,
+                           @Value("${auth.session.purge.strategy:delete}") String strategy,
+                           @Value("${auth.session.purge.partitions-ahead:14}") int partitionsAhead) {
+        this(sessionService, jdbc, enabled, interval, strategy, partitionsAhead, Clock.systemUTC());
+    }
+
+    public SessionPurgeJob(SessionService sessionService, JdbcTemplate jdbc, boolean enabled, Duration interval,
+                           String strategy, int partitionsAhead, Clock clock) {
+        if (!"delete".equalsIgnoreCase(strategy) && !"partitions".equalsIgnoreCase(strategy)) {
+            throw new IllegalStateException("auth.session.purge.strategy must be delete or partitions, was " + strategy);
+        }
+        this.sessionService = sessionService;
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.partitioned = "partitions".equalsIgnoreCase(strategy);
+        this.partitionsAhead = partitionsAhead;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("session-purge").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+
+    // ===============================
+    // Run
+    // ===============================
+    /** One purge pass. Returns the number of rows deleted (dropped partitions are not counted). */
+    public long run() {
+        if (partitioned) maintainPartitions(LocalDate.now(clock.withZone(ZoneOffset.UTC)));
+        return sessionService.purgeExpired();
+    }
+
+    private void runQuietly() {
+        try {
+            long started = System.nanoTime();
+            long purged = run();
+            if (purged > 0) {
+                log.info("Purged {} expired sessions in {} ms", purged, (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Session purge failed; retrying in {}", interval, e);
+        }
+    }
+
+    // ===============================
+    // Partitions (one per UTC day of expires_at)
+    // ===============================
+    private void maintainPartitions(LocalDate today) {
+        Set<LocalDate> existing = new HashSet<>();
+        List<String> partitions = jdbc.queryForList(LIST_PARTITIONS_SQL, String.class);
+        if (!partitions.contains(DEFAULT_PARTITION)) {
+            // Without it, a write whose expires_at has no day partition fails outright
+            jdbc.execute("create table if not exists " + DEFAULT_PARTITION + " partition of sessions default");
+            log.warn("Created missing session partition {}", DEFAULT_PARTITION);
+        }
+        for (String name : partitions) {
+            LocalDate day = partitionDay(name);
+            if (day == null) continue;   // not one of ours; leave it alone
+            if (day.isBefore(today)) {
+                // Every row in it expired before today began
+                jdbc.execute("drop table if exists " + name);
+                log.info("Dropped expired session partition {}", name);
+            } else {
+                existing.add(day);
+            }
+        }
+        for (LocalDate day : today.datesUntil(today.plusDays(partitionsAhead + 1)).toList()) {
+            if (existing.contains(day)) continue;
+            String name = PARTITION_PREFIX + PARTITION_DAY.format(day);
+            String from = day.atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+            String to = day.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+            try {
+                jdbc.execute("create table if not exists %s partition of sessions for values from ('%s') to ('%s')"
+                        .formatted(name, from, to));
+            } catch (DataAccessException e) {
+                // The default partition already holds rows for this day, which a new partition may not overlap
+                log.info("Moving sessions for {} out of {}", day, DEFAULT_PARTITION);
+                jdbc.execute(MOVE_FROM_DEFAULT_SQL.formatted(name, from, to));
+            }
+        }
+    }
+
+    private static LocalDate partitionDay(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) return null;
+        try {
+            return LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_DAY);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package dev.joshuahale.backend.auth.service;
 
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
+/**
+ * Session tokens behind the sid cookie. Two implementations, selected with auth.session.mode:
+ *   opaque (default) - random token naming a stored session; see SessionStore (SessionServiceImpl)
+ *   signed           - HMAC-signed token carrying the principal, verified in memory (SignedSessionServiceImpl)
+ */
 public interface SessionService {
 
     /**
@@ -10,6 +18,14 @@ public interface SessionService {
      */
     String create(Long userId, String userAgent, String ipAddress);
 
+    /**
+     * As create(userId, ...), for callers that already hold the principal (login), so an implementation
+     * that embeds it in the token need not load the user again.
+     */
+    default String create(AuthResponse principal, String userAgent, String ipAddress) {
+        return create(principal.getUserId(), userAgent, ipAddress);
+    }
+
     /**
      * Revoke a single session by its token. Returns true if a row was deleted.
      */
@@ -25,8 +41,29 @@ public interface SessionService {
      */
     Optional<Long> validate(String sessionToken);
 
+    /**
+     * The session behind a token if it exists and is not expired (callers need expiresAt, e.g. to bound caching).
+     */
+    Optional<ActiveSession> findActive(String sessionToken);
+
+    /**
+     * Note that the session was just used (sliding expiry). expiresAt and createdAt are what the caller last
+     * saw. Returns the new expiry when this call pushed it out, so the caller can re-issue the cookie with a
+     * matching Max-Age; empty otherwise. Cheap enough to call on every request; signed tokens cannot be
+     * extended, so the default does nothing.
+     */
+    default Optional<OffsetDateTime> touch(String sessionToken, OffsetDateTime expiresAt, OffsetDateTime createdAt) {
+        return Optional.empty();
+    }
+
     /**
      * Delete all sessions whose expiresAt is in the past. Returns count deleted.
      */
     long purgeExpired();
+
+    /**
+     * A valid session. principal is set when the token itself carries it (signed mode); otherwise
+     * callers load the user by userId. createdAt is when the user signed in (it bounds sliding expiry).
+     */
+    record ActiveSession(Long userId, OffsetDateTime expiresAt, AuthResponse principal, OffsetDateTime createdAt) { }
 }
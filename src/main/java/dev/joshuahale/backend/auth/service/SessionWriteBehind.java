@@ -0,0 +1,180 @@
+package dev.joshuahale.backend.auth.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind for auth bookkeeping: session expiry bumps (sliding expiry) and users.last_login_at.
+ *
+ * Callers record a touch in memory; touches to the same session or user coalesce (latest value wins),
+ * and every flush-interval the pending set is written as a few UPDATE ... FROM (VALUES ...) statements.
+ * Write volume is therefore bounded by distinct sessions/users per interval, not by requests.
+ *
+ * Bookkeeping only: a crash loses at most one interval of touches, which costs a session some sliding
+ * extension and a user an approximate last-login time. Updates never move a value backwards.
+ */
+@Component
+public class SessionWriteBehind implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionWriteBehind.class);
+
+    private static final String SESSIONS_SQL = """
+        update sessions s set expires_at = v.expires_at
+        from (values %s) as v(session_token, expires_at)
+        where s.session_token = v.session_token and s.expires_at < v.expires_at
+        """;
+    private static final String SESSIONS_ROW = "(?::varchar, ?::timestamptz)";
+
+    private static final String LOGINS_SQL = """
+        update users u set last_login_at = v.last_login_at
+        from (values %s) as v(id, last_login_at)
+        where u.id = v.id and (u.last_login_at is null or u.last_login_at < v.last_login_at)
+        """;
+    private static final String LOGINS_ROW = "(?::bigint, ?::timestamptz)";
+
+    // === config ===
+    private final Duration flushInterval;
+    private final int batchSize;
+
+    // === deps ===
+    private final JdbcTemplate jdbc;
+
+    // === pending touches ===
+    private final Map<String, OffsetDateTime> sessionExpiries = new ConcurrentHashMap<>();   // token -> new expires_at
+    private final Map<Long, OffsetDateTime> logins = new ConcurrentHashMap<>();              // user id -> last_login_at
+    private final LongAdder touches = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private ScheduledExecutorService flusher;
+
+    public SessionWriteBehind(JdbcTemplate jdbc,
+                              @Value("${auth.write-behind.flush-interval:10s}") Duration flushInterval,
+                              @Value("${auth.write-behind.batch-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("auth-write-behind").daemon(true).factory());
+        long millis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) flusher.shutdownNow();
+        flushQuietly();   // the DataSource outlives this bean, so the last interval still lands
+    }
+
+    // ===============================
+    // Record (request path: memory only)
+    // ===============================
+    public void touchSession(String sessionToken, OffsetDateTime expiresAt) {
+        touches.increment();
+        sessionExpiries.merge(sessionToken, expiresAt, SessionWriteBehind::later);
+    }
+
+    public void recordLogin(Long userId, OffsetDateTime at) {
+        touches.increment();
+        logins.merge(userId, at, SessionWriteBehind::later);
+    }
+
+    /** Drop a pending expiry bump, e.g. because the session was just revoked. */
+    public void forgetSession(String sessionToken) {
+        sessionExpiries.remove(sessionToken);
+    }
+
+    public int pending() {
+        return sessionExpiries.size() + logins.size();
+    }
+
+    // ===============================
+    // Flush
+    // ===============================
+    /** Write everything pending. Returns the number of rows updated. */
+    public int flush() {
+        return write(drain(sessionExpiries), SESSIONS_SQL, SESSIONS_ROW, sessionExpiries)
+                + write(drain(logins), LOGINS_SQL, LOGINS_ROW, logins);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Auth write-behind flush failed; {} touches stay pending", pending(), e);
+        }
+    }
+
+    // Remove exactly the entries we copied, so a touch that lands mid-drain stays for the next flush
+    private static <K> List<Map.Entry<K, OffsetDateTime>> drain(Map<K, OffsetDateTime> pending) {
+        List<Map.Entry<K, OffsetDateTime>> out = new ArrayList<>(pending.size());
+        for (var e : pending.entrySet()) {
+            if (pending.remove(e.getKey(), e.getValue())) out.add(Map.entry(e.getKey(), e.getValue()));
+        }
+        return out;
+    }
+
+    private <K> int write(List<Map.Entry<K, OffsetDateTime>> rows, String sql, String rowPlaceholder,
+                          Map<K, OffsetDateTime> pending) {
+        int updated = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Map.Entry<K, OffsetDateTime>> chunk = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                args[2 * i] = chunk.get(i).getKey();
+                args[2 * i + 1] = chunk.get(i).getValue();
+            }
+            try {
+                int n = jdbc.update(sql.formatted(String.join(", ", Collections.nCopies(chunk.size(), rowPlaceholder))), args);
+                rowsWritten.add(n);
+                updated += n;
+            } catch (RuntimeException e) {
+                // Put back what did not land (merging with anything newer) and let the next flush retry
+                for (var row : rows.subList(from, rows.size())) {
+                    pending.merge(row.getKey(), row.getValue(), SessionWriteBehind::later);
+                }
+                throw e;
+            }
+        }
+        return updated;
+    }
+
+    private static OffsetDateTime later(OffsetDateTime a, OffsetDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.writebehind.touches", touches, LongAdder::sum)
+                .description("Session/login bookkeeping touches recorded in memory")
+                .register(registry);
+        FunctionCounter.builder("auth.writebehind.rows", rowsWritten, LongAdder::sum)
+                .description("Rows actually updated by write-behind flushes")
+                .register(registry);
+        Gauge.builder("auth.writebehind.pending", this, SessionWriteBehind::pending)
+                .register(registry);
+    }
+}
@@ -4,12 +4,21 @@ import dev.joshuahale.backend.auth.dto.AuthResponse;
 import dev.joshuahale.backend.auth.dto.LoginRequest;
 import dev.joshuahale.backend.auth.dto.SignupRequest;
 import dev.joshuahale.backend.auth.entity.UserEntity;
+import dev.joshuahale.backend.auth.repository.LoginLookup;
+import dev.joshuahale.backend.auth.repository.LoginLookup.LoginCandidate;
 import dev.joshuahale.backend.auth.repository.UserRepository;
 import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.PasswordHashingBusyException;
 import dev.joshuahale.backend.auth.service.PasswordService;
+import dev.joshuahale.backend.auth.service.SessionCache;
+import dev.joshuahale.backend.auth.service.SessionCache.CachedSession;
 import dev.joshuahale.backend.auth.service.SessionService;
+import dev.joshuahale.backend.auth.service.SessionService.ActiveSession;
+import dev.joshuahale.backend.auth.service.SessionWriteBehind;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.util.Locale;
@@ -22,15 +31,28 @@ import java.util.stream.Collectors;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
+    private final LoginLookup loginLookup;
     private final SessionService sessionService;
     private final PasswordService passwordService;
+    private final SessionCache sessionCache;
+    private final SessionWriteBehind writeBehind;
+    private final TransactionTemplate readTx;
 
     public AuthServiceImpl(UserRepository userRepository,
+                           LoginLookup loginLookup,
                            SessionService sessionService,
-                           PasswordService passwordService) {
+                           PasswordService passwordService,
+                           SessionCache sessionCache,
+                           SessionWriteBehind writeBehind,
+                           TransactionTemplate tx) {
         this.userRepository = userRepository;
+        this.loginLookup = loginLookup;
         this.sessionService = sessionService;
         this.passwordService = passwordService;
+        this.sessionCache = sessionCache;
+        this.writeBehind = writeBehind;
+        this.readTx = new TransactionTemplate(tx.getTransactionManager());
+        this.readTx.setReadOnly(true);
     }
 
     // =========================
@@ -41,11 +63,11 @@ public class AuthServiceImpl implements AuthService {
         final String emailNorm = normalizeEmail(request.getEmail());
         final String usernameRaw = safeTrim(request.getUsername());
 
-        // Uniqueness (also enforce with DB unique indexes)
+        // Uniqueness, case-insensitive (also enforced by the lower() unique indexes)
         if (userRepository.existsByEmail(emailNorm)) {
             throw new DuplicateEmailException("Email already in use");
         }
-        if (userRepository.existsByUsername(usernameRaw)) {
+        if (userRepository.existsByUsername(normalizeLogin(usernameRaw))) {
             throw new DuplicateUsernameException("Username already in use");
         }
 
@@ -65,33 +87,33 @@ public class AuthServiceImpl implements AuthService {
     // =========================
     // Login
     // =========================
+    // Two statements, one commit: the lookup (user + roles, no transaction, so no connection is held
+    // while BCrypt runs) and the session insert. last_login_at goes through the write-behind batch
     @Override
-    public AuthResponse login(LoginRequest request, String userAgent, String ipAddress) {
-        final String login = safeTrim(request.getEmailOrUsername());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoginResult login(LoginRequest request, String userAgent, String ipAddress) {
+        final String login = normalizeLogin(request.getEmailOrUsername());
 
-        UserEntity user = userRepository.findByEmailOrUsername(login)
+        LoginCandidate user = loginLookup.find(login)
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid credentials"));
 
-        if (!user.isActive()) {
+        if (!user.active()) {
             throw new AccountInactiveException("Account is inactive");
         }
 
-        if (!passwordService.verify(request.getPassword(), user.getPasswordHash())) {
-            // (Optional) record throttle here
+        if (!passwordService.verify(request.getPassword(), user.passwordHash())) {
+            // Attempts are throttled per IP and per login identifier by RateLimitFilter, before we get here
             throw new InvalidCredentialsException("Invalid credentials");
         }
-        // (Optional) clear throttle here
+        rehashIfNeeded(user.id(), user.passwordHash(), request.getPassword());
 
-        // Book-keeping
-        user.setLastLoginAt(OffsetDateTime.now());
-        userRepository.save(user);
+        // Book-keeping: written behind in a batch, not as an UPDATE on the login path
+        writeBehind.recordLogin(user.id(), OffsetDateTime.now());
 
-        // Create a server-side session; controller will set the cookie
-        sessionService.create(user.getId(), userAgent, ipAddress);
-
-        // For RBAC-aware UI, return roles if available
-        // (If you want roles eagerly here, you can add findByEmailOrUsernameWithRoles and use it.)
-        return toAuthResponse(user);
+        // The one session for this login; the controller sets it as the cookie
+        AuthResponse principal = new AuthResponse(user.id(), user.username(), user.email(), user.roles());
+        String token = sessionService.create(principal, userAgent, ipAddress);
+        return new LoginResult(principal, token);
     }
 
     // =========================
@@ -115,21 +137,51 @@ public class AuthServiceImpl implements AuthService {
     // Current user from session
     // =========================
     @Override
-    @Transactional(readOnly = true)
-    public Optional<AuthResponse> currentUser(String sessionId) {
-        var userIdOpt = sessionService.validate(sessionId);
-        if (userIdOpt.isEmpty()) return Optional.empty();
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)   // cache hits never touch the pool
+    public Optional<CurrentSession> currentSession(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) return Optional.empty();
+        return sessionCache.getSession(sessionId, () -> loadCurrentUser(sessionId))
+                .map(session -> new CurrentSession(session.principal(),
+                        sessionService.touch(sessionId, session.expiresAt(), session.createdAt()).orElse(null)));
+    }
+
+    private Optional<CachedSession> loadCurrentUser(String sessionId) {
+        var session = sessionService.findActive(sessionId);
+        if (session.isEmpty()) return Optional.empty();
+        ActiveSession active = session.get();
+
+        // Signed tokens carry the principal: nothing to query
+        if (active.principal() != null) {
+            return Optional.of(new CachedSession(active.principal(), active.expiresAt(), active.createdAt()));
+        }
 
         // Fetch with roles to populate AuthResponse accurately
-        return userRepository.findByIdWithRoles(userIdOpt.get())
-                .map(this::toAuthResponse);
+        return readTx.execute(status -> userRepository.findByIdWithRoles(active.userId())
+                .map(u -> new CachedSession(toAuthResponse(u), active.expiresAt(), active.createdAt())));
     }
 
     // =========================
     // Helpers
     // =========================
+
+    // Bring the stored hash to the current BCrypt cost (calibrated per machine; also upgrades the seeded
+    // admin hash). Best effort: if the hashing queue is busy it simply happens on a later login
+    private void rehashIfNeeded(Long userId, String passwordHash, String rawPassword) {
+        if (!passwordService.needsRehash(passwordHash)) return;
+        try {
+            userRepository.updatePasswordHash(userId, passwordHash, passwordService.hash(rawPassword));
+        } catch (PasswordHashingBusyException e) {
+            // keep the old hash; it still verifies
+        }
+    }
+
     private String normalizeEmail(String email) {
-        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+        return normalizeLogin(email);
+    }
+
+    // One normalization for everything matched against lower(email) / lower(username)
+    private String normalizeLogin(String login) {
+        return login == null ? null : login.trim().toLowerCase(Locale.ROOT);
     }
 
     private String safeTrim(String s) {
@@ -1,23 +1,96 @@
 package dev.joshuahale.backend.auth.service.impl;
 
+import dev.joshuahale.backend.auth.service.PasswordHashingBusyException;
 import dev.joshuahale.backend.auth.service.PasswordService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt on the bounded passwordExecutor rather than the request thread. The caller still waits for
+ * the result, but CPU spent on key stretching is capped at the pool size, and when the queue is full
+ * the call fails at once with PasswordHashingBusyException (503 + Retry-After) instead of queueing
+ * behind a burst of logins.
+ *
+ * The BCrypt cost is auth.password.bcrypt.cost, or when that is 0, calibrated at startup: the highest
+ * cost whose hash fits in auth.password.bcrypt.latency-budget on this machine (never below MIN_COST).
+ * Stored hashes with a different cost are re-hashed on the user's next successful login (needsRehash).
+ * On a fleet of mixed instance types, pin the cost so hashes do not flip between nodes.
+ *
+ * Metrics: auth.password.hash (time spent hashing, tagged op=hash|verify), auth.password.queue.depth,
+ * auth.password.rejected, auth.password.bcrypt.cost.
+ */
 @Service
-@Transactional(readOnly = true)
 public class PasswordServiceImpl implements PasswordService {
 
-    // 10–12 is fine for a personal site; raise if your server is beefy
-    private static final int BCRYPT_WORK_FACTOR = 12;
+    private static final Logger log = LoggerFactory.getLogger(PasswordServiceImpl.class);
+
+    // Floor regardless of hardware (OWASP minimum); ceiling keeps a misconfigured budget from locking logins up
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+    private static final int CALIBRATION_RUNS = 3;
+
+    private final int cost;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration retryAfter;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordServiceImpl(@Qualifier("passwordExecutor") ThreadPoolTaskExecutor executor,
+                               MeterRegistry registry,
+                               @Value("${auth.password.retry-after:2s}") Duration retryAfter,
+                               @Value("${auth.password.bcrypt.cost:0}") int cost,
+                               @Value("${auth.password.bcrypt.latency-budget:250ms}") Duration latencyBudget) {
+        this(executor, registry, retryAfter, cost > 0 ? cost : calibrate(latencyBudget));
+    }
+
+    public PasswordServiceImpl(ThreadPoolTaskExecutor executor, MeterRegistry registry, Duration retryAfter, int cost) {
+        if (cost < 4 || cost > 31) throw new IllegalStateException("BCrypt cost must be between 4 and 31, was " + cost);
+        this.cost = cost;
+        this.executor = executor;
+        this.retryAfter = retryAfter;
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .tag("op", "hash")
+                .description("CPU time spent in BCrypt, excluding queue wait")
+                .register(registry);
+        this.verifyTimer = Timer.builder("auth.password.hash")
+                .tag("op", "verify")
+                .description("CPU time spent in BCrypt, excluding queue wait")
+                .register(registry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Password operations refused because the hashing queue was full")
+                .register(registry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Password operations waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("auth.password.bcrypt.cost", () -> this.cost)
+                .description("BCrypt cost used for new hashes")
+                .register(registry);
+    }
 
     @Override
     public String hash(String rawPassword) {
         if (rawPassword == null || rawPassword.isBlank()) {
             throw new IllegalArgumentException("Password cannot be empty");
         }
-        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(BCRYPT_WORK_FACTOR));
+        return offload(hashTimer, () -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost)));
     }
 
     @Override
@@ -25,6 +98,71 @@ public class PasswordServiceImpl implements PasswordService {
         if (rawPassword == null || passwordHash == null || passwordHash.isBlank()) {
             return false;
         }
-        return BCrypt.checkpw(rawPassword, passwordHash);
+        return offload(verifyTimer, () -> BCrypt.checkpw(rawPassword, passwordHash));
+    }
+
+    @Override
+    public boolean needsRehash(String passwordHash) {
+        // $2a$12$<salt+hash>: the cost is the two digits after the second '$'
+        if (passwordHash == null || !passwordHash.startsWith("$2") || passwordHash.length() < 7) return false;
+        int at = passwordHash.indexOf('$', 1) + 1;
+        try {
+            return Integer.parseInt(passwordHash.substring(at, at + 2)) != cost;
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return false;   // not a hash we understand; verify() decides what it is worth
+        }
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    // ===============================
+    // Calibration: time the floor cost, then double per step (BCrypt work is 2^cost) while within budget
+    // ===============================
+    static int calibrate(Duration budget) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {   // best of a few: the first run also pays for JIT warm-up
+            long started = System.nanoTime();
+            BCrypt.hashpw("calibration", BCrypt.gensalt(MIN_COST));
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        int cost = MIN_COST;
+        long estimate = best;
+        while (cost < MAX_COST && estimate * 2 <= budget.toNanos()) {
+            cost++;
+            estimate *= 2;
+        }
+        if (estimate > budget.toNanos()) {
+            log.warn("BCrypt cost {} takes ~{} ms here, over the {} ms budget; using it anyway",
+                    cost, estimate / 1_000_000, budget.toMillis());
+        } else {
+            log.info("BCrypt cost calibrated to {} (~{} ms per hash, budget {} ms)",
+                    cost, estimate / 1_000_000, budget.toMillis());
+        }
+        return cost;
+    }
+
+    // ===============================
+    // Offload to the bounded executor
+    // ===============================
+    private <T> T offload(Timer timer, Supplier<T> work) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(work));
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfter);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
     }
 }
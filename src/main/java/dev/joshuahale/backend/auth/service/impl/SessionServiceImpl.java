@@ -1,12 +1,15 @@
 package dev.joshuahale.backend.auth.service.impl;
 
-import dev.joshuahale.backend.auth.entity.SessionEntity;
-import dev.joshuahale.backend.auth.entity.UserEntity;
-import dev.joshuahale.backend.auth.repository.SessionRepository;
-import dev.joshuahale.backend.auth.repository.UserRepository;
+import dev.joshuahale.backend.auth.repository.SessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore.StoredSession;
+import dev.joshuahale.backend.auth.service.SessionCache;
 import dev.joshuahale.backend.auth.service.SessionService;
+import dev.joshuahale.backend.config.InvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.security.SecureRandom;
 import java.time.Duration;
@@ -14,8 +17,12 @@ import java.time.OffsetDateTime;
 import java.util.Base64;
 import java.util.Optional;
 
+/**
+ * Opaque sessions: a random token that names a stored session. Storage is pluggable (SessionStore,
+ * auth.session.store); transactions, where there are any, belong to the store.
+ */
 @Service
-@Transactional
+@ConditionalOnProperty(name = "auth.session.mode", havingValue = "opaque", matchIfMissing = true)
 public class SessionServiceImpl implements SessionService {
 
     // === config ===
@@ -23,74 +30,114 @@ public class SessionServiceImpl implements SessionService {
     private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
     private static final int TOKEN_BYTES = 32; // 256-bit; base64url ~43 chars (fits length=255 easily)
     private final Duration sessionTtl = Duration.ofDays(7);
+    private final boolean sliding;
+    private final Duration slidingGranularity;
+    private final Duration maxLifetime;
 
     // === deps ===
-    private final SessionRepository sessionRepository;
-    private final UserRepository userRepository;
-
-    public SessionServiceImpl(SessionRepository sessionRepository,
-                              UserRepository userRepository) {
-        this.sessionRepository = sessionRepository;
-        this.userRepository = userRepository;
+    private final SessionStore sessionStore;
+    private final SessionCache sessionCache;
+    private final InvalidationBus invalidationBus;
+
+    public SessionServiceImpl(SessionStore sessionStore,
+                              SessionCache sessionCache,
+                              InvalidationBus invalidationBus,
+                              @Value("${auth.session.sliding.enabled:true}") boolean sliding,
+                              @Value("${auth.session.sliding.granularity:1h}") Duration slidingGranularity,
+                              @Value("${auth.session.max-lifetime:30d}") Duration maxLifetime) {
+        this.sessionStore = sessionStore;
+        this.sessionCache = sessionCache;
+        this.invalidationBus = invalidationBus;
+        this.sliding = sliding;
+        this.slidingGranularity = slidingGranularity;
+        this.maxLifetime = maxLifetime;
+
+        // Revocations on other nodes: the session row is already gone, only the cached principal is left
+        invalidationBus.subscribe(SessionCache.TOPIC_SESSION, sessionCache::evictKey, sessionCache::clear);
+        invalidationBus.subscribe(SessionCache.TOPIC_USER, id -> sessionCache.evictUser(Long.valueOf(id)), () -> { });
     }
 
     @Override
     public String create(Long userId, String userAgent, String ipAddress) {
-        // Load a reference to the user
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-
-        // Generate a unique token (retry if ultra-rare collision)
-        String token = generateUniqueToken();
-
-        SessionEntity s = new SessionEntity();
-        s.setUser(user);
-        s.setSessionToken(token);
-        s.setExpiresAt(OffsetDateTime.now().plus(sessionTtl));
-        // your entity has only createdAt via @PrePersist; no updatedAt field -> nothing else to set
-
-        sessionRepository.save(s);
+        // 256 random bits: no existence probe, the store's uniqueness check is the backstop
+        String token = randomToken();
+        OffsetDateTime now = OffsetDateTime.now();
+        sessionStore.insert(new StoredSession(token, userId, now.plus(sessionTtl), now));
         return token;
     }
 
     @Override
     public boolean revoke(String sessionToken) {
-        // delete by token (since you model revocation as deletion)
-        return sessionRepository.findBySessionToken(sessionToken)
-                .map(se -> { sessionRepository.delete(se); return true; })
-                .orElse(false);
+        // Evict now and again after commit: a lookup in between could still read the old row
+        sessionCache.evict(sessionToken);
+        boolean deleted = sessionStore.delete(sessionToken);
+        afterCommit(() -> sessionCache.evict(sessionToken));
+        if (deleted) invalidationBus.publish(SessionCache.TOPIC_SESSION, SessionCache.key(sessionToken));
+        return deleted;
     }
 
     @Override
     public void revokeAll(Long userId) {
-        sessionRepository.deleteByUser_Id(userId);
+        sessionCache.evictUser(userId);
+        sessionStore.deleteByUser(userId);
+        afterCommit(() -> sessionCache.evictUser(userId));
+        invalidationBus.publish(SessionCache.TOPIC_USER, userId.toString());
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Optional<Long> validate(String sessionToken) {
+        return findActive(sessionToken).map(ActiveSession::userId);
+    }
+
+    @Override
+    public Optional<ActiveSession> findActive(String sessionToken) {
         if (sessionToken == null || sessionToken.isBlank()) return Optional.empty();
 
-        return sessionRepository.findBySessionToken(sessionToken)
-                .filter(se -> se.getExpiresAt() != null && se.getExpiresAt().isAfter(OffsetDateTime.now()))
-                .map(se -> se.getUser().getId());
+        OffsetDateTime now = OffsetDateTime.now();
+        return sessionStore.find(sessionToken)
+                .filter(s -> s.expiresAt() != null && s.expiresAt().isAfter(now))
+                .filter(s -> s.createdAt() == null || deadline(s.createdAt()).isAfter(now))
+                .map(s -> new ActiveSession(s.userId(), s.expiresAt(), null, s.createdAt()));
+    }
+
+    // Sliding expiry: push expires_at out to now + ttl, but at most once per granularity per session
+    // (the JPA store batches the UPDATEs through SessionWriteBehind), and never past createdAt + max-lifetime,
+    // so a stolen token cannot be kept alive forever by using it
+    @Override
+    public Optional<OffsetDateTime> touch(String sessionToken, OffsetDateTime expiresAt, OffsetDateTime createdAt) {
+        if (!sliding || sessionToken == null || expiresAt == null) return Optional.empty();
+        OffsetDateTime extended = OffsetDateTime.now().plus(sessionTtl);
+        if (createdAt != null && extended.isAfter(deadline(createdAt))) extended = deadline(createdAt);
+        if (Duration.between(expiresAt, extended).compareTo(slidingGranularity) < 0) return Optional.empty();
+
+        sessionStore.extend(sessionToken, extended);
+        sessionCache.extend(sessionToken, extended);
+        return Optional.of(extended);
     }
 
     @Override
     public long purgeExpired() {
-        return sessionRepository.deleteByExpiresAtBefore(OffsetDateTime.now());
+        return sessionStore.purgeExpired(OffsetDateTime.now());
     }
 
     // === helpers ===
 
-    private String generateUniqueToken() {
-        // Rare collisions are possible in theory; loop just in case
-        for (int i = 0; i < 5; i++) {
-            String t = randomToken();
-            if (!sessionRepository.existsBySessionToken(t)) return t;
+    private OffsetDateTime deadline(OffsetDateTime createdAt) {
+        return createdAt.plus(maxLifetime);
+    }
+
+    // Outside a caller's transaction the store has already committed, so run it now
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
-        // If we somehow collided multiple times, just generate without checking; DB unique constraint will enforce.
-        return randomToken();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private String randomToken() {
@@ -0,0 +1,272 @@
+package dev.joshuahale.backend.auth.service.impl;
+
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.entity.RevokedSessionEntity;
+import dev.joshuahale.backend.auth.entity.SessionWatermarkEntity;
+import dev.joshuahale.backend.auth.entity.UserEntity;
+import dev.joshuahale.backend.auth.repository.RevokedSessionRepository;
+import dev.joshuahale.backend.auth.repository.SessionWatermarkRepository;
+import dev.joshuahale.backend.auth.repository.UserRepository;
+import dev.joshuahale.backend.auth.service.SessionCache;
+import dev.joshuahale.backend.auth.service.SessionService;
+import dev.joshuahale.backend.auth.service.impl.SignedSessionTokens.Claims;
+import dev.joshuahale.backend.config.InvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Stateless sessions (auth.session.mode=signed): the token is an HMAC-signed claim set, so validating
+ * it is a signature check plus two hash lookups, with no query.
+ *
+ * Revocation state is small and held in memory: revoked token ids (only until the token would have
+ * expired) and one "issued at or before" watermark per user for logout-everywhere. Both are persisted
+ * and reloaded at startup, and re-read every revocation-refresh so other nodes' revocations arrive.
+ */
+@Service
+@ConditionalOnProperty(name = "auth.session.mode", havingValue = "signed")
+public class SignedSessionServiceImpl implements SessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SignedSessionServiceImpl.class);
+
+    // === config ===
+    private final Duration sessionTtl = Duration.ofDays(7);
+    private final Duration revocationRefresh;
+    private final Clock clock;
+
+    // === deps ===
+    private final SignedSessionTokens tokens;
+    private final UserRepository userRepository;
+    private final RevokedSessionRepository revokedRepository;
+    private final SessionWatermarkRepository watermarkRepository;
+    private final SessionCache sessionCache;
+    private final Executor backgroundExecutor;
+    private final InvalidationBus invalidationBus;
+
+    // === in-memory revocation state ===
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();   // token id -> token expiry (millis)
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();        // user id -> watermark (millis)
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long lastRefreshMillis;
+
+    public SignedSessionServiceImpl(@Value("${auth.session.signed.keys:}") String keys,
+                                    @Value("${auth.session.signed.revocation-refresh:30s}") Duration revocationRefresh,
+                                    UserRepository userRepository,
+                                    RevokedSessionRepository revokedRepository,
+                                    SessionWatermarkRepository watermarkRepository,
+                                    SessionCache sessionCache,
+                                    @Qualifier("backgroundExecutor") Executor backgroundExecutor,
+                                    InvalidationBus invalidationBus) {
+        this.tokens = new SignedSessionTokens(keys);
+        this.revocationRefresh = revocationRefresh;
+        this.clock = Clock.systemUTC();
+        this.userRepository = userRepository;
+        this.revokedRepository = revokedRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.sessionCache = sessionCache;
+        this.backgroundExecutor = backgroundExecutor;
+        this.invalidationBus = invalidationBus;
+
+        // Another node revoked: pick up its revocation rows now rather than at the next refresh, then drop
+        // the cached principal (in that order, or a lookup in between could cache it again)
+        invalidationBus.subscribe(SessionCache.TOPIC_SESSION, key -> {
+            reloadRevocations();
+            sessionCache.evictKey(key);
+        }, () -> {
+            reloadRevocations();
+            sessionCache.clear();
+        });
+        invalidationBus.subscribe(SessionCache.TOPIC_USER, id -> {
+            reloadRevocations();
+            sessionCache.evictUser(Long.valueOf(id));
+        }, () -> { });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        reloadRevocations();
+        log.info("Signed sessions: {} revoked tokens and {} user watermarks loaded", revokedUntil.size(), notBefore.size());
+    }
+
+    // =========================
+    // Create
+    // =========================
+    @Override
+    @Transactional(readOnly = true)
+    public String create(Long userId, String userAgent, String ipAddress) {
+        UserEntity user = userRepository.findByIdWithRoles(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        Set<String> roles = user.getRoles() == null ? Set.of()
+                : user.getRoles().stream().map(r -> r.getName()).collect(Collectors.toSet());
+        return issue(userId, user.getUsername(), user.getEmail(), roles);
+    }
+
+    // Login already has the principal: issuing is pure computation, no query
+    @Override
+    public String create(AuthResponse principal, String userAgent, String ipAddress) {
+        return issue(principal.getUserId(), principal.getUsername(), principal.getEmail(), principal.getRoles());
+    }
+
+    private String issue(Long userId, String username, String email, Set<String> roles) {
+        Instant now = clock.instant();
+        // Issued strictly after any watermark set in the same millisecond
+        Long watermark = notBefore.get(userId);
+        if (watermark != null && now.toEpochMilli() <= watermark) now = Instant.ofEpochMilli(watermark + 1);
+        return tokens.issue(userId, username, email, roles == null ? Set.of() : roles, now, now.plus(sessionTtl));
+    }
+
+    // =========================
+    // Validate (in memory)
+    // =========================
+    @Override
+    public Optional<Long> validate(String sessionToken) {
+        return findActive(sessionToken).map(ActiveSession::userId);
+    }
+
+    @Override
+    public Optional<ActiveSession> findActive(String sessionToken) {
+        if (sessionToken == null || sessionToken.isBlank()) return Optional.empty();
+        refreshIfStale();
+
+        return tokens.verify(sessionToken, clock.instant())
+                .filter(this::notRevoked)
+                .map(c -> new ActiveSession(c.userId(), c.expiresAt().atOffset(ZoneOffset.UTC),
+                        new AuthResponse(c.userId(), c.username(), c.email(), c.roles()),
+                        Instant.ofEpochMilli(c.issuedAtMillis()).atOffset(ZoneOffset.UTC)));
+    }
+
+    private boolean notRevoked(Claims c) {
+        if (revokedUntil.containsKey(c.tokenId())) return false;
+        Long watermark = notBefore.get(c.userId());
+        return watermark == null || c.issuedAtMillis() > watermark;
+    }
+
+    // =========================
+    // Revoke
+    // =========================
+    @Override
+    @Transactional
+    public boolean revoke(String sessionToken) {
+        sessionCache.evict(sessionToken);
+        Optional<Claims> claims = tokens.verify(sessionToken, clock.instant());
+        if (claims.isEmpty() || !notRevoked(claims.get())) return false;
+
+        Claims c = claims.get();
+        int inserted = revokedRepository.insertIfAbsent(c.tokenId(), c.userId(), c.expiresAt().atOffset(ZoneOffset.UTC));
+
+        // Only once the row is durable: a rolled-back revoke must not reject the token on this node alone
+        afterCommit(() -> {
+            revokedUntil.put(c.tokenId(), c.expiresAtMillis());
+            sessionCache.evict(sessionToken);
+        });
+        invalidationBus.publish(SessionCache.TOPIC_SESSION, SessionCache.key(sessionToken));
+        // 0: a concurrent logout of the same token got there first
+        return inserted > 0;
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        long now = clock.millis();
+        OffsetDateTime watermark = Instant.ofEpochMilli(now).atOffset(ZoneOffset.UTC);
+        SessionWatermarkEntity row = watermarkRepository.findById(userId)
+                .orElseGet(() -> new SessionWatermarkEntity(userId, watermark));
+        row.setNotBefore(watermark);
+        watermarkRepository.save(row);
+
+        notBefore.merge(userId, now, Math::max);
+        sessionCache.evictUser(userId);
+        afterCommit(() -> sessionCache.evictUser(userId));
+        invalidationBus.publish(SessionCache.TOPIC_USER, userId.toString());
+    }
+
+    // =========================
+    // Housekeeping
+    // =========================
+    @Override
+    @Transactional
+    public long purgeExpired() {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        long purged = revokedRepository.deleteByExpiresAtBefore(now);
+        // A watermark older than one session lifetime can no longer reject anything
+        purged += watermarkRepository.deleteByNotBeforeBefore(now.minus(sessionTtl));
+        revokedUntil.values().removeIf(expiry -> expiry < now.toInstant().toEpochMilli());
+        return purged;
+    }
+
+    // =========================
+    // Revocation reload (startup + periodic, so other nodes' revocations arrive)
+    // =========================
+    private void refreshIfStale() {
+        if (clock.millis() - lastRefreshMillis < revocationRefresh.toMillis()) return;
+        if (!refreshing.compareAndSet(false, true)) return;
+        try {
+            backgroundExecutor.execute(() -> {
+                try {
+                    reloadRevocations();
+                } catch (RuntimeException e) {
+                    log.warn("Could not refresh signed session revocations", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private void reloadRevocations() {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        Map<String, Long> revoked = new HashMap<>();
+        for (RevokedSessionEntity r : revokedRepository.findByExpiresAtAfter(now)) {
+            revoked.put(r.getTokenId(), r.getExpiresAt().toInstant().toEpochMilli());
+        }
+        Map<Long, Long> watermarks = new HashMap<>();
+        for (SessionWatermarkEntity w : watermarkRepository.findAll()) {
+            watermarks.put(w.getUserId(), w.getNotBefore().toInstant().toEpochMilli());
+        }
+        // Merge rather than replace, so a revocation made here while the reload ran is never lost
+        revokedUntil.putAll(revoked);
+        watermarks.forEach((user, millis) -> notBefore.merge(user, millis, Math::max));
+        lastRefreshMillis = clock.millis();
+    }
+
+    // === helpers ===
+
+    private void afterCommit(Runnable action) {
+        // Outside a transaction (e.g. unit tests) just run immediately
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
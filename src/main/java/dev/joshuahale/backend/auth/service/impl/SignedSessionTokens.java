@@ -0,0 +1,159 @@
+package dev.joshuahale.backend.auth.service.impl;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Issues and verifies signed session tokens: v1.&lt;kid&gt;.&lt;claims&gt;.&lt;HMAC-SHA256&gt;, all base64url.
+ *
+ * Claims are a compact binary record (user id, issued/expiry millis, random token id, username, email,
+ * roles). They are signed, not encrypted; the cookie is HttpOnly and only carries what /auth/me returns.
+ *
+ * Keys are configured as "kid:base64secret,kid:base64secret". The first key signs; every listed key
+ * verifies, so rotation is: prepend a new key, wait one session lifetime, drop the old one.
+ */
+public class SignedSessionTokens {
+
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final int TOKEN_ID_BYTES = 12;
+    private static final Pattern KID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private static final SecureRandom RNG = new SecureRandom();
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64URL_DECODER = Base64.getUrlDecoder();
+
+    private final String signingKid;
+    private final Map<String, SecretKeySpec> keys;
+
+    public SignedSessionTokens(String keySpec) {
+        Map<String, SecretKeySpec> parsed = new LinkedHashMap<>();
+        if (keySpec != null) {
+            for (String entry : keySpec.split(",")) {
+                if (entry.isBlank()) continue;
+                int colon = entry.indexOf(':');
+                String kid = colon < 0 ? "" : entry.substring(0, colon).trim();
+                if (!KID.matcher(kid).matches()) {
+                    throw new IllegalStateException("Signed session keys must look like kid:base64secret (kid [A-Za-z0-9_-])");
+                }
+                byte[] secret = Base64.getDecoder().decode(entry.substring(colon + 1).trim());
+                if (secret.length < MIN_KEY_BYTES) {
+                    throw new IllegalStateException("Signed session key " + kid + " is shorter than " + MIN_KEY_BYTES + " bytes");
+                }
+                parsed.put(kid, new SecretKeySpec(secret, ALGORITHM));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("auth.session.signed.keys is required when auth.session.mode=signed");
+        }
+        this.signingKid = parsed.keySet().iterator().next();
+        this.keys = Map.copyOf(parsed);
+    }
+
+    // ===============================
+    // Issue
+    // ===============================
+    public String issue(long userId, String username, String email, Set<String> roles, Instant issuedAt, Instant expiresAt) {
+        byte[] tokenId = new byte[TOKEN_ID_BYTES];
+        RNG.nextBytes(tokenId);
+        Claims claims = new Claims(userId, issuedAt.toEpochMilli(), expiresAt.toEpochMilli(),
+                B64URL.encodeToString(tokenId), username, email, roles);
+
+        String signed = VERSION + "." + signingKid + "." + B64URL.encodeToString(encode(claims));
+        return signed + "." + B64URL.encodeToString(mac(keys.get(signingKid), signed));
+    }
+
+    // ===============================
+    // Verify (signature and expiry only; revocation is the caller's job)
+    // ===============================
+    public Optional<Claims> verify(String token, Instant now) {
+        if (token == null) return Optional.empty();
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 4 || !VERSION.equals(parts[0])) return Optional.empty();
+
+        SecretKeySpec key = keys.get(parts[1]);
+        if (key == null) return Optional.empty();   // unknown or retired key
+        try {
+            String signed = token.substring(0, token.lastIndexOf('.'));
+            if (!MessageDigest.isEqual(mac(key, signed), B64URL_DECODER.decode(parts[3]))) return Optional.empty();
+
+            Claims claims = decode(B64URL_DECODER.decode(parts[2]));
+            return now.toEpochMilli() < claims.expiresAtMillis() ? Optional.of(claims) : Optional.empty();
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();   // malformed base64 or claims
+        }
+    }
+
+    private static byte[] mac(SecretKeySpec key, String signed) {
+        try {
+            // Mac instances are not thread-safe; creating one per call is cheap next to the hash itself
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+
+    // ===============================
+    // Claims codec
+    // ===============================
+    private static byte[] encode(Claims c) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(c.userId());
+            out.writeLong(c.issuedAtMillis());
+            out.writeLong(c.expiresAtMillis());
+            out.writeUTF(c.tokenId());
+            out.writeUTF(c.username() == null ? "" : c.username());
+            out.writeUTF(c.email() == null ? "" : c.email());
+            out.writeByte(c.roles().size());
+            for (String role : c.roles()) out.writeUTF(role);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Claims decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long userId = in.readLong();
+        long issuedAt = in.readLong();
+        long expiresAt = in.readLong();
+        String tokenId = in.readUTF();
+        String username = in.readUTF();
+        String email = in.readUTF();
+        int roleCount = in.readUnsignedByte();
+        Set<String> roles = new LinkedHashSet<>();
+        for (int i = 0; i < roleCount; i++) roles.add(in.readUTF());
+        return new Claims(userId, issuedAt, expiresAt, tokenId, username, email, Set.copyOf(roles));
+    }
+
+    public record Claims(long userId, long issuedAtMillis, long expiresAtMillis, String tokenId,
+                         String username, String email, Set<String> roles) {
+
+        public Instant expiresAt() {
+            return Instant.ofEpochMilli(expiresAtMillis);
+        }
+    }
+}
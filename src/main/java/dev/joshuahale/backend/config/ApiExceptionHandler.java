@@ -0,0 +1,31 @@
+package dev.joshuahale.backend.config;
+
+import dev.joshuahale.backend.auth.service.PasswordHashingBusyException;
+import dev.joshuahale.backend.home.service.HomeUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Exceptions that mean the same thing whichever controller they surface through. Domain exceptions
+ * with a fixed status keep their @ResponseStatus; this is for responses that need headers.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Backpressure: the password hashing queue is full (login, register, or any later caller of PasswordService)
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Void> passwordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    // The homepage's latest posts missed their deadline or failed: worth retrying, not a client error
+    @ExceptionHandler(HomeUnavailableException.class)
+    public ResponseEntity<Void> homeUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+}
@@ -0,0 +1,94 @@
+package dev.joshuahale.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The client address as the app sees it. X-Forwarded-For is only believed as far as our own proxies
+ * wrote it: nginx and the load balancer append the address they received from, so the hops are read
+ * from the right, skipping trusted proxies, and the first one that is not a proxy is the client.
+ * Anything further left was supplied by the client and is ignored, as are the headers altogether when
+ * the socket peer itself is not a trusted proxy.
+ *
+ * Trusted proxies are the private, loopback and link-local ranges (Tomcat RemoteIpValve's default
+ * internal-proxies), which is where the instance-local nginx and the VPC load balancer live. With
+ * server.forward-headers-strategy=native the valve does the same walk first; the result is unchanged.
+ */
+public final class ClientIp {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private static final List<Cidr> TRUSTED_PROXIES = Stream.of(
+            "127.0.0.0/8", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "169.254.0.0/16", "100.64.0.0/10",
+            "::1/128", "fe80::/10", "fc00::/7"
+    ).map(Cidr::parse).toList();
+
+    private ClientIp() { }
+
+    public static String of(HttpServletRequest req) {
+        String peer = req.getRemoteAddr();
+        if (!trustedProxy(peer)) return peer;
+
+        String xff = req.getHeader("X-Forwarded-For");
+        if (xff == null || xff.isBlank()) return peer;
+
+        String[] hops = xff.split(",");
+        String nearest = peer;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) continue;
+            if (!trustedProxy(hop)) return hop;
+            nearest = hop;
+        }
+        // Every hop is one of ours (an internal caller): the leftmost is as close to the origin as it gets
+        return nearest;
+    }
+
+    static boolean trustedProxy(String address) {
+        InetAddress ip = literal(address);
+        if (ip == null) return false;
+        for (Cidr range : TRUSTED_PROXIES) {
+            if (range.contains(ip)) return true;
+        }
+        return false;
+    }
+
+    // IP literals only: a header value must never trigger a DNS lookup
+    private static InetAddress literal(String address) {
+        if (address == null) return null;
+        String s = address.startsWith("[") && address.endsWith("]") ? address.substring(1, address.length() - 1) : address;
+        if (!IPV4.matcher(s).matches() && s.indexOf(':') < 0) return null;
+        try {
+            return InetAddress.getByName(s);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Cidr(byte[] network, int prefix) {
+
+        static Cidr parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            InetAddress ip = literal(cidr.substring(0, slash));
+            return new Cidr(ip.getAddress(), Integer.parseInt(cidr.substring(slash + 1)));
+        }
+
+        boolean contains(InetAddress ip) {
+            byte[] addr = ip.getAddress();
+            if (addr.length != network.length) return false;
+            int full = prefix / 8;
+            for (int i = 0; i < full; i++) {
+                if (addr[i] != network[i]) return false;
+            }
+            int rest = prefix % 8;
+            if (rest == 0) return true;
+            int mask = (0xFF << (8 - rest)) & 0xFF;
+            return (addr[full] & mask) == (network[full] & mask);
+        }
+    }
+}
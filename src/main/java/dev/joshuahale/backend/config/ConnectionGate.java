@@ -0,0 +1,53 @@
+package dev.joshuahale.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fair admission gate in front of the JDBC pool. With virtual threads there is no request-thread limit,
+ * so thousands of requests could pile onto the pool at once; the gate queues them first-come,
+ * first-served and fails fast (instead of hanging) once the wait exceeds the timeout.
+ */
+public class ConnectionGate implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutNanos;
+
+    public ConnectionGate(int permits, Duration timeout) {
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public void acquire() throws SQLTransientConnectionException {
+        try {
+            if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Timed out waiting for a database connection permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection permit", e);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.gate.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads queued for a database connection permit")
+                .register(registry);
+        Gauge.builder("db.gate.in-use", permits, p -> maxPermits - p.availablePermits())
+                .description("Database connection permits held")
+                .register(registry);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.joshuahale.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * The application's own executors. Each one is bounded, so background work can never grow without limit
+ * or compete unboundedly with request threads.
+ *
+ * With spring.threads.virtual.enabled=true, I/O-bound executors run their tasks on virtual threads (still
+ * bounded by pool size and queue); CPU-bound ones stay on platform threads, where virtual threads buy nothing.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private final boolean virtualThreads;
+
+    public ExecutorConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    // Cache refreshes and other short, fire-and-forget maintenance work
+    @Bean(name = "backgroundExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor backgroundExecutor(
+            @Value("${app.executors.background.threads:2}") int threads,
+            @Value("${app.executors.background.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("background-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    // Image decoding/resizing: CPU and memory heavy, so few (platform) threads. When the queue is full the submitting
+    // thread does the work itself, which slows uploads down instead of dropping variants
+    @Bean(name = "imageExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor imageExecutor(
+            @Value("${app.executors.image.threads:2}") int threads,
+            @Value("${app.executors.image.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("image-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt hashing/verification: pure CPU, so platform threads and by default half the cores, leaving the
+    // rest for request handling. The queue is short and overflow is rejected: a login burst gets fast 503s
+    // instead of every request thread spinning on key stretching
+    @Bean(name = "passwordExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor passwordExecutor(
+            @Value("${app.executors.password.threads:0}") int threads,
+            @Value("${app.executors.password.queue-capacity:16}") int queueCapacity) {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("password-");
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Short blocking fan-out (e.g. the homepage's parallel sub-queries). Virtual threads are cheap to
+    // create per task; concurrency is bounded by the callers, which always join or cancel what they fork
+    @Bean(name = "virtualThreadExecutor", destroyMethod = "close")
+    public ExecutorService virtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fanout-", 0).factory());
+    }
+}
@@ -0,0 +1,339 @@
+package dev.joshuahale.backend.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Cluster-wide invalidation of in-process caches over Postgres LISTEN/NOTIFY, so several instances can
+ * cache sessions and posts without anything beyond the database they already share.
+ *
+ * publish(topic, key) queues a compact event, "node:seq:topic:key", once the surrounding transaction
+ * commits (at once outside one). A publisher thread sends the queue in order, one pg_notify round trip
+ * per batch, on a pooled connection. Every node LISTENs on its own dedicated connection (outside the
+ * pool, to spring.datasource.url) and hands other nodes' events to that topic's subscribers.
+ *
+ * NOTIFY is at-most-once: events sent while a listener is disconnected are gone, and a node can lose
+ * its own (failed send, full queue). So receivers track each sender's sequence, and a gap, or any
+ * reconnect of the LISTEN connection, makes every subscriber resync: drop or reload what it caches.
+ *
+ * Off by default (cache.invalidation.enabled): a single node has no one to tell.
+ */
+@Component
+public class InvalidationBus implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    // Ordered: NOTIFYs from one transaction are delivered in the order they were issued
+    private static final String NOTIFY_SQL =
+            "select pg_notify(?, p) from unnest(?::text[]) with ordinality as t(p, n) order by n";
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final int MAX_PAYLOAD_BYTES = 7999;   // NOTIFY's limit, less one
+    private static final int MAX_BATCH = 500;
+    private static final int POLL_MILLIS = 1000;
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    // === config ===
+    private final boolean enabled;
+    private final String channel;
+    private final Duration keepalive;
+
+    // === deps ===
+    private final JdbcTemplate jdbc;
+    private final DataSourceProperties dataSource;
+
+    // === state ===
+    private final String nodeId;
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    private long sequence;                       // guarded by enqueueLock
+    private final BlockingQueue<String> outbox;
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();   // sender node -> last sequence
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running;
+    private Thread listener;
+    private Thread publisher;
+
+    public InvalidationBus(JdbcTemplate jdbc,
+                           DataSourceProperties dataSource,
+                           @Value("${cache.invalidation.enabled:false}") boolean enabled,
+                           @Value("${cache.invalidation.channel:cache_invalidation}") String channel,
+                           @Value("${cache.invalidation.max-queued:10000}") int maxQueued,
+                           @Value("${cache.invalidation.keepalive:30s}") Duration keepalive) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalStateException("cache.invalidation.channel must be a lower-case identifier, was " + channel);
+        }
+        this.jdbc = jdbc;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.keepalive = keepalive;
+        this.outbox = new LinkedBlockingQueue<>(maxQueued);
+        byte[] id = new byte[4];
+        new SecureRandom().nextBytes(id);
+        this.nodeId = HexFormat.of().formatHex(id);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        running = true;
+        listener = Thread.ofPlatform().name("invalidation-listener").daemon(true).start(this::listen);
+        publisher = Thread.ofPlatform().name("invalidation-publisher").daemon(true).start(this::publishLoop);
+        log.info("Cache invalidation bus started on channel {} as node {}", channel, nodeId);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(2));
+        // Last best-effort send, so this node's final writes still reach the others
+        List<String> rest = new ArrayList<>();
+        outbox.drainTo(rest);
+        if (!rest.isEmpty()) {
+            try {
+                send(rest);
+            } catch (RuntimeException e) {
+                log.warn("Dropped {} invalidations at shutdown", rest.size(), e);
+            }
+        }
+    }
+
+    // ===============================
+    // Subscribe / publish
+    // ===============================
+    /**
+     * onEvent gets the keys other nodes publish on topic; onResync runs when events may have been missed
+     * and must leave nothing stale behind (typically: clear the cache). Both run on the listener thread.
+     */
+    public void subscribe(String topic, Consumer<String> onEvent, Runnable onResync) {
+        subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(new Subscriber(onEvent, onResync));
+    }
+
+    /** Tell the other nodes that key under topic changed, after the current transaction commits. */
+    public void publish(String topic, String key) {
+        if (!enabled) return;
+        if (topic.indexOf(':') >= 0) throw new IllegalArgumentException("Topic must not contain ':': " + topic);
+        afterCommit(() -> enqueue(topic, key));
+    }
+
+    private void enqueue(String topic, String key) {
+        // Checked before a sequence number is taken (room for the longest one), so a rejected key leaves no gap
+        String event = topic + ':' + key;
+        if (nodeId.length() + 21 + event.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Invalidation key too long for NOTIFY on topic " + topic);
+        }
+        // Numbering and queueing as one step: otherwise seq 6 can overtake seq 5 into the queue, and every
+        // receiver sees a gap that isn't there. A ReentrantLock rather than synchronized: offer() may park
+        enqueueLock.lock();
+        try {
+            String payload = nodeId + ':' + (++sequence) + ':' + event;
+            // Full: the sequence number is still spent, so receivers see the gap and resync
+            if (!outbox.offer(payload)) dropped.increment();
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    // ===============================
+    // Publisher thread
+    // ===============================
+    private void publishLoop() {
+        List<String> batch = new ArrayList<>();
+        long backoff = 1000;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    batch.add(outbox.take());
+                    outbox.drainTo(batch, MAX_BATCH - 1);
+                }
+                send(batch);
+                batch.clear();
+                backoff = 1000;
+            } catch (InterruptedException e) {
+                outbox.addAll(batch.subList(0, Math.min(batch.size(), outbox.remainingCapacity())));
+                return;
+            } catch (RuntimeException e) {
+                // Keep the batch and retry; meanwhile newer events queue up behind it (or are dropped when full)
+                log.warn("Could not publish {} cache invalidations; retrying in {} ms", batch.size(), backoff, e);
+                if (!sleep(backoff)) return;
+                backoff = Math.min(backoff * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    private void send(List<String> batch) {
+        jdbc.query(NOTIFY_SQL, rs -> { }, channel, batch.toArray(new String[0]));
+        published.add(batch.size());
+    }
+
+    // ===============================
+    // Listener thread
+    // ===============================
+    private void listen() {
+        boolean missed = false;   // anything before the first LISTEN was never cached against, so no resync
+        long backoff = 1000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                if (missed) resync("LISTEN connection re-established", true);
+                backoff = 1000;
+
+                long lastCheck = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification n : notifications) receive(n.getParameter());
+                    }
+                    // A dead socket does not always surface in getNotifications; a round trip does
+                    if (System.nanoTime() - lastCheck > keepalive.toNanos()) {
+                        statement.execute("select 1");
+                        lastCheck = System.nanoTime();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                missed = true;
+                log.warn("Cache invalidation listener lost its connection; reconnecting in {} ms", backoff, e);
+                if (!sleep(backoff)) return;
+                backoff = Math.min(backoff * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    void receive(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4 || parts[0].equals(nodeId)) return;
+        long seq;
+        try {
+            seq = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        received.increment();
+
+        Long last = lastSeen.put(parts[0], seq);
+        if (last != null && seq != last + 1) {
+            // The resync covers this event as well
+            resync("missed invalidations from node " + parts[0] + " (" + last + " -> " + seq + ")", false);
+            return;
+        }
+        for (Subscriber s : subscribers.getOrDefault(parts[2], List.of())) {
+            try {
+                s.onEvent().accept(parts[3]);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation handler for topic {} failed", parts[2], e);
+            }
+        }
+    }
+
+    private void resync(String reason, boolean forgetSenders) {
+        resyncs.increment();
+        log.info("Resyncing local caches: {}", reason);
+        // After a reconnect nothing is known about where senders are now; start counting afresh
+        if (forgetSenders) lastSeen.clear();
+        for (List<Subscriber> list : subscribers.values()) {
+            for (Subscriber s : list) {
+                try {
+                    s.onResync().run();
+                } catch (RuntimeException e) {
+                    log.warn("Cache resync failed", e);
+                }
+            }
+        }
+    }
+
+    // ===============================
+    // Helpers
+    // ===============================
+    private static void afterCommit(Runnable action) {
+        // Outside a transaction there is nothing to wait for
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Test hook: what the publisher thread would send next
+    List<String> queued() {
+        return List.copyOf(outbox);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.invalidation.published", published, LongAdder::sum)
+                .description("Invalidation events sent to the other nodes")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidation.received", received, LongAdder::sum)
+                .description("Invalidation events received from other nodes")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidation.resyncs", resyncs, LongAdder::sum)
+                .description("Full local cache resyncs after a sequence gap or a reconnect")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidation.dropped", dropped, LongAdder::sum)
+                .description("Invalidation events dropped because the outgoing queue was full")
+                .register(registry);
+        Gauge.builder("cache.invalidation.queued", outbox, BlockingQueue::size)
+                .register(registry);
+    }
+
+    private record Subscriber(Consumer<String> onEvent, Runnable onResync) { }
+}
@@ -0,0 +1,176 @@
+package dev.joshuahale.backend.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.dto.LoginRequest;
+import dev.joshuahale.backend.auth.dto.SignupRequest;
+import dev.joshuahale.backend.contact.dto.ContactRequest;
+import dev.joshuahale.backend.contact.dto.ContactResponse;
+import dev.joshuahale.backend.posts.dto.PostBatchResponse;
+import dev.joshuahale.backend.posts.dto.PostRequest;
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
+import dev.joshuahale.backend.posts.dto.PostUpdateRequest;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * application/x-protobuf for the REST DTOs, driven by the published schema in classpath:proto/backend.proto.
+ *
+ * Jackson's protobuf backend encodes the existing DTOs against that schema, so no generated classes are
+ * needed and the field names stay identical to the JSON contract. Collections are wrapped in their
+ * list message (e.g. List&lt;PostResponse&gt; -> PostList.posts).
+ */
+public class ProtobufWireConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private static final String SCHEMA_LOCATION = "/proto/backend.proto";
+
+    // DTO class -> message name in backend.proto
+    private static final Map<Class<?>, String> MESSAGES = Map.ofEntries(
+            Map.entry(PostResponse.class, "Post"),
+            Map.entry(PostBatchResponse.class, "PostBatch"),
+            Map.entry(PostSuggestion.class, "PostSuggestion"),
+            Map.entry(PostRequest.class, "PostRequest"),
+            Map.entry(PostUpdateRequest.class, "PostUpdateRequest"),
+            Map.entry(LoginRequest.class, "LoginRequest"),
+            Map.entry(SignupRequest.class, "SignupRequest"),
+            Map.entry(AuthResponse.class, "AuthResponse"),
+            Map.entry(ContactRequest.class, "ContactRequest"),
+            Map.entry(ContactResponse.class, "ContactResponse")
+    );
+
+    // Element class -> wrapper message for top-level collections (always a "posts" field)
+    private static final Map<Class<?>, String> LIST_MESSAGES = Map.of(
+            PostResponse.class, "PostList",
+            PostSuggestion.class, "PostSuggestionList"
+    );
+
+    // Request DTOs the converter is willing to decode
+    private static final Set<Class<?>> READABLE = Set.of(
+            PostRequest.class, PostUpdateRequest.class, LoginRequest.class, SignupRequest.class, ContactRequest.class
+    );
+
+    private final ProtobufMapper mapper;
+    private final Map<String, ProtobufSchema> schemas = new HashMap<>();
+
+    public ProtobufWireConverter() {
+        super(APPLICATION_PROTOBUF);
+        this.mapper = new ProtobufMapper();
+        this.mapper.registerModule(new JavaTimeModule());
+        // Timestamps as int64 epoch millis, matching the schema
+        this.mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.mapper.disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS);
+        this.mapper.disable(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+        this.mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // Resolve every message schema once up front (fails fast if the .proto and the DTO map drift)
+        NativeProtobufSchema nativeSchema = loadSchema();
+        for (String message : nativeSchema.getMessageNames()) {
+            schemas.put(message, nativeSchema.forType(message));
+        }
+        for (String message : MESSAGES.values()) {
+            if (!schemas.containsKey(message)) {
+                throw new IllegalStateException(SCHEMA_LOCATION + " has no message " + message);
+            }
+        }
+    }
+
+    private static NativeProtobufSchema loadSchema() {
+        try (InputStream in = ProtobufWireConverter.class.getResourceAsStream(SCHEMA_LOCATION)) {
+            if (in == null) throw new IllegalStateException("Missing " + SCHEMA_LOCATION + " on classpath");
+            return ProtobufSchemaLoader.std.loadNative(in, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not parse " + SCHEMA_LOCATION, e);
+        }
+    }
+
+    // ===============================
+    // Type support
+    // ===============================
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MESSAGES.containsKey(clazz) || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return READABLE.contains(ResolvableType.forType(type).resolve()) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        // Declared types can be vaguer than the value (e.g. Object); fall back to the runtime class
+        return (messageFor(type) != null || messageFor(clazz) != null) && canWrite(mediaType);
+    }
+
+    private String messageFor(@Nullable Type type) {
+        if (type == null) return null;
+        ResolvableType rt = ResolvableType.forType(type);
+        Class<?> raw = rt.resolve();
+        if (raw == null) return null;
+        if (Collection.class.isAssignableFrom(raw)) {
+            Class<?> element = rt.asCollection().getGeneric(0).resolve();
+            return element == null ? null : LIST_MESSAGES.get(element);
+        }
+        return MESSAGES.get(raw);
+    }
+
+    private ProtobufSchema schemaFor(String message) {
+        return schemas.get(message);
+    }
+
+    // ===============================
+    // Encoding / decoding
+    // ===============================
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage output) throws IOException {
+        String message = messageFor(type);
+        if (message == null) message = messageFor(value.getClass());
+        mapper.writer(schemaFor(message)).writeValue(output.getBody(), root(value));
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage input) throws IOException {
+        return readInternal(ResolvableType.forType(type).resolve(), input);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage input) throws IOException {
+        String message = MESSAGES.get(clazz);
+        try {
+            return mapper.readerFor(clazz).with(schemaFor(message)).readValue(input.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf payload for " + message, e, input);
+        }
+    }
+
+    /** Exposed for benchmarks/tests: encode a DTO (or supported list) exactly as the HTTP layer would. */
+    public byte[] encode(Object value, Type type) throws IOException {
+        return mapper.writer(schemaFor(messageFor(type))).writeValueAsBytes(root(value));
+    }
+
+    private static Object root(Object value) {
+        return value instanceof Collection<?> list ? Map.of("posts", list) : value;
+    }
+}
@@ -0,0 +1,66 @@
+package dev.joshuahale.backend.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The one list of unauthenticated routes. SecurityConfig permits exactly these (minus the few writes in
+ * authenticated()), and SessionAuthenticationFilter derives its exclusions from the same matchers, so the
+ * two cannot drift.
+ */
+public final class PublicRoutes {
+
+    // Public, and nothing downstream ever looks at the session: the filter is skipped entirely
+    private static final List<String> SESSIONLESS = List.of(
+            "/auth/**",          // AuthController reads the sid cookie itself
+            "/api/contact",
+            "/actuator/health",
+            "/media/**",
+            "/api/home"          // resolves the session itself, in parallel with the other sub-queries
+    );
+
+    // Public, but a signed-in reader may still be recognised: the principal is resolved only if asked for
+    private static final List<String> OPTIONAL_AUTH = List.of(
+            "/api/posts/**"
+    );
+
+    // Writes under a public prefix that still need a signed-in user; SecurityConfig checks these before PERMIT_ALL
+    private static final List<String> AUTHENTICATED_POSTS = List.of(
+            "/api/posts/*/hero"  // 10MB uploads to local disk plus ImageIO resizing
+    );
+
+    private static final PathPatternRequestMatcher.Builder PATHS = PathPatternRequestMatcher.withDefaults();
+
+    private static final RequestMatcher[] AUTHENTICATED = AUTHENTICATED_POSTS.stream()
+            .map(path -> PATHS.matcher(HttpMethod.POST, path))
+            .toArray(RequestMatcher[]::new);
+
+    private static final RequestMatcher[] PERMIT_ALL = Stream.concat(SESSIONLESS.stream(), OPTIONAL_AUTH.stream())
+            .map(PATHS::matcher)
+            .toArray(RequestMatcher[]::new);
+
+    private static final RequestMatcher SKIP_SESSION_FILTER = new OrRequestMatcher(
+            SESSIONLESS.stream().map(PATHS::matcher).toArray(RequestMatcher[]::new));
+
+    private PublicRoutes() { }
+
+    /** Exceptions to permitAll(); register with authenticated() ahead of it. */
+    public static RequestMatcher[] authenticated() {
+        return AUTHENTICATED.clone();
+    }
+
+    /** For authorizeHttpRequests(...).requestMatchers(...).permitAll(). */
+    public static RequestMatcher[] permitAll() {
+        return PERMIT_ALL.clone();
+    }
+
+    /** Routes where SessionAuthenticationFilter does not run at all. */
+    public static RequestMatcher sessionless() {
+        return SKIP_SESSION_FILTER;
+    }
+}
@@ -0,0 +1,51 @@
+package dev.joshuahale.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joshuahale.backend.config.RateLimitFilter.Route;
+import dev.joshuahale.backend.config.TokenBucketLimiter.Limit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import java.util.List;
+
+/**
+ * Per-route limits for RateLimitFilter. Each limit is "capacity/period", e.g. 20/1m: up to 20 requests
+ * at once, refilled evenly over a minute.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(
+            ObjectMapper json,
+            @Value("${rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${rate-limit.login.per-ip:20/1m}") String loginPerIp,
+            @Value("${rate-limit.login.per-identifier:10/5m}") String loginPerIdentifier,
+            @Value("${rate-limit.register.per-ip:5/10m}") String registerPerIp,
+            @Value("${rate-limit.contact.per-ip:3/10m}") String contactPerIp) {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        List<Route> routes = List.of(
+                new Route("login", paths.matcher(HttpMethod.POST, "/auth/login"),
+                        Limit.parse(loginPerIp), Limit.parse(loginPerIdentifier)),
+                new Route("register", paths.matcher(HttpMethod.POST, "/auth/register"),
+                        Limit.parse(registerPerIp), null),
+                new Route("contact", paths.matcher(HttpMethod.POST, "/api/contact"),
+                        Limit.parse(contactPerIp), null));
+        return new RateLimitFilter(routes, new TokenBucketLimiter(maxKeys), json);
+    }
+
+    // Ahead of Spring Security and the read-your-writes filter: a throttled request does no other work
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
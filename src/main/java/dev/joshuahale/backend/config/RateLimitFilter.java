@@ -0,0 +1,178 @@
+package dev.joshuahale.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joshuahale.backend.config.TokenBucketLimiter.Limit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket limits on the public endpoints that are expensive per request (BCrypt, SMTP + insert).
+ * Runs ahead of Spring Security and the controllers, so a throttled request costs one map lookup and
+ * a CAS, and gets 429 with Retry-After.
+ *
+ * Every route is limited per client IP (ClientIp, the same resolution AuthController uses); routes with
+ * a login limit are also limited per login identifier from the JSON body, which slows password guessing
+ * spread across many addresses. The body is read once and replayed to the controller.
+ */
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    // Login bodies are tiny; anything bigger is passed through without looking for an identifier
+    private static final int MAX_INSPECTED_BODY = 4096;
+
+    private final List<Route> routes;
+    private final TokenBucketLimiter limiter;
+    private final ObjectMapper json;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitFilter(List<Route> routes, TokenBucketLimiter limiter, ObjectMapper json) {
+        this.routes = List.copyOf(routes);
+        this.limiter = limiter;
+        this.json = json;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = route(request);
+        Duration wait = limiter.tryAcquire(route.name() + ":ip:" + ClientIp.of(request), route.perIp());
+
+        if (wait.isZero() && route.perLogin() != null) {
+            ReplayableRequest replayable = new ReplayableRequest(request);
+            request = replayable;
+            String login = loginIdentifier(replayable.prefix());
+            if (login != null) wait = limiter.tryAcquire(route.name() + ":login:" + login, route.perLogin());
+        }
+
+        if (!wait.isZero()) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (wait.toMillis() + 999) / 1000)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route route(HttpServletRequest request) {
+        for (Route r : routes) {
+            if (r.matcher().matches(request)) return r;
+        }
+        return null;
+    }
+
+    private String loginIdentifier(byte[] body) {
+        if (body.length == 0 || body.length > MAX_INSPECTED_BODY) return null;
+        try {
+            JsonNode login = json.readTree(body).path("emailOrUsername");
+            if (!login.isTextual() || login.asText().isBlank()) return null;
+            return login.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null;   // not JSON; the controller will reject it
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("http.ratelimit.rejected", rejected, LongAdder::sum)
+                .description("Requests answered 429 by RateLimitFilter")
+                .register(registry);
+        Gauge.builder("http.ratelimit.keys", limiter, TokenBucketLimiter::size)
+                .description("Rate-limit buckets currently held in memory")
+                .register(registry);
+    }
+
+    /** perLogin may be null: the route is then limited per IP only. */
+    public record Route(String name, RequestMatcher matcher, Limit perIp, Limit perLogin) { }
+
+    // ===============================
+    // Body replay: the first MAX_INSPECTED_BODY + 1 bytes are buffered, the rest streams through untouched
+    // ===============================
+    private static final class ReplayableRequest extends HttpServletRequestWrapper {
+        private final byte[] prefix;
+        private final InputStream replay;
+
+        ReplayableRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            InputStream in = request.getInputStream();
+            this.prefix = in.readNBytes(MAX_INSPECTED_BODY + 1);
+            this.replay = new SequenceInputStream(new ByteArrayInputStream(prefix), in);
+        }
+
+        byte[] prefix() {
+            return prefix;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return replay.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return replay.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return replay.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Async reads are not supported on a replayed body");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.joshuahale.backend.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which clients wrote recently, so their reads stay on the primary for a short window and
+ * they never read a replica that hasn't caught up with their own write.
+ *
+ * A client is identified by its IP and, when present, its session cookie. Writes are recorded under
+ * every key; a read is sticky if any key is (login has no cookie yet, the next request does).
+ */
+public class ReadYourWritesTracker {
+
+    // Keys of the client whose request is running on this thread (bound by ReadYourWritesFilter)
+    private static final ThreadLocal<List<String>> CLIENT = new ThreadLocal<>();
+
+    private final ConcurrentMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void bind(List<String> clientKeys) {
+        CLIENT.set(clientKeys);
+    }
+
+    public void clear() {
+        CLIENT.remove();
+    }
+
+    /**
+     * Wraps a task so it runs as this thread's client on whichever thread picks it up (forked sub-queries),
+     * keeping its reads sticky too. Returns the task unchanged when no client is bound.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        List<String> keys = CLIENT.get();
+        if (keys == null) return task;
+        return () -> {
+            List<String> previous = CLIENT.get();
+            CLIENT.set(keys);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) CLIENT.remove();
+                else CLIENT.set(previous);
+            }
+        };
+    }
+
+    /** Called when the current thread's transaction takes a primary connection for writing. */
+    public void recordWrite() {
+        List<String> keys = CLIENT.get();
+        if (keys == null) return;
+        touch(keys);
+        // Restart the window at completion too, so long transactions are still covered after commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+                    touch(keys);
+                }
+            });
+        }
+    }
+
+    public boolean isSticky() {
+        List<String> keys = CLIENT.get();
+        if (keys == null) return false;
+        long now = System.nanoTime();
+        for (String key : keys) {
+            Long at = lastWriteNanos.get(key);
+            if (at != null && now - at < windowNanos) return true;
+        }
+        return false;
+    }
+
+    /** Drop entries whose window has passed (called periodically). */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.entrySet().removeIf(e -> now - e.getValue() >= windowNanos);
+    }
+
+    private void touch(List<String> keys) {
+        long now = System.nanoTime();
+        for (String key : keys) {
+            lastWriteNanos.put(key, now);
+        }
+    }
+}
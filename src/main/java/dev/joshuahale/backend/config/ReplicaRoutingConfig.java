@@ -0,0 +1,138 @@
+package dev.joshuahale.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primary + read replicas. Enabled with app.datasource.routing.enabled=true; otherwise Boot's single
+ * DataSource is used unchanged. Replicas share the primary's credentials unless overridden.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.routing.sticky-window:5s}") Duration stickyWindow) {
+        return new ReadYourWritesTracker(stickyWindow);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            ReadYourWritesTracker readYourWritesTracker,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.routing.replicas}") String replicaUrls,
+            @Value("${app.datasource.routing.replica-username:}") String replicaUsername,
+            @Value("${app.datasource.routing.replica-password:}") String replicaPassword,
+            @Value("${app.datasource.routing.replica-pool-size:10}") int replicaPoolSize,
+            @Value("${app.datasource.routing.max-lag:2s}") Duration maxLag,
+            @Value("${app.datasource.routing.lag-check-interval:1s}") Duration lagCheckInterval) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(replicaUsername.isBlank() ? properties.determineUsername() : replicaUsername);
+            replica.setPassword(replicaPassword.isBlank() ? properties.determinePassword() : replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // Don't fail startup if a replica is down; it simply stays out of rotation
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker, maxLag);
+        routing.startLagChecks(lagCheckInterval);
+
+        meterRegistry.ifAvailable(registry -> {
+            for (String key : routing.replicaKeys()) {
+                Gauge.builder("db.replica.lag", routing, r -> r.replicaLag().get(key))
+                        .tag("replica", key)
+                        .baseUnit("milliseconds")
+                        .description("Replication lag; -1 when unreachable")
+                        .register(registry);
+            }
+        });
+        return routing;
+    }
+
+    // What JPA, Flyway and JDBC see: connections are fetched lazily so the read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Binds the client's identity for the request so writes and reads can be matched up
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> readYourWritesFilter(ReadYourWritesTracker tracker) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                tracker.bind(clientKeys(request));
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    tracker.clear();
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // The client's own address (ClientIp), not the socket peer: behind the load balancer every request shares
+    // the peer, and one anonymous write would pin everyone's reads to the primary. The ip key still covers the
+    // request right after login, before the browser has the sid cookie
+    static List<String> clientKeys(HttpServletRequest request) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add("ip:" + ClientIp.of(request));
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (SessionCookies.NAME.equals(cookie.getName()) && !cookie.getValue().isBlank()) {
+                    keys.add("sid:" + cookie.getValue());
+                }
+            }
+        }
+        return keys;
+    }
+}
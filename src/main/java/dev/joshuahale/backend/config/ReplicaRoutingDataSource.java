@@ -0,0 +1,151 @@
+package dev.joshuahale.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the routing key is decided when the first statement
+ * runs, after the transaction manager has marked the transaction read-only. A read goes to the primary
+ * instead when the client wrote within the read-your-writes window, or when no replica is within the
+ * lag threshold (replicas start out unchecked and therefore unused).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    // Seconds behind the primary; 0 when fully replayed (an idle primary doesn't look like lag),
+    // and 0 on a server that isn't a standby at all
+    private static final String LAG_SQL = """
+        select case
+                 when not pg_is_in_recovery() then 0
+                 when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                 else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+               end::bigint
+        """;
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long maxLagMillis;
+
+    // Last measured lag per replica; absent = unreachable or not checked yet
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaList,
+                                    ReadYourWritesTracker readYourWrites, Duration maxLag) {
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaList.size(); i++) {
+            replicas.put("replica-" + (i + 1), replicaList.get(i));
+        }
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = maxLag.toMillis();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+            }
+            return PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            return PRIMARY;
+        }
+        // Round-robin over replicas that are reachable and within the lag threshold
+        int n = replicaKeys.size();
+        int start = n == 0 ? 0 : Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            String key = replicaKeys.get((start + i) % n);
+            Long lag = lagMillis.get(key);
+            if (lag != null && lag <= maxLagMillis) return key;
+        }
+        return PRIMARY;
+    }
+
+    /** Measure every replica now; unreachable replicas are taken out of rotation until they recover. */
+    public void checkLag() {
+        for (var e : replicas.entrySet()) {
+            try (Connection c = e.getValue().getConnection();
+                 Statement st = c.createStatement();
+                 ResultSet rs = st.executeQuery(LAG_SQL)) {
+                rs.next();
+                long lag = rs.getLong(1);
+                Long previous = lagMillis.put(e.getKey(), lag);
+                if (lag > maxLagMillis && (previous == null || previous <= maxLagMillis)) {
+                    log.warn("{} is {} ms behind; reads fall back to the primary", e.getKey(), lag);
+                }
+            } catch (SQLException ex) {
+                if (lagMillis.remove(e.getKey()) != null) {
+                    log.warn("{} unreachable; reads fall back to the primary", e.getKey(), ex);
+                }
+            }
+        }
+        readYourWrites.evictExpired();
+    }
+
+    public void startLagChecks(Duration interval) {
+        checkLag();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-check").daemon(true).factory());
+        long millis = interval.toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Current lag per replica in ms (-1 when unreachable), for metrics. */
+    public Map<String, Long> replicaLag() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        for (String key : replicaKeys) out.put(key, lagMillis.getOrDefault(key, -1L));
+        return out;
+    }
+
+    public List<String> replicaKeys() {
+        return new ArrayList<>(replicaKeys);
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) lagChecker.shutdownNow();
+        for (DataSource ds : replicas.values()) {
+            if (ds instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close replica pool", ex);
+                }
+            }
+        }
+    }
+}
@@ -41,10 +41,9 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/**").permitAll()
-                        .requestMatchers("/api/contact").permitAll()
-                        .requestMatchers("/actuator/health").permitAll()
-                        .requestMatchers("/api/posts/**").permitAll()  // ← Change to permitAll
+                        // Public routes live in PublicRoutes (the session filter's exclusions come from there too)
+                        .requestMatchers(PublicRoutes.authenticated()).authenticated()
+                        .requestMatchers(PublicRoutes.permitAll()).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(sessionAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
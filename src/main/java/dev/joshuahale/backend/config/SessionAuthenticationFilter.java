@@ -1,14 +1,17 @@
 package dev.joshuahale.backend.config;
 
-import dev.joshuahale.backend.auth.service.SessionService;
-import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.AuthService.CurrentSession;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -16,28 +19,31 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+/**
+ * Turns the sid cookie into an Authentication, lazily: the filter only installs a deferred
+ * SecurityContext, and the session store is consulted the first time something asks for the
+ * authentication (authorization of a protected route, a controller reading the principal).
+ * Public reads that never ask cost nothing beyond the cookie scan.
+ *
+ * When that lookup slides the session's expiry forward, the sid cookie is re-issued with the new
+ * Max-Age, provided the response has not been committed yet.
+ */
 @Component
 public class SessionAuthenticationFilter extends OncePerRequestFilter {
 
-    private static final String SID_COOKIE = "sid";
+    private final AuthService authService;
+    private final SecurityContextHolderStrategy contextHolder = SecurityContextHolder.getContextHolderStrategy();
 
-    private final SessionService sessionService;
-    private final dev.joshuahale.backend.auth.service.AuthService authService;
-
-    public SessionAuthenticationFilter(SessionService sessionService,
-                                       dev.joshuahale.backend.auth.service.AuthService authService) {
-        this.sessionService = sessionService;
+    public SessionAuthenticationFilter(AuthService authService) {
         this.authService = authService;
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        // Skip filter for public endpoints
-        return path.startsWith("/auth/") ||
-                path.startsWith("/api/contact") ||
-                path.startsWith("/actuator/health");
+        // Public routes that never need the principal (same matcher list SecurityConfig permits)
+        return PublicRoutes.sessionless().matches(request);
     }
 
     @Override
@@ -47,33 +53,65 @@ public class SessionAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractTokenFromCookie(request);
 
-        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Optional<AuthResponse> user = authService.currentUser(token);
+        if (token != null) {
+            Supplier<SecurityContext> upstream = contextHolder.getDeferredContext();
+            contextHolder.setDeferredContext(new LazySessionContext(upstream, () -> authenticate(token, request, response)));
+        }
+
+        filterChain.doFilter(request, response);
+    }
 
-            if (user.isPresent()) {
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                user.get(),
-                                null,
-                                Collections.emptyList()
-                        );
+    private SecurityContext authenticate(String token, HttpServletRequest request, HttpServletResponse response) {
+        SecurityContext context = contextHolder.createEmptyContext();
+        Optional<CurrentSession> session = authService.currentSession(token);
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (session.isPresent()) {
+            if (session.get().extendedTo() != null && !response.isCommitted()) {
+                response.addHeader(HttpHeaders.SET_COOKIE,
+                        SessionCookies.renew(token, session.get().extendedTo(), request).toString());
             }
-        }
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            session.get().user(),
+                            null,
+                            Collections.emptyList()
+                    );
 
-        filterChain.doFilter(request, response);
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            context.setAuthentication(authentication);
+        }
+        return context;
     }
 
     private String extractTokenFromCookie(HttpServletRequest request) {
         if (request.getCookies() != null) {
             for (Cookie cookie : request.getCookies()) {
-                if (SID_COOKIE.equals(cookie.getName())) {
+                if (SessionCookies.NAME.equals(cookie.getName())) {
                     return cookie.getValue();
                 }
             }
         }
         return null;
     }
-}
\ No newline at end of file
+
+    // Resolves at most once per request; an authentication already established upstream wins
+    private static final class LazySessionContext implements Supplier<SecurityContext> {
+        private final Supplier<SecurityContext> upstream;
+        private final Supplier<SecurityContext> resolver;
+        private SecurityContext resolved;
+
+        LazySessionContext(Supplier<SecurityContext> upstream, Supplier<SecurityContext> resolver) {
+            this.upstream = upstream;
+            this.resolver = resolver;
+        }
+
+        @Override
+        public SecurityContext get() {
+            if (resolved == null) {
+                SecurityContext existing = upstream.get();
+                resolved = existing.getAuthentication() != null ? existing : resolver.get();
+            }
+            return resolved;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package dev.joshuahale.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseCookie;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * The sid cookie, in one place for everything that sets it: login/register, logout, and the lookups that
+ * slide a session's expiry forward (the cookie's Max-Age has to move with expires_at, or the browser drops
+ * a session the server still considers live).
+ */
+public final class SessionCookies {
+
+    public static final String NAME = "sid";
+
+    // Keep this aligned with the SessionService TTL (7 days)
+    private static final Duration SESSION_TTL = Duration.ofDays(7);
+
+    private SessionCookies() { }
+
+    /** A fresh session's cookie. */
+    public static ResponseCookie issue(String token, boolean secure) {
+        return cookie(token, secure, SESSION_TTL);
+    }
+
+    /** The same token again, now living until the session's new expiry. */
+    public static ResponseCookie renew(String token, OffsetDateTime expiresAt, HttpServletRequest request) {
+        Duration maxAge = Duration.between(OffsetDateTime.now(), expiresAt);
+        return cookie(token, secure(request), maxAge.isNegative() ? Duration.ZERO : maxAge);
+    }
+
+    public static ResponseCookie clear() {
+        return cookie("", true, Duration.ZERO);
+    }
+
+    // secure=true in prod (HTTPS); false only for local dev over http
+    public static boolean secure(HttpServletRequest request) {
+        String host = request.getServerName();
+        return !(host.equals("localhost") || host.equals("127.0.0.1"));
+    }
+
+    private static ResponseCookie cookie(String value, boolean secure, Duration maxAge) {
+        return ResponseCookie.from(NAME, value)
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")                // or "Strict" if frontend and backend are same-site only
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+}
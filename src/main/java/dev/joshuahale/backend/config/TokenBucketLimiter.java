@@ -0,0 +1,96 @@
+package dev.joshuahale.backend.config;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by string, one AtomicLong per key.
+ *
+ * Each bucket is stored as its "theoretical arrival time" (GCRA): the instant at which it would be full
+ * again. Taking a token is one compare-and-set, so there are no locks on the request path. A bucket whose
+ * time has passed is indistinguishable from a new one, which makes eviction free: keys are spread over
+ * stripes with a fixed per-stripe cap, and a full stripe first drops its full buckets, then arbitrary ones.
+ */
+public class TokenBucketLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final Map<String, AtomicLong>[] stripes;
+    private final int maxPerStripe;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketLimiter(int maxKeys, LongSupplier nanoClock) {
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ConcurrentHashMap<>();
+        this.maxPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.nanoClock = nanoClock;
+    }
+
+    /** Take one token from key's bucket. Returns 0 if allowed, else how long until a token is available. */
+    public Duration tryAcquire(String key, Limit limit) {
+        long now = nanoClock.getAsLong();
+        Map<String, AtomicLong> stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxPerStripe) makeRoom(stripe, now);
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long interval = limit.intervalNanos();
+        long tolerance = limit.period().toNanos() - interval;   // how far ahead of now a bucket may run (= burst)
+        while (true) {
+            long full = bucket.get();
+            long from = Math.max(full, now);
+            if (from - now > tolerance) return Duration.ofNanos(from - now - tolerance);
+            if (bucket.compareAndSet(full, from + interval)) return Duration.ZERO;
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (Map<String, AtomicLong> stripe : stripes) n += stripe.size();
+        return n;
+    }
+
+    private void makeRoom(Map<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(bucket -> bucket.get() <= now);
+        Iterator<AtomicLong> it = stripe.values().iterator();
+        while (stripe.size() >= maxPerStripe && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /** capacity requests per period, all of which may arrive at once. */
+    public record Limit(int capacity, Duration period) {
+
+        public Limit {
+            if (capacity < 1 || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("Rate limit needs capacity >= 1 and a positive period");
+            }
+        }
+
+        /** "20/1m" = 20 requests per minute. */
+        public static Limit parse(String spec) {
+            int slash = spec.indexOf('/');
+            if (slash < 0) throw new IllegalArgumentException("Rate limit must look like 20/1m, was " + spec);
+            return new Limit(Integer.parseInt(spec.substring(0, slash).trim()),
+                    DurationStyle.detectAndParse(spec.substring(slash + 1).trim()));
+        }
+
+        long intervalNanos() {
+            return period.toNanos() / capacity;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dev.joshuahale.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true). Boot itself moves Tomcat's request handling
+ * onto virtual threads; this adds what that mode needs around it:
+ *   - a fair connection gate in front of the "dataSource" bean (on by default in this mode)
+ *   - JFR-based detection of carrier pinning
+ * The app's own executors follow the same switch (see ExecutorConfig).
+ */
+@Configuration
+public class VirtualThreadsConfig {
+
+    @Bean
+    @ConditionalOnExpression("${app.datasource.gate.enabled:${spring.threads.virtual.enabled:false}}")
+    public ConnectionGate connectionGate(
+            @Value("${app.datasource.gate.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${app.datasource.gate.timeout:5s}") Duration timeout) {
+        return new ConnectionGate(permits, timeout);
+    }
+
+    // Static: post-processors are created before regular beans
+    @Bean
+    public static BeanPostProcessor connectionGateDataSourcePostProcessor(ObjectProvider<ConnectionGate> gate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource ds) {
+                    ConnectionGate g = gate.getIfAvailable();
+                    if (g != null) return new ConnectionGateDataSource(ds, g);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry registry,
+            @Value("${app.threads.pinning-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(registry, threshold);
+    }
+}
@@ -0,0 +1,48 @@
+package dev.joshuahale.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary encodings for native clients, negotiated via Accept / Content-Type:
+ * application/cbor, application/x-jackson-smile and application/x-protobuf.
+ *
+ * CBOR and Smile reuse the application's Jackson settings (spring.jackson.*), so they carry exactly the
+ * JSON contract. They are appended after JSON, which therefore stays the default for Accept: * / *.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders) {
+        this.mapperBuilders = mapperBuilders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace the framework defaults (plain Jackson settings) with ones built from Boot's builder
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter
+                || c instanceof MappingJackson2SmileHttpMessageConverter);
+
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                builder().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                builder().factory(new SmileFactory()).build()));
+        converters.add(new ProtobufWireConverter());
+    }
+
+    private Jackson2ObjectMapperBuilder builder() {
+        // Prototype bean: a fresh builder per mapper so factories don't leak between them
+        return mapperBuilders.getIfAvailable(Jackson2ObjectMapperBuilder::new);
+    }
+}
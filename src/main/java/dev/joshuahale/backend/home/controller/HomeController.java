@@ -0,0 +1,37 @@
+package dev.joshuahale.backend.home.controller;
+
+import dev.joshuahale.backend.config.SessionCookies;
+import dev.joshuahale.backend.home.dto.HomeResponse;
+import dev.joshuahale.backend.home.service.HomeService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+
+    private static final int MAX_LATEST = 20;
+
+    private final HomeService service;
+
+    public HomeController(HomeService service) {
+        this.service = service;
+    }
+
+    // Everything the landing page needs in one round trip: latest posts, archive counts, current user
+    @GetMapping
+    public ResponseEntity<HomeResponse> home(@RequestParam(defaultValue = "5") int latest,
+                                             @CookieValue(name = SessionCookies.NAME, required = false) String token,
+                                             HttpServletRequest http) {
+        // HomeUnavailableException (no latest posts before the deadline) is a 503 via ApiExceptionHandler
+        HomeResponse body = service.load(Math.max(1, Math.min(latest, MAX_LATEST)), token);
+        // The session lookup slid the expiry forward: the cookie has to follow
+        var ok = ResponseEntity.ok();
+        if (body.getSessionExtendedTo() != null) {
+            ok.header(HttpHeaders.SET_COOKIE, SessionCookies.renew(token, body.getSessionExtendedTo(), http).toString());
+        }
+        return ok.body(body);
+    }
+}
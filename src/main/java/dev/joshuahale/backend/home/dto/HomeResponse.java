@@ -0,0 +1,45 @@
+package dev.joshuahale.backend.home.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class HomeResponse {
+
+    // Newest posts as summaries (id, title, slug, heroImage, createdAt); no content
+    private List<Map<String, Object>> latest;
+
+    // Posts per month, newest first; null if it could not be loaded before the deadline
+    private List<ArchiveMonth> archive;
+
+    // Null when anonymous, the session is invalid, or the lookup missed the deadline
+    private AuthResponse currentUser;
+
+    // Not part of the body: set when the session lookup slid the expiry, so the controller re-issues the cookie
+    private OffsetDateTime sessionExtendedTo;
+
+    public HomeResponse(List<Map<String, Object>> latest, List<ArchiveMonth> archive, AuthResponse currentUser) {
+        this(latest, archive, currentUser, null);
+    }
+
+    public HomeResponse(List<Map<String, Object>> latest, List<ArchiveMonth> archive, AuthResponse currentUser,
+                        OffsetDateTime sessionExtendedTo) {
+        this.latest = latest;
+        this.archive = archive;
+        this.currentUser = currentUser;
+        this.sessionExtendedTo = sessionExtendedTo;
+    }
+
+    public List<Map<String, Object>> getLatest() { return latest; }
+
+    public List<ArchiveMonth> getArchive() { return archive; }
+
+    public AuthResponse getCurrentUser() { return currentUser; }
+
+    @JsonIgnore
+    public OffsetDateTime getSessionExtendedTo() { return sessionExtendedTo; }
+}
@@ -0,0 +1,7 @@
+package dev.joshuahale.backend.home.service;
+
+import dev.joshuahale.backend.home.dto.HomeResponse;
+
+public interface HomeService {
+    HomeResponse load(int latestCount, String sessionToken);
+}
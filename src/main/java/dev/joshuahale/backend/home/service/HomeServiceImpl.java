@@ -0,0 +1,120 @@
+package dev.joshuahale.backend.home.service;
+
+import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.AuthService.CurrentSession;
+import dev.joshuahale.backend.config.ReadYourWritesTracker;
+import dev.joshuahale.backend.home.dto.HomeResponse;
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+import dev.joshuahale.backend.posts.dto.PostFields;
+import dev.joshuahale.backend.posts.service.PostsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fans the homepage sub-queries out onto virtual threads and joins them under one deadline, so the
+ * response costs the slowest sub-query rather than their sum. Each sub-query keeps its own short
+ * read-only transaction.
+ *
+ * The scope is structured by hand: every fork is joined or cancelled before load() returns, and a
+ * failure of the required part (latest posts) cancels its siblings. JDK 21's StructuredTaskScope
+ * would express the same thing but is still a preview API there.
+ */
+@Service
+public class HomeServiceImpl implements HomeService {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeServiceImpl.class);
+
+    private static final PostFields SUMMARY = PostFields.parse("title,slug,heroImage,createdAt");
+
+    private final PostsService posts;
+    private final AuthService auth;
+    private final ExecutorService executor;
+    private final long deadlineNanos;
+
+    public HomeServiceImpl(PostsService posts,
+                           AuthService auth,
+                           @Qualifier("virtualThreadExecutor") ExecutorService executor,
+                           @Value("${home.deadline:1500ms}") Duration deadline) {
+        this.posts = posts;
+        this.auth = auth;
+        this.executor = executor;
+        this.deadlineNanos = deadline.toNanos();
+    }
+
+    @Override
+    public HomeResponse load(int latestCount, String sessionToken) {
+        long deadline = System.nanoTime() + deadlineNanos;
+
+        // 1) Fork every sub-query at once, each carrying the caller's read-your-writes identity (replica routing)
+        Future<List<Map<String, Object>>> latest = executor.submit(ReadYourWritesTracker.propagate(() ->
+                posts.listLatest(latestCount, SUMMARY).stream().map(SUMMARY::toMap).toList()));
+        Future<List<ArchiveMonth>> archive = executor.submit(ReadYourWritesTracker.propagate(posts::archive));
+        Future<Optional<CurrentSession>> user = (sessionToken == null || sessionToken.isBlank())
+                ? null
+                : executor.submit(ReadYourWritesTracker.propagate(() -> auth.currentSession(sessionToken)));
+
+        // 2) Join under the shared deadline; always leave the scope with nothing still running
+        try {
+            List<Map<String, Object>> latestPosts = await(latest, deadline);
+            List<ArchiveMonth> months = awaitOptional(archive, deadline, "archive");
+            Optional<CurrentSession> me = user == null ? Optional.empty() : awaitOptional(user, deadline, "currentUser");
+            CurrentSession session = me == null ? null : me.orElse(null);
+            return session == null
+                    ? new HomeResponse(latestPosts, months, null)
+                    : new HomeResponse(latestPosts, months, session.user(), session.extendedTo());
+        } finally {
+            latest.cancel(true);
+            archive.cancel(true);
+            if (user != null) user.cancel(true);
+        }
+    }
+
+    // The latest posts are the page: without them there is no useful response
+    private <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new HomeUnavailableException("Homepage data not ready before the deadline", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new HomeUnavailableException("Homepage data failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HomeUnavailableException("Interrupted", e);
+        }
+    }
+
+    // Secondary blocks degrade to null instead of failing the whole page
+    private <T> T awaitOptional(Future<T> future, long deadline, String part) {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            log.warn("Home {} missed the deadline; omitting it", part);
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Home {} failed; omitting it", part, e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,9 @@
+package dev.joshuahale.backend.home.service;
+
+/**
+ * The latest posts, which are the page, were not ready before the homepage deadline or failed to load.
+ * Mapped to 503 (ApiExceptionHandler); the archive and current user degrade to null instead.
+ */
+public class HomeUnavailableException extends RuntimeException {
+    public HomeUnavailableException(String message, Throwable cause) { super(message, cause); }
+}
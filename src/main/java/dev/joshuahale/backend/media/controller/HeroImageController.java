@@ -0,0 +1,39 @@
+package dev.joshuahale.backend.media.controller;
+
+import dev.joshuahale.backend.media.dto.HeroImageResponse;
+import dev.joshuahale.backend.media.service.HeroImageService;
+import dev.joshuahale.backend.media.service.HeroImageServiceImpl.InvalidImageException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/posts/{id}/hero")
+public class HeroImageController {
+
+    private final HeroImageService service;
+
+    public HeroImageController(HeroImageService service) {
+        this.service = service;
+    }
+
+    // Upload a hero image (multipart field "file"); variants are generated in the background
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<HeroImageResponse> upload(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(service.upload(id, file));
+        } catch (InvalidImageException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    // Original + variant URLs and a ready-made srcset
+    @GetMapping
+    public HeroImageResponse get(@PathVariable Long id) {
+        return service.get(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No hero image for post " + id));
+    }
+}
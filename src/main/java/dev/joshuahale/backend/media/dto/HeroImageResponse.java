@@ -0,0 +1,39 @@
+package dev.joshuahale.backend.media.dto;
+
+import java.util.List;
+
+public class HeroImageResponse {
+
+    private Long postId;
+
+    // The uploaded file as-is; always present and also stored as the post's heroImage
+    private HeroImageVariant original;
+
+    // Resized JPEGs, narrowest first; empty until background processing finishes
+    private List<HeroImageVariant> variants;
+
+    // Ready for <img srcset="...">: every variant plus the original, e.g. "/media/variants/..-w480.jpg 480w, ..."
+    private String srcset;
+
+    // True while variants are still being generated
+    private boolean processing;
+
+    public HeroImageResponse(Long postId, HeroImageVariant original, List<HeroImageVariant> variants,
+                             String srcset, boolean processing) {
+        this.postId = postId;
+        this.original = original;
+        this.variants = variants;
+        this.srcset = srcset;
+        this.processing = processing;
+    }
+
+    public Long getPostId() { return postId; }
+
+    public HeroImageVariant getOriginal() { return original; }
+
+    public List<HeroImageVariant> getVariants() { return variants; }
+
+    public String getSrcset() { return srcset; }
+
+    public boolean isProcessing() { return processing; }
+}
@@ -0,0 +1,20 @@
+package dev.joshuahale.backend.media.dto;
+
+public class HeroImageVariant {
+
+    private String url;
+    private int width;
+    private int height;
+
+    public HeroImageVariant(String url, int width, int height) {
+        this.url = url;
+        this.width = width;
+        this.height = height;
+    }
+
+    public String getUrl() { return url; }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+}
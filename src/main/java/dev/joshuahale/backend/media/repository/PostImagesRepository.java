@@ -0,0 +1,53 @@
+package dev.joshuahale.backend.media.repository;
+
+import dev.joshuahale.backend.media.entity.PostImageEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Transactional
+public class PostImagesRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public PostImageEntity save(PostImageEntity image) {
+        em.persist(image);
+        return image;
+    }
+
+    // Original first, then variants narrowest-first
+    @Transactional(readOnly = true)
+    public List<PostImageEntity> findByPostId(Long postId) {
+        return em.createQuery("""
+        select i from PostImageEntity i
+        where i.postId = :postId
+        order by case when i.variant = 'original' then 0 else 1 end, i.width asc
+        """, PostImageEntity.class)
+                .setParameter("postId", postId)
+                .getResultList();
+    }
+
+    // True while this upload is still the post's hero (a newer upload replaces the rows)
+    @Transactional(readOnly = true)
+    public boolean isCurrentOriginal(Long postId, String sha256) {
+        Long count = em.createQuery("""
+        select count(i) from PostImageEntity i
+        where i.postId = :postId and i.sha256 = :sha256 and i.variant = 'original'
+        """, Long.class)
+                .setParameter("postId", postId)
+                .setParameter("sha256", sha256)
+                .getSingleResult();
+        return count > 0;
+    }
+
+    public int deleteByPostId(Long postId) {
+        return em.createQuery("delete from PostImageEntity i where i.postId = :postId")
+                .setParameter("postId", postId)
+                .executeUpdate();
+    }
+}
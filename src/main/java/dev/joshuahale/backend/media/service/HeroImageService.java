@@ -0,0 +1,11 @@
+package dev.joshuahale.backend.media.service;
+
+import dev.joshuahale.backend.media.dto.HeroImageResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+public interface HeroImageService {
+    HeroImageResponse upload(Long postId, MultipartFile file);
+    Optional<HeroImageResponse> get(Long postId);
+}
@@ -0,0 +1,218 @@
+package dev.joshuahale.backend.media.service;
+
+import dev.joshuahale.backend.media.dto.HeroImageResponse;
+import dev.joshuahale.backend.media.dto.HeroImageVariant;
+import dev.joshuahale.backend.media.entity.PostImageEntity;
+import dev.joshuahale.backend.media.repository.PostImagesRepository;
+import dev.joshuahale.backend.posts.dto.PostUpdateRequest;
+import dev.joshuahale.backend.posts.service.PostsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class HeroImageServiceImpl implements HeroImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeroImageServiceImpl.class);
+
+    private final PostImagesRepository images;
+    private final PostsService posts;
+    private final MediaStorage storage;
+    private final Executor imageExecutor;
+    private final TransactionTemplate tx;
+    private final int[] variantWidths;
+    private final long maxUploadBytes;
+    private final long maxPixels;
+    private final float jpegQuality;
+
+    public HeroImageServiceImpl(PostImagesRepository images,
+                                PostsService posts,
+                                MediaStorage storage,
+                                @Qualifier("imageExecutor") Executor imageExecutor,
+                                TransactionTemplate tx,
+                                @Value("${media.hero.widths:480,960,1600}") int[] variantWidths,
+                                @Value("${media.hero.max-upload-bytes:10485760}") long maxUploadBytes,
+                                @Value("${media.hero.max-pixels:40000000}") long maxPixels,
+                                @Value("${media.hero.jpeg-quality:0.82}") float jpegQuality) {
+        this.images = images;
+        this.posts = posts;
+        this.storage = storage;
+        this.imageExecutor = imageExecutor;
+        this.tx = tx;
+        this.variantWidths = Arrays.stream(variantWidths).sorted().distinct().toArray();
+        this.maxUploadBytes = maxUploadBytes;
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+    }
+
+    // ===============================
+    // Upload (store original now, variants in the background)
+    // ===============================
+    @Override
+    public HeroImageResponse upload(Long postId, MultipartFile file) {
+        byte[] bytes = readUpload(file);
+        ImageResizer.ImageInfo info;
+        try {
+            info = ImageResizer.probe(bytes, maxPixels);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidImageException(ex.getMessage());
+        }
+
+        // 1) Content-addressed original (identical re-uploads reuse the same file)
+        String sha256 = sha256(bytes);
+        String originalPath = storage.originalPath(sha256, info.extension());
+        storage.write(originalPath, bytes);
+
+        // 2) Replace any previous hero's rows with the new original
+        images.deleteByPostId(postId);
+        PostImageEntity original = new PostImageEntity();
+        original.setPostId(postId);
+        original.setSha256(sha256);
+        original.setVariant(PostImageEntity.ORIGINAL);
+        original.setPath(originalPath);
+        original.setContentType(info.contentType());
+        original.setWidth(info.width());
+        original.setHeight(info.height());
+        original.setBytes((long) bytes.length);
+        images.save(original);
+
+        // 3) Point the post at it last: the embedded post log is not transactional, so nothing may fail after
+        //    it (404s if the post is missing, rolling the rows back; also refreshes post caches after commit)
+        PostUpdateRequest update = new PostUpdateRequest();
+        update.setHeroImage(storage.url(originalPath));
+        posts.update(postId, update);
+
+        // 4) Resizing is CPU-heavy: hand it to the bounded image executor once the rows are visible
+        boolean processing = Arrays.stream(variantWidths).anyMatch(w -> w < info.width());
+        if (processing) {
+            afterCommit(() -> imageExecutor.execute(
+                    () -> generateVariants(postId, sha256, originalPath, info.width())));
+        }
+        return toResponse(postId, List.of(original), processing);
+    }
+
+    // ===============================
+    // Read
+    // ===============================
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<HeroImageResponse> get(Long postId) {
+        List<PostImageEntity> rows = images.findByPostId(postId);
+        if (rows.isEmpty() || !rows.get(0).isOriginal()) {
+            return Optional.empty();
+        }
+        int expected = (int) Arrays.stream(variantWidths).filter(w -> w < rows.get(0).getWidth()).count();
+        return Optional.of(toResponse(postId, rows, rows.size() - 1 < expected));
+    }
+
+    // ===============================
+    // Variant generation (runs on imageExecutor, outside any request)
+    // ===============================
+    void generateVariants(Long postId, String sha256, String originalPath, int originalWidth) {
+        try {
+            BufferedImage source = ImageResizer.decode(storage.read(originalPath));
+            for (int width : variantWidths) {
+                if (width >= originalWidth) break;
+                String path = storage.variantPath(sha256, width);
+                ImageResizer.Encoded encoded = ImageResizer.resizeToJpeg(source, width, jpegQuality);
+                storage.write(path, encoded.bytes());
+                tx.executeWithoutResult(status -> {
+                    // Skip if the hero was replaced (or the post deleted) while we were resizing
+                    if (!images.isCurrentOriginal(postId, sha256)) return;
+                    PostImageEntity variant = new PostImageEntity();
+                    variant.setPostId(postId);
+                    variant.setSha256(sha256);
+                    variant.setVariant("w" + width);
+                    variant.setPath(path);
+                    variant.setContentType("image/jpeg");
+                    variant.setWidth(encoded.width());
+                    variant.setHeight(encoded.height());
+                    variant.setBytes((long) encoded.bytes().length);
+                    images.save(variant);
+                });
+            }
+        } catch (RuntimeException ex) {
+            // The original keeps working on its own; a re-upload retries generation
+            log.warn("Hero image variants failed for post {} ({})", postId, sha256, ex);
+        }
+    }
+
+    // ===============================
+    // Helpers
+    // ===============================
+    private HeroImageResponse toResponse(Long postId, List<PostImageEntity> rows, boolean processing) {
+        List<HeroImageVariant> all = rows.stream()
+                .map(i -> new HeroImageVariant(storage.url(i.getPath()), i.getWidth(), i.getHeight()))
+                .toList();
+        HeroImageVariant original = all.get(0);
+        List<HeroImageVariant> variants = all.subList(1, all.size());
+        String srcset = all.stream()
+                .sorted((a, b) -> Integer.compare(a.getWidth(), b.getWidth()))
+                .map(v -> v.getUrl() + " " + v.getWidth() + "w")
+                .collect(Collectors.joining(", "));
+        return new HeroImageResponse(postId, original, variants, srcset, processing);
+    }
+
+    private byte[] readUpload(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidImageException("No file uploaded");
+        }
+        if (file.getSize() > maxUploadBytes) {
+            throw new InvalidImageException("Image larger than " + maxUploadBytes + " bytes");
+        }
+        try {
+            return file.getBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read upload", e);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        // Outside a transaction (e.g. unit tests) just run immediately
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // ===============================
+    // Domain exceptions
+    // ===============================
+    public static class InvalidImageException extends RuntimeException {
+        public InvalidImageException(String message) { super(message); }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.joshuahale.backend.media.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Local-disk, content-addressed media store:
+ *   originals/&lt;sha256&gt;.&lt;ext&gt;      the uploaded bytes, untouched
+ *   variants/&lt;sha256&gt;-w&lt;width&gt;.jpg  resized re-encodes
+ * A name is derived from the content, so files are written once and never change.
+ */
+@Component
+public class MediaStorage {
+
+    public static final String ORIGINALS = "originals";
+    public static final String VARIANTS = "variants";
+
+    private static final Pattern ORIGINAL_NAME = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|bmp)");
+    private static final Pattern VARIANT_NAME = Pattern.compile("[0-9a-f]{64}-w\\d{1,5}\\.jpg");
+
+    private final Path root;
+    private final String publicPath;
+
+    public MediaStorage(@Value("${media.root:./media}") String root,
+                        @Value("${media.public-path:/media}") String publicPath) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.publicPath = publicPath.endsWith("/") ? publicPath.substring(0, publicPath.length() - 1) : publicPath;
+    }
+
+    public String originalPath(String sha256, String extension) {
+        return ORIGINALS + "/" + sha256 + "." + extension;
+    }
+
+    public String variantPath(String sha256, int width) {
+        return VARIANTS + "/" + sha256 + "-w" + width + ".jpg";
+    }
+
+    public String url(String relativePath) {
+        return publicPath + "/" + relativePath;
+    }
+
+    public boolean exists(String relativePath) {
+        return Files.isRegularFile(root.resolve(relativePath));
+    }
+
+    public byte[] read(String relativePath) {
+        try {
+            return Files.readAllBytes(root.resolve(relativePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read media file " + relativePath, e);
+        }
+    }
+
+    /** Write once: content-addressed, so an existing file already holds exactly these bytes. */
+    public void write(String relativePath, byte[] bytes) {
+        Path target = root.resolve(relativePath);
+        if (Files.isRegularFile(target)) return;
+        try {
+            Files.createDirectories(target.getParent());
+            // Write beside the target, then rename, so readers never see a partial file
+            Path tmp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.write(tmp, bytes);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write media file " + relativePath, e);
+        }
+    }
+
+    /**
+     * Map a public /media/{kind}/{name} request onto a file. Names are matched against the exact
+     * shapes this store writes, so nothing outside the media root can ever be addressed.
+     */
+    public Optional<Path> resolve(String kind, String name) {
+        boolean valid = (ORIGINALS.equals(kind) && ORIGINAL_NAME.matcher(name).matches())
+                || (VARIANTS.equals(kind) && VARIANT_NAME.matcher(name).matches());
+        if (!valid) return Optional.empty();
+        Path file = root.resolve(kind).resolve(name);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+}
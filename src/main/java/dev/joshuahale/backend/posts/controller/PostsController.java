@@ -1,16 +1,22 @@
 package dev.joshuahale.backend.posts.controller;
 
+import dev.joshuahale.backend.posts.dto.PostBatchResponse;
+import dev.joshuahale.backend.posts.dto.PostFields;
 import dev.joshuahale.backend.posts.dto.PostRequest;
 import dev.joshuahale.backend.posts.dto.PostUpdateRequest;
 import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
 import dev.joshuahale.backend.posts.service.PostsService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -29,18 +35,67 @@ public class PostsController {
         return service.listAllOrdered();
     }
 
+    // Sparse listing, e.g. ?fields=title,slug,createdAt (content is never loaded unless asked for)
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listAllOrdered(@RequestParam String fields) {
+        PostFields selected = parseFields(fields);
+        return service.listAllOrdered(selected).stream().map(selected::toMap).toList();
+    }
+
+    // As-you-type title suggestions, newest first (served from the in-memory index)
+    @GetMapping("/suggest")
+    public List<PostSuggestion> suggest(@RequestParam String prefix,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        return service.suggest(prefix, limit);
+    }
+
+    // Multi-get for "featured"/"read next" blocks: /api/posts/batch?ids=1,2&slugs=a,b
+    @GetMapping("/batch")
+    public PostBatchResponse getBatch(@RequestParam(required = false) List<Long> ids,
+                                      @RequestParam(required = false) List<String> slugs) {
+        checkBatchRequest(ids, slugs);
+        return service.getBatch(ids, slugs);
+    }
+
+    @GetMapping(value = "/batch", params = "fields")
+    public Map<String, Object> getBatch(@RequestParam(required = false) List<Long> ids,
+                                        @RequestParam(required = false) List<String> slugs,
+                                        @RequestParam String fields) {
+        checkBatchRequest(ids, slugs);
+        PostFields selected = parseFields(fields);
+        PostBatchResponse batch = service.getBatch(ids, slugs, selected);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("posts", batch.getPosts().stream().map(selected::toMap).toList());
+        body.put("missingIds", batch.getMissingIds());
+        body.put("missingSlugs", batch.getMissingSlugs());
+        return body;
+    }
+
     // Get by numeric ID
     @GetMapping("/{id}")
     public PostResponse getById(@PathVariable Long id) {
         return service.getById(id);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> getById(@PathVariable Long id, @RequestParam String fields) {
+        PostFields selected = parseFields(fields);
+        return selected.toMap(service.getById(id, selected));
+    }
+
     // Get by slug
     @GetMapping("/slug/{slug}")
     public PostResponse getBySlug(@PathVariable String slug) {
         return service.getBySlug(slug);
     }
 
+    @GetMapping(value = "/slug/{slug}", params = "fields")
+    public Map<String, Object> getBySlug(@PathVariable String slug, @RequestParam String fields) {
+        PostFields selected = parseFields(fields);
+        return selected.toMap(service.getBySlug(slug, selected));
+    }
+
     // Create a post
     @PostMapping
     public ResponseEntity<PostResponse> create(@Valid @RequestBody PostRequest request) {
@@ -65,4 +120,25 @@ public class PostsController {
     public void delete(@PathVariable Long id) {
         service.delete(id);
     }
-}
\ No newline at end of file
+
+    // Unknown or oversized field lists are a client error; an empty list means every field
+    private PostFields parseFields(String fields) {
+        try {
+            PostFields selected = PostFields.parse(fields);
+            return selected != null ? selected : PostFields.all();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private void checkBatchRequest(List<Long> ids, List<String> slugs) {
+        int requested = (ids == null ? 0 : ids.size()) + (slugs == null ? 0 : slugs.size());
+        if (requested == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide at least one id or slug");
+        }
+        if (requested > PostsService.MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + PostsService.MAX_BATCH_SIZE + " ids and slugs per batch");
+        }
+    }
+}
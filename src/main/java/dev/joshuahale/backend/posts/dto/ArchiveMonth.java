@@ -0,0 +1,23 @@
+package dev.joshuahale.backend.posts.dto;
+
+public class ArchiveMonth {
+
+    private int year;
+
+    // 1-12
+    private int month;
+
+    private long count;
+
+    public ArchiveMonth(Integer year, Integer month, Long count) {
+        this.year = year;
+        this.month = month;
+        this.count = count;
+    }
+
+    public int getYear() { return year; }
+
+    public int getMonth() { return month; }
+
+    public long getCount() { return count; }
+}
@@ -0,0 +1,25 @@
+package dev.joshuahale.backend.posts.dto;
+
+import java.util.List;
+
+public class PostBatchResponse {
+
+    // Found posts, in the order their keys were requested (ids first, then slugs)
+    private List<PostResponse> posts;
+
+    // Requested keys with no matching post, so callers don't have to diff the result themselves
+    private List<Long> missingIds;
+    private List<String> missingSlugs;
+
+    public PostBatchResponse(List<PostResponse> posts, List<Long> missingIds, List<String> missingSlugs) {
+        this.posts = posts;
+        this.missingIds = missingIds;
+        this.missingSlugs = missingSlugs;
+    }
+
+    public List<PostResponse> getPosts() { return posts; }
+
+    public List<Long> getMissingIds() { return missingIds; }
+
+    public List<String> getMissingSlugs() { return missingSlugs; }
+}
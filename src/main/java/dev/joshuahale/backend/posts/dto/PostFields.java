@@ -0,0 +1,117 @@
+package dev.joshuahale.backend.posts.dto;
+
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Whitelisted sparse fieldset for posts reads (?fields=title,slug,createdAt).
+ *
+ * The same selection drives the JPQL projection (unselected columns such as content are never read)
+ * and the JSON shape (unselected properties are omitted rather than sent as null).
+ */
+public final class PostFields {
+
+    public enum Field {
+        ID("id", PostResponse::getId, (r, v) -> r.setId((Long) v)),
+        TITLE("title", PostResponse::getTitle, (r, v) -> r.setTitle((String) v)),
+        SLUG("slug", PostResponse::getSlug, (r, v) -> r.setSlug((String) v)),
+        CONTENT("content", PostResponse::getContent, (r, v) -> r.setContent((String) v)),
+        HERO_IMAGE("heroImage", PostResponse::getHeroImage, (r, v) -> r.setHeroImage((String) v)),
+        CREATED_AT("createdAt", PostResponse::getCreatedAt, (r, v) -> r.setCreatedAt((OffsetDateTime) v)),
+        UPDATED_AT("updatedAt", PostResponse::getUpdatedAt, (r, v) -> r.setUpdatedAt((OffsetDateTime) v));
+
+        private final String property;
+        private final Function<PostResponse, Object> getter;
+        private final BiConsumer<PostResponse, Object> setter;
+
+        Field(String property, Function<PostResponse, Object> getter, BiConsumer<PostResponse, Object> setter) {
+            this.property = property;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        // JSON property name; also the PostsEntity attribute name, so it doubles as the JPQL path
+        public String property() { return property; }
+
+        public Object get(PostResponse r) { return getter.apply(r); }
+
+        public void set(PostResponse r, Object value) { setter.accept(r, value); }
+    }
+
+    // Guards against abuse via huge or repeated field lists
+    private static final int MAX_PARAM_LENGTH = 200;
+
+    private static final Map<String, Field> BY_NAME = new LinkedHashMap<>();
+    static {
+        for (Field f : Field.values()) {
+            BY_NAME.put(f.property.toLowerCase(Locale.ROOT), f);
+        }
+    }
+
+    private final EnumSet<Field> fields;
+
+    private PostFields(EnumSet<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parse a comma-separated fields parameter. Returns null when absent (meaning "full response").
+     * The id is always included so clients can key results. Unknown names are rejected.
+     */
+    public static PostFields parse(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        if (raw.length() > MAX_PARAM_LENGTH) {
+            throw new IllegalArgumentException("fields parameter too long");
+        }
+        EnumSet<Field> selected = EnumSet.of(Field.ID);
+        for (String part : raw.split(",")) {
+            String name = part.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) continue;
+            Field f = BY_NAME.get(name);
+            if (f == null) {
+                throw new IllegalArgumentException("Unknown field '" + part.trim() + "'; allowed: " + allowedNames());
+            }
+            selected.add(f);
+        }
+        return new PostFields(selected);
+    }
+
+    public static PostFields all() {
+        return new PostFields(EnumSet.allOf(Field.class));
+    }
+
+    public static String allowedNames() {
+        return String.join(",", BY_NAME.values().stream().map(Field::property).toList());
+    }
+
+    public Set<Field> fields() {
+        return EnumSet.copyOf(fields);
+    }
+
+    public boolean includes(Field f) {
+        return fields.contains(f);
+    }
+
+    /** Same selection plus fields needed internally; keep using the original selection for toMap. */
+    public PostFields with(Field... extra) {
+        EnumSet<Field> copy = EnumSet.copyOf(fields);
+        copy.addAll(List.of(extra));
+        return new PostFields(copy);
+    }
+
+    /** JSON shape with only the selected properties, in a stable order. */
+    public Map<String, Object> toMap(PostResponse r) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (Field f : fields) {
+            out.put(f.property, f.get(r));
+        }
+        return out;
+    }
+}
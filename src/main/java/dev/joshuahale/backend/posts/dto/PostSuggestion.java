@@ -0,0 +1,27 @@
+package dev.joshuahale.backend.posts.dto;
+
+import java.time.OffsetDateTime;
+
+public class PostSuggestion {
+
+    private Long id;
+    private String title;
+    private String slug;
+    private OffsetDateTime createdAt;
+
+    // Also used as a JPQL constructor expression (select new ...PostSuggestion(...))
+    public PostSuggestion(Long id, String title, String slug, OffsetDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getSlug() { return slug; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+}
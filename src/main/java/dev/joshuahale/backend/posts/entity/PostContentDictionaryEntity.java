@@ -0,0 +1,41 @@
+package dev.joshuahale.backend.posts.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "post_content_dictionaries")
+public class PostContentDictionaryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // Preset deflate dictionary trained on the post corpus (<= 32 KiB)
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] dictionary;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public byte[] getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(byte[] dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
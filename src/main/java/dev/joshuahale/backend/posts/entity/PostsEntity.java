@@ -17,9 +17,16 @@ public class PostsEntity {
     @Column(nullable = false, unique = true, length = 200)
     private String slug;
 
-    @Column(nullable = false, columnDefinition = "text")
+    // Plain body; null when the row is stored compressed (see PostContentCodec)
+    @Column(columnDefinition = "text")
     private String content;
 
+    @Column(name = "content_deflated", columnDefinition = "bytea")
+    private byte[] contentDeflated;
+
+    @Column(name = "content_dict_id")
+    private Integer contentDictId;
+
     @Column(name = "hero_image", length = 500)
     private String heroImage;
 
@@ -44,6 +51,11 @@ public class PostsEntity {
         return id;
     }
 
+    // Identity and timestamps are assigned by JPA; only stores outside Hibernate (embedded log) set them
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -68,6 +80,22 @@ public class PostsEntity {
         this.content = content;
     }
 
+    public byte[] getContentDeflated() {
+        return contentDeflated;
+    }
+
+    public void setContentDeflated(byte[] contentDeflated) {
+        this.contentDeflated = contentDeflated;
+    }
+
+    public Integer getContentDictId() {
+        return contentDictId;
+    }
+
+    public void setContentDictId(Integer contentDictId) {
+        this.contentDictId = contentDictId;
+    }
+
     public String getHeroImage() {
         return heroImage;
     }
@@ -80,9 +108,17 @@ public class PostsEntity {
         return createdAt;
     }
 
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
     public OffsetDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
 
 
@@ -0,0 +1,328 @@
+package dev.joshuahale.backend.posts.repository;
+
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+import dev.joshuahale.backend.posts.dto.PostFields;
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Posts without a database, for small single-node deployments (spring.profiles.active=embedded).
+ *
+ * Posts live in a PostLog (append-only, checksummed, memory-mapped). Small per-post metadata is kept on
+ * the heap (slug -> id, a newest-first ordering, titles for suggestions), so lookups and listings never
+ * scan the file; bodies are decoded from the mapping only when a read actually needs them.
+ * Once dead records (overwritten or deleted posts) pass both thresholds, the log is compacted on the
+ * background executor.
+ *
+ * Writes apply immediately rather than at commit, and slug uniqueness is enforced here instead of by a
+ * constraint; both match what PostsServiceImpl already expects from the JPA store.
+ */
+@Repository
+@Profile("embedded")
+public class EmbeddedPostsRepository implements PostsRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedPostsRepository.class);
+
+    private static final Comparator<Meta> NEWEST_FIRST = Comparator
+            .comparing(Meta::createdAt).reversed()
+            .thenComparing(Comparator.comparingLong(Meta::id).reversed());
+
+    private final PostLog postLog;
+    private final Executor backgroundExecutor;
+    private final long compactMinDeadBytes;
+    private final double compactDeadRatio;
+
+    // In-memory index; written under "this", read lock-free
+    private final Map<Long, Meta> byId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsBySlug = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Meta> ordered = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    public EmbeddedPostsRepository(@Value("${posts.embedded.path:./data/posts.log}") Path path,
+                                   @Value("${posts.embedded.initial-size:16MB}") DataSize initialSize,
+                                   @Value("${posts.embedded.fsync:true}") boolean fsync,
+                                   @Value("${posts.embedded.compaction.min-dead-size:4MB}") DataSize compactMinDead,
+                                   @Value("${posts.embedded.compaction.dead-ratio:0.5}") double compactDeadRatio,
+                                   @Qualifier("backgroundExecutor") Executor backgroundExecutor) {
+        this.postLog = PostLog.open(path, (int) Math.min(initialSize.toBytes(), Integer.MAX_VALUE), fsync);
+        this.backgroundExecutor = backgroundExecutor;
+        this.compactMinDeadBytes = compactMinDead.toBytes();
+        this.compactDeadRatio = compactDeadRatio;
+        for (Long id : postLog.ids()) {
+            PostsEntity e = postLog.read(id);
+            if (e != null) index(e);
+        }
+        // Includes deleted posts: their ids stay retired (cached URLs, ETags, invalidations on other nodes)
+        lastId.accumulateAndGet(postLog.maxId(), Math::max);
+        log.info("Embedded post log {} opened: {} posts, {} bytes ({} reclaimable)",
+                path, byId.size(), postLog.sizeBytes(), postLog.deadBytes());
+        maybeCompact();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        postLog.close();
+    }
+
+    // ===============================
+    // Writes
+    // ===============================
+    @Override
+    public synchronized PostsEntity save(PostsEntity post) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Meta previous = post.getId() == null ? null : byId.get(post.getId());
+        Long owner = idsBySlug.get(post.getSlug());
+        if (owner != null && !owner.equals(post.getId())) {
+            throw new DuplicateKeyException("Slug already stored: " + post.getSlug());
+        }
+
+        if (post.getId() == null) {
+            post.setId(lastId.incrementAndGet());
+        } else {
+            lastId.accumulateAndGet(post.getId(), Math::max);
+        }
+        if (post.getCreatedAt() == null) {
+            post.setCreatedAt(previous != null ? previous.createdAt() : now);
+        }
+        post.setUpdatedAt(now);
+
+        postLog.put(post);
+        if (previous != null) unindex(previous);
+        index(post);
+        maybeCompact();
+        return post;
+    }
+
+    @Override
+    public synchronized boolean deleteById(Long id) {
+        Meta meta = byId.get(id);
+        if (meta == null) return false;
+        postLog.delete(id);
+        unindex(meta);
+        maybeCompact();
+        return true;
+    }
+
+    @Override
+    public synchronized int storeCompressed(Long id, String original, byte[] deflated, Integer dictId) {
+        PostsEntity e = byId.containsKey(id) ? postLog.read(id) : null;
+        // Under the lock save() takes: a body edited since the compactor read it is left alone
+        if (e == null || e.getContentDeflated() != null || !original.equals(e.getContent())) return 0;
+        // Same record, different body encoding: updatedAt is deliberately left alone
+        e.setContent(null);
+        e.setContentDeflated(deflated);
+        e.setContentDictId(dictId);
+        postLog.put(e);
+        maybeCompact();
+        return 1;
+    }
+
+    // ===============================
+    // Single reads
+    // ===============================
+    @Override
+    public Optional<PostsEntity> findById(Long id) {
+        return Optional.ofNullable(postLog.read(id));
+    }
+
+    @Override
+    public Optional<PostsEntity> findBySlug(String slug) {
+        Long id = idsBySlug.get(slug);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public boolean existsBySlug(String slug) {
+        return idsBySlug.containsKey(slug);
+    }
+
+    // ===============================
+    // Listings (ordering and suggestions come from the heap index)
+    // ===============================
+    @Override
+    public List<PostsEntity> listAllOrdered() {
+        return newestFirst().toList();
+    }
+
+    @Override
+    public List<PostSuggestion> listSuggestionEntries() {
+        return byId.values().stream()
+                .map(m -> new PostSuggestion(m.id(), m.title(), m.slug(), m.createdAt()))
+                .toList();
+    }
+
+    @Override
+    public List<PostsEntity> findAllByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs) {
+        Set<Long> keys = new LinkedHashSet<>();
+        if (ids != null) keys.addAll(ids);
+        if (slugs != null) {
+            for (String slug : slugs) {
+                Long id = idsBySlug.get(slug);
+                if (id != null) keys.add(id);
+            }
+        }
+        return keys.stream().map(postLog::read).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<ArchiveMonth> countByMonth() {
+        Map<YearMonth, Long> counts = new LinkedHashMap<>();
+        for (Meta m : ordered) {
+            counts.merge(YearMonth.from(m.createdAt().atZoneSameInstant(ZoneOffset.UTC)), 1L, Long::sum);
+        }
+        List<ArchiveMonth> months = new ArrayList<>(counts.size());
+        counts.forEach((ym, n) -> months.add(new ArchiveMonth(ym.getYear(), ym.getMonthValue(), n)));
+        return months;
+    }
+
+    // ===============================
+    // Sparse projections (built from the decoded record; only selected properties are set)
+    // ===============================
+    @Override
+    public Optional<ProjectedPost> findProjectedById(Long id, PostFields fields) {
+        return findById(id).map(e -> project(e, fields));
+    }
+
+    @Override
+    public Optional<ProjectedPost> findProjectedBySlug(String slug, PostFields fields) {
+        return findBySlug(slug).map(e -> project(e, fields));
+    }
+
+    @Override
+    public List<ProjectedPost> listAllOrderedProjected(PostFields fields) {
+        return newestFirst().map(e -> project(e, fields)).toList();
+    }
+
+    @Override
+    public List<ProjectedPost> listLatestProjected(PostFields fields, int limit) {
+        Stream<PostsEntity> rows = newestFirst();
+        if (limit > 0) rows = rows.limit(limit);
+        return rows.map(e -> project(e, fields)).toList();
+    }
+
+    @Override
+    public List<ProjectedPost> findProjectedByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs, PostFields fields) {
+        return findAllByIdsOrSlugs(ids, slugs).stream().map(e -> project(e, fields)).toList();
+    }
+
+    private static ProjectedPost project(PostsEntity e, PostFields fields) {
+        PostResponse r = new PostResponse();
+        for (PostFields.Field f : fields.fields()) {
+            f.set(r, switch (f) {
+                case ID -> e.getId();
+                case TITLE -> e.getTitle();
+                case SLUG -> e.getSlug();
+                case CONTENT -> e.getContent();
+                case HERO_IMAGE -> e.getHeroImage();
+                case CREATED_AT -> e.getCreatedAt();
+                case UPDATED_AT -> e.getUpdatedAt();
+            });
+        }
+        return fields.includes(PostFields.Field.CONTENT)
+                ? new ProjectedPost(r, e.getContentDeflated(), e.getContentDictId())
+                : new ProjectedPost(r, null, null);
+    }
+
+    // ===============================
+    // Compressed-storage housekeeping
+    // ===============================
+    @Override
+    public List<String> samplePlainContent(int limit) {
+        return newestFirst()
+                .map(PostsEntity::getContent)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Object[]> findPlainBodiesForCompression(int minLength, long afterId, int limit) {
+        return byId.keySet().stream()
+                .filter(id -> id > afterId)
+                .sorted()
+                .map(postLog::read)
+                .filter(e -> e != null && e.getContentDeflated() == null
+                        && e.getContent() != null && e.getContent().length() >= minLength)
+                .limit(limit)
+                .map(e -> new Object[] { e.getId(), e.getContent() })
+                .toList();
+    }
+
+    // ===============================
+    // Index + compaction helpers
+    // ===============================
+    private Stream<PostsEntity> newestFirst() {
+        return ordered.stream().map(m -> postLog.read(m.id())).filter(Objects::nonNull);
+    }
+
+    private void index(PostsEntity e) {
+        Meta meta = new Meta(e.getId(), e.getSlug(), e.getTitle(), e.getCreatedAt());
+        byId.put(meta.id(), meta);
+        idsBySlug.put(meta.slug(), meta.id());
+        ordered.add(meta);
+        lastId.accumulateAndGet(meta.id(), Math::max);
+    }
+
+    private void unindex(Meta meta) {
+        byId.remove(meta.id());
+        idsBySlug.remove(meta.slug(), meta.id());
+        ordered.remove(meta);
+    }
+
+    private void maybeCompact() {
+        long dead = postLog.deadBytes();
+        if (dead < compactMinDeadBytes || dead < postLog.sizeBytes() * compactDeadRatio) return;
+        if (!compacting.compareAndSet(false, true)) return;
+        try {
+            backgroundExecutor.execute(() -> {
+                try {
+                    long reclaimed = postLog.compact();
+                    log.info("Compacted embedded post log: reclaimed {} bytes", reclaimed);
+                } catch (RuntimeException ex) {
+                    log.warn("Embedded post log compaction failed", ex);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            compacting.set(false);   // queue full; the next write tries again
+        }
+    }
+
+    // Heap-resident part of a post: enough to order, list suggestions and resolve slugs without the file
+    private record Meta(long id, String slug, String title, OffsetDateTime createdAt) { }
+}
@@ -0,0 +1,101 @@
+package dev.joshuahale.backend.posts.repository;
+
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.repository.PostsRepository.ProjectedPost;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads posts with plain prepared statements: no entity instances, no persistence-context snapshots,
+ * no dirty checking. Each row is mapped by column index straight into the response.
+ *
+ * Runs on the same connection as the surrounding JPA transaction (JpaTransactionManager exposes it to
+ * JDBC), and sets a fetch size so PostgreSQL streams the list through a cursor instead of
+ * materializing every row in the driver first.
+ */
+@Repository
+@Transactional(readOnly = true)
+@ConditionalOnProperty(name = "posts.read-path", havingValue = "jdbc")
+@Profile("!embedded")   // the embedded store has no posts table to query
+public class JdbcPostsReader implements PostsReader {
+
+    // Order matters: mapRow reads by index
+    private static final String SELECT = """
+        select id, title, slug, content, hero_image, created_at, updated_at, content_deflated, content_dict_id
+        from posts
+        """;
+
+    private final JdbcClient jdbc;
+
+    public JdbcPostsReader(DataSource dataSource, @Value("${posts.jdbc.fetch-size:100}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbc = JdbcClient.create(template);
+    }
+
+    @Override
+    public Optional<ProjectedPost> findById(Long id) {
+        return jdbc.sql(SELECT + "where id = ?")
+                .param(id)
+                .query(JdbcPostsReader::mapRow)
+                .optional();
+    }
+
+    @Override
+    public Optional<ProjectedPost> findBySlug(String slug) {
+        return jdbc.sql(SELECT + "where slug = ?")
+                .param(slug)
+                .query(JdbcPostsReader::mapRow)
+                .optional();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<ProjectedPost> streamAllOrdered() {
+        return jdbc.sql(SELECT + "order by created_at desc, id desc")
+                .query(JdbcPostsReader::mapRow)
+                .stream();
+    }
+
+    @Override
+    public List<ProjectedPost> findAllByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean bySlugs = slugs != null && !slugs.isEmpty();
+        if (!byIds && !bySlugs) return List.of();
+
+        String where = byIds && bySlugs ? "where id in (:ids) or slug in (:slugs)"
+                : byIds ? "where id in (:ids)"
+                : "where slug in (:slugs)";
+        JdbcClient.StatementSpec spec = jdbc.sql(SELECT + where);
+        if (byIds) spec = spec.param("ids", ids);
+        if (bySlugs) spec = spec.param("slugs", slugs);
+        return spec.query(JdbcPostsReader::mapRow).list();
+    }
+
+    private static ProjectedPost mapRow(ResultSet rs, int rowNum) throws SQLException {
+        PostResponse r = new PostResponse();
+        r.setId(rs.getLong(1));
+        r.setTitle(rs.getString(2));
+        r.setSlug(rs.getString(3));
+        r.setContent(rs.getString(4));
+        r.setHeroImage(rs.getString(5));
+        r.setCreatedAt(rs.getObject(6, OffsetDateTime.class));
+        r.setUpdatedAt(rs.getObject(7, OffsetDateTime.class));
+        return new ProjectedPost(r, rs.getBytes(8), rs.getObject(9, Integer.class));
+    }
+}
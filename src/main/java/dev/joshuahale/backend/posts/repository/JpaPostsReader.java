@@ -0,0 +1,59 @@
+package dev.joshuahale.backend.posts.repository;
+
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import dev.joshuahale.backend.posts.repository.PostsRepository.ProjectedPost;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+@Transactional(readOnly = true)
+@ConditionalOnProperty(name = "posts.read-path", havingValue = "jpa", matchIfMissing = true)
+public class JpaPostsReader implements PostsReader {
+
+    private final PostsRepository repo;
+
+    public JpaPostsReader(PostsRepository repo) {
+        this.repo = repo;
+    }
+
+    @Override
+    public Optional<ProjectedPost> findById(Long id) {
+        return repo.findById(id).map(JpaPostsReader::toRow);
+    }
+
+    @Override
+    public Optional<ProjectedPost> findBySlug(String slug) {
+        return repo.findBySlug(slug).map(JpaPostsReader::toRow);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<ProjectedPost> streamAllOrdered() {
+        return repo.listAllOrdered().stream().map(JpaPostsReader::toRow);
+    }
+
+    @Override
+    public List<ProjectedPost> findAllByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs) {
+        return repo.findAllByIdsOrSlugs(ids, slugs).stream().map(JpaPostsReader::toRow).toList();
+    }
+
+    private static ProjectedPost toRow(PostsEntity e) {
+        PostResponse r = new PostResponse();
+        r.setId(e.getId());
+        r.setTitle(e.getTitle());
+        r.setSlug(e.getSlug());
+        r.setContent(e.getContent());
+        r.setHeroImage(e.getHeroImage());
+        r.setCreatedAt(e.getCreatedAt());
+        r.setUpdatedAt(e.getUpdatedAt());
+        return new ProjectedPost(r, e.getContentDeflated(), e.getContentDictId());
+    }
+}
@@ -0,0 +1,256 @@
+package dev.joshuahale.backend.posts.repository;
+
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+import dev.joshuahale.backend.posts.dto.PostFields;
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@Transactional
+@Profile("!embedded")
+public class JpaPostsRepository implements PostsRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public PostsEntity save(PostsEntity post) {
+        if (post.getId() == null) {
+            em.persist(post);
+            return post;
+        } else {
+            return em.merge(post);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PostsEntity> findById(Long id) {
+        return Optional.ofNullable(em.find(PostsEntity.class, id));
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        PostsEntity managed = em.find(PostsEntity.class, id);
+        if (managed == null) return false;
+        em.remove(managed);
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PostsEntity> findBySlug(String slug) {
+        var query = em.createQuery("""
+        select p from PostsEntity p
+        where p.slug = :slug
+        """, PostsEntity.class);
+        return query.setParameter("slug", slug)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsBySlug(String slug) {
+        Long count = em.createQuery("""
+        select count(p) from PostsEntity p
+        where p.slug = :slug
+        """, Long.class)
+                .setParameter("slug", slug)
+                .getSingleResult();
+        return count > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostsEntity> listAllOrdered() {
+        return em.createQuery("""
+        select p from PostsEntity p
+        order by p.createdAt desc, p.id desc
+    """, PostsEntity.class).getResultList();
+    }
+
+    // Lightweight rows for the in-memory title index (skips the content column entirely)
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSuggestion> listSuggestionEntries() {
+        return em.createQuery("""
+        select new dev.joshuahale.backend.posts.dto.PostSuggestion(p.id, p.title, p.slug, p.createdAt)
+        from PostsEntity p
+    """, PostSuggestion.class).getResultList();
+    }
+
+    // Multi-get in a single round trip; either collection may be empty but not both
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostsEntity> findAllByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean bySlugs = slugs != null && !slugs.isEmpty();
+        if (!byIds && !bySlugs) return List.of();
+
+        String where = byIds && bySlugs ? "p.id in :ids or p.slug in :slugs"
+                : byIds ? "p.id in :ids"
+                : "p.slug in :slugs";
+        var query = em.createQuery("select p from PostsEntity p where " + where, PostsEntity.class);
+        if (byIds) query.setParameter("ids", ids);
+        if (bySlugs) query.setParameter("slugs", slugs);
+        return query.getResultList();
+    }
+
+    // ===============================
+    // Sparse projections (?fields=): only the selected columns are read
+    // ===============================
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProjectedPost> findProjectedById(Long id, PostFields fields) {
+        return selectProjected(fields, "p.id = :id", Map.of("id", id), false, 0).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProjectedPost> findProjectedBySlug(String slug, PostFields fields) {
+        return selectProjected(fields, "p.slug = :slug", Map.of("slug", slug), false, 0).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectedPost> listAllOrderedProjected(PostFields fields) {
+        return selectProjected(fields, null, Map.of(), true, 0);
+    }
+
+    // Newest N posts with only the requested columns (homepage/summary blocks)
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectedPost> listLatestProjected(PostFields fields, int limit) {
+        return selectProjected(fields, null, Map.of(), true, limit);
+    }
+
+    // Posts per calendar month (UTC), newest month first: drives the archive navigation.
+    // Native so the UTC conversion is explicit: JPQL year()/month() would use the session time zone,
+    // which pgjdbc sets from the JVM's default.
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<ArchiveMonth> countByMonth() {
+        List<Object[]> rows = em.createNativeQuery("""
+        select cast(extract(year from created_at at time zone 'UTC') as integer),
+               cast(extract(month from created_at at time zone 'UTC') as integer),
+               count(*)
+        from posts
+        group by 1, 2
+        order by 1 desc, 2 desc
+        """)
+                .getResultList();
+        return rows.stream()
+                .map(r -> new ArchiveMonth(((Number) r[0]).intValue(), ((Number) r[1]).intValue(), ((Number) r[2]).longValue()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectedPost> findProjectedByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs, PostFields fields) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean bySlugs = slugs != null && !slugs.isEmpty();
+        if (!byIds && !bySlugs) return List.of();
+
+        String where = byIds && bySlugs ? "p.id in :ids or p.slug in :slugs"
+                : byIds ? "p.id in :ids"
+                : "p.slug in :slugs";
+        Map<String, Object> params = byIds && bySlugs ? Map.of("ids", ids, "slugs", slugs)
+                : byIds ? Map.of("ids", ids)
+                : Map.of("slugs", slugs);
+        return selectProjected(fields, where, params, false, 0);
+    }
+
+    private List<ProjectedPost> selectProjected(PostFields fields, String where,
+                                                Map<String, Object> params, boolean ordered, int limit) {
+        // Field property names are fixed by the PostFields whitelist, so building the select list is safe
+        StringBuilder jpql = new StringBuilder("select ");
+        String sep = "";
+        for (PostFields.Field f : fields.fields()) {
+            jpql.append(sep).append("p.").append(f.property()).append(" as ").append(f.property());
+            sep = ", ";
+        }
+        boolean withContent = fields.includes(PostFields.Field.CONTENT);
+        if (withContent) {
+            // Compressed rows keep their body here instead; the service layer decodes it
+            jpql.append(", p.contentDeflated as contentDeflated, p.contentDictId as contentDictId");
+        }
+        jpql.append(" from PostsEntity p");
+        if (where != null) jpql.append(" where ").append(where);
+        if (ordered) jpql.append(" order by p.createdAt desc, p.id desc");
+
+        TypedQuery<Tuple> query = em.createQuery(jpql.toString(), Tuple.class);
+        params.forEach(query::setParameter);
+        if (limit > 0) query.setMaxResults(limit);
+
+        return query.getResultList().stream()
+                .map(t -> {
+                    PostResponse r = new PostResponse();
+                    for (PostFields.Field f : fields.fields()) {
+                        f.set(r, t.get(f.property()));
+                    }
+                    return withContent
+                            ? new ProjectedPost(r, t.get("contentDeflated", byte[].class), t.get("contentDictId", Integer.class))
+                            : new ProjectedPost(r, null, null);
+                })
+                .toList();
+    }
+
+    // ===============================
+    // Compressed-storage housekeeping (PostContentCompactor)
+    // ===============================
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> samplePlainContent(int limit) {
+        return em.createQuery("""
+        select p.content from PostsEntity p
+        where p.content is not null
+        order by p.createdAt desc
+        """, String.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Next batch of plain bodies long enough to be worth compressing, keyset-paginated by id
+    @Override
+    @Transactional(readOnly = true)
+    public List<Object[]> findPlainBodiesForCompression(int minLength, long afterId, int limit) {
+        return em.createQuery("""
+        select p.id, p.content from PostsEntity p
+        where p.contentDeflated is null and p.id > :afterId and length(p.content) >= :minLength
+        order by p.id
+        """, Object[].class)
+                .setParameter("afterId", afterId)
+                .setParameter("minLength", minLength)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Bulk update on purpose: bypasses @PreUpdate, so converting storage doesn't touch updatedAt
+    @Override
+    public int storeCompressed(Long id, String original, byte[] deflated, Integer dictId) {
+        return em.createQuery("""
+        update PostsEntity p
+        set p.content = null, p.contentDeflated = :deflated, p.contentDictId = :dictId
+        where p.id = :id and p.contentDeflated is null and p.content = :original
+        """)
+                .setParameter("original", original)
+                .setParameter("deflated", deflated)
+                .setParameter("dictId", dictId)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+}
\ No newline at end of file
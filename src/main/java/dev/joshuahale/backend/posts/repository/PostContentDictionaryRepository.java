@@ -0,0 +1,39 @@
+package dev.joshuahale.backend.posts.repository;
+
+import dev.joshuahale.backend.posts.entity.PostContentDictionaryEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+@Transactional
+public class PostContentDictionaryRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public PostContentDictionaryEntity save(PostContentDictionaryEntity dictionary) {
+        em.persist(dictionary);
+        return dictionary;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PostContentDictionaryEntity> findById(Integer id) {
+        return Optional.ofNullable(em.find(PostContentDictionaryEntity.class, id));
+    }
+
+    // Newest dictionary is the one used for new writes; older ones stay for decoding existing rows
+    @Transactional(readOnly = true)
+    public Optional<PostContentDictionaryEntity> findLatest() {
+        return em.createQuery("""
+        select d from PostContentDictionaryEntity d
+        order by d.id desc
+        """, PostContentDictionaryEntity.class)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+}
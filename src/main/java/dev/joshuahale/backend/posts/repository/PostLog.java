@@ -0,0 +1,374 @@
+package dev.joshuahale.backend.posts.repository;
+
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, checksummed post log in a memory-mapped file (the storage engine behind EmbeddedPostsRepository).
+ *
+ * Layout: [magic "PLOG"][version] followed by records of [payload length][crc32c of payload][payload].
+ * A payload is either PUT (the full post) or DELETE (a tombstone); the newest record for an id wins.
+ * Opening scans the file once to rebuild the id -> offset index; a torn or corrupt tail (crash mid-append)
+ * ends the scan and is wiped, so the log always resumes at the last intact record.
+ *
+ * Reads decode straight out of the mapping with absolute gets: no read syscalls, no locks, and never
+ * blocked by appends or compaction. Writes are serialized on this object. compact() copies the live
+ * records into a fresh file and swaps it in atomically; readers holding the old segment keep using it.
+ *
+ * maxId() is the highest id ever written, deleted posts included, so ids are never handed out twice.
+ * Compaction keeps the tombstone that carries it when no live record does.
+ */
+final class PostLog implements Closeable {
+
+    private static final int MAGIC = 0x504C4F47;   // "PLOG"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 2 * Integer.BYTES;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    // A single mapping is addressed with int offsets
+    private static final long MAX_BYTES = Integer.MAX_VALUE - 8;
+
+    private final Path path;
+    private final boolean fsync;
+    private final int initialBytes;
+
+    private volatile Segment segment;
+
+    private PostLog(Path path, int initialBytes, boolean fsync) {
+        this.path = path;
+        this.initialBytes = Math.max(initialBytes, 4096);
+        this.fsync = fsync;
+    }
+
+    static PostLog open(Path path, int initialBytes, boolean fsync) {
+        PostLog log = new PostLog(path, initialBytes, fsync);
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            log.segment = log.recover(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open post log " + path, e);
+        }
+        return log;
+    }
+
+    // ===============================
+    // Reads (lock-free, straight from the mapping)
+    // ===============================
+    Set<Long> ids() {
+        return segment.offsets.keySet();
+    }
+
+    PostsEntity read(long id) {
+        Segment s = segment;
+        Integer offset = s.offsets.get(id);
+        return offset == null ? null : decodePut(s.map, offset + RECORD_HEADER + 1);
+    }
+
+    long sizeBytes() {
+        return segment.writePos;
+    }
+
+    long deadBytes() {
+        return segment.deadBytes;
+    }
+
+    long maxId() {
+        return segment.maxId;
+    }
+
+    // ===============================
+    // Writes (serialized)
+    // ===============================
+    synchronized void put(PostsEntity e) {
+        append(segment, e.getId(), encodePut(e));
+    }
+
+    synchronized void delete(long id) {
+        append(segment, id, tombstone(id));
+    }
+
+    private void append(Segment s, long id, byte[] payload) {
+        int start = s.writePos;
+        int length = RECORD_HEADER + payload.length;
+        ensureCapacity(s, (long) start + length);
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        MappedByteBuffer map = s.map;
+        // Payload first, header last: a crash in between leaves a zero length, which recovery treats as the end
+        map.put(start + RECORD_HEADER, payload);
+        map.putInt(start + Integer.BYTES, (int) crc.getValue());
+        map.putInt(start, payload.length);
+        if (fsync) map.force(start, length);
+        s.writePos = start + length;
+
+        Integer previous = payload[0] == PUT ? s.offsets.put(id, start) : s.offsets.remove(id);
+        if (previous != null) s.deadBytes += recordLength(map, previous);
+        if (payload[0] == DELETE) s.deadBytes += length;   // tombstones only matter until the next compaction
+        s.maxId = Math.max(s.maxId, id);
+    }
+
+    private static byte[] tombstone(long id) {
+        return ByteBuffer.allocate(1 + Long.BYTES).put(DELETE).putLong(id).array();
+    }
+
+    private void ensureCapacity(Segment s, long needed) {
+        if (needed <= s.map.capacity()) return;
+        if (needed > MAX_BYTES) {
+            throw new IllegalStateException("Post log " + path + " is full (" + s.writePos + " bytes); compact or archive it");
+        }
+        long size = s.map.capacity();
+        while (size < needed) size = Math.min(size * 2, MAX_BYTES);
+        try {
+            // Mapping past the end grows the file; records already published stay where they were
+            s.map = s.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not grow post log " + path, e);
+        }
+    }
+
+    // ===============================
+    // Compaction
+    // ===============================
+    /** Rewrites only live records into a new file, then swaps it in. Returns the bytes reclaimed. */
+    synchronized long compact() {
+        Segment old = segment;
+        Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            Files.deleteIfExists(tmp);
+            long live = old.writePos - old.deadBytes;
+            Segment fresh = createSegment(tmp, Math.max(initialBytes, live + live / 4));
+            MappedByteBuffer src = old.map;
+            for (Map.Entry<Long, Integer> entry : old.offsets.entrySet()) {
+                int from = entry.getValue();
+                byte[] record = new byte[recordLength(src, from)];
+                src.get(from, record);
+                ensureCapacity(fresh, (long) fresh.writePos + record.length);
+                fresh.map.put(fresh.writePos, record);
+                fresh.offsets.put(entry.getKey(), fresh.writePos);
+                fresh.writePos += record.length;
+                fresh.maxId = Math.max(fresh.maxId, entry.getKey());
+            }
+            if (fresh.maxId < old.maxId) {
+                // The newest post was deleted: keep its tombstone, or the id would be reused after a restart.
+                // Not counted as dead, since compacting again could not drop it either
+                append(fresh, old.maxId, tombstone(old.maxId));
+                fresh.deadBytes = 0;
+            }
+            fresh.map.force();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segment = fresh;
+            // The old mapping stays valid for readers still holding it; it is released when collected
+            old.channel.close();
+            return old.writePos - fresh.writePos;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact post log " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        Segment s = segment;
+        s.map.force();
+        s.channel.close();
+    }
+
+    // ===============================
+    // Recovery
+    // ===============================
+    private Segment recover(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            Segment s = createSegment(file, initialBytes);
+            s.map.force();
+            return s;
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > MAX_BYTES) throw new IllegalStateException("Post log " + file + " exceeds " + MAX_BYTES + " bytes");
+        Segment s = new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, initialBytes)));
+        MappedByteBuffer map = s.map;
+        if (size < FILE_HEADER || map.getInt(0) != MAGIC || map.getInt(Integer.BYTES) != VERSION) {
+            channel.close();
+            throw new IllegalStateException(file + " is not a version " + VERSION + " post log");
+        }
+
+        int pos = FILE_HEADER;
+        CRC32C crc = new CRC32C();
+        while (pos + RECORD_HEADER < size) {
+            int length = map.getInt(pos);
+            if (length <= 0 || (long) pos + RECORD_HEADER + length > size) break;
+            crc.reset();
+            crc.update(map.slice(pos + RECORD_HEADER, length));
+            if ((int) crc.getValue() != map.getInt(pos + Integer.BYTES)) break;
+
+            byte type = map.get(pos + RECORD_HEADER);
+            long id = map.getLong(pos + RECORD_HEADER + 1);
+            Integer previous = type == PUT ? s.offsets.put(id, pos) : s.offsets.remove(id);
+            if (previous != null) s.deadBytes += recordLength(map, previous);
+            if (type == DELETE) s.deadBytes += RECORD_HEADER + length;
+            s.maxId = Math.max(s.maxId, id);
+            pos += RECORD_HEADER + length;
+        }
+        s.writePos = pos;
+
+        // Anything after the last intact record is a torn append; wipe it so it can never be re-read as data
+        if (pos + Integer.BYTES <= size && map.getInt(pos) != 0) {
+            byte[] zeros = new byte[8192];
+            for (int at = pos; at < size; at += zeros.length) {
+                map.put(at, zeros, 0, (int) Math.min(zeros.length, size - at));
+            }
+            map.force();
+        }
+        return s;
+    }
+
+    private static Segment createSegment(Path file, long bytes) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Segment s = new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(bytes, MAX_BYTES)));
+        s.map.putInt(0, MAGIC);
+        s.map.putInt(Integer.BYTES, VERSION);
+        s.writePos = FILE_HEADER;
+        return s;
+    }
+
+    private static int recordLength(MappedByteBuffer map, int offset) {
+        return RECORD_HEADER + map.getInt(offset);
+    }
+
+    // ===============================
+    // Record codec
+    // ===============================
+    private static byte[] encodePut(PostsEntity e) {
+        byte[] title = utf8(e.getTitle());
+        byte[] slug = utf8(e.getSlug());
+        byte[] content = utf8(e.getContent());
+        byte[] hero = utf8(e.getHeroImage());
+        byte[] deflated = e.getContentDeflated();
+        int size = 1 + Long.BYTES
+                + 2 * (Long.BYTES + Integer.BYTES)
+                + 5 * Integer.BYTES + len(title) + len(slug) + len(content) + len(hero) + len(deflated)
+                + 1 + Integer.BYTES;
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(PUT).putLong(e.getId());
+        putTime(out, e.getCreatedAt());
+        putTime(out, e.getUpdatedAt());
+        putBytes(out, title);
+        putBytes(out, slug);
+        putBytes(out, content);
+        putBytes(out, hero);
+        putBytes(out, deflated);
+        out.put((byte) (e.getContentDictId() == null ? 0 : 1)).putInt(e.getContentDictId() == null ? 0 : e.getContentDictId());
+        return out.array();
+    }
+
+    // pos points just past the type byte
+    private static PostsEntity decodePut(MappedByteBuffer map, int pos) {
+        Cursor in = new Cursor(map, pos);
+        PostsEntity e = new PostsEntity();
+        e.setId(in.getLong());
+        e.setCreatedAt(in.getTime());
+        e.setUpdatedAt(in.getTime());
+        e.setTitle(in.getString());
+        e.setSlug(in.getString());
+        e.setContent(in.getString());
+        e.setHeroImage(in.getString());
+        e.setContentDeflated(in.getBytes());
+        boolean hasDict = in.getByte() != 0;
+        int dictId = in.getInt();
+        e.setContentDictId(hasDict ? dictId : null);
+        return e;
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int len(byte[] b) {
+        return b == null ? 0 : b.length;
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] b) {
+        // -1 keeps null distinct from empty
+        out.putInt(b == null ? -1 : b.length);
+        if (b != null) out.put(b);
+    }
+
+    private static void putTime(ByteBuffer out, OffsetDateTime t) {
+        Instant i = t.toInstant();
+        out.putLong(i.getEpochSecond()).putInt(i.getNano());
+    }
+
+    // Absolute reads over the shared mapping, so concurrent readers never touch its position
+    private static final class Cursor {
+        private final MappedByteBuffer map;
+        private int pos;
+
+        Cursor(MappedByteBuffer map, int pos) {
+            this.map = map;
+            this.pos = pos;
+        }
+
+        byte getByte() { return map.get(pos++); }
+
+        int getInt() { int v = map.getInt(pos); pos += Integer.BYTES; return v; }
+
+        long getLong() { long v = map.getLong(pos); pos += Long.BYTES; return v; }
+
+        OffsetDateTime getTime() {
+            long seconds = getLong();
+            return Instant.ofEpochSecond(seconds, getInt()).atOffset(ZoneOffset.UTC);
+        }
+
+        byte[] getBytes() {
+            int n = getInt();
+            if (n < 0) return null;
+            byte[] b = new byte[n];
+            map.get(pos, b);
+            pos += n;
+            return b;
+        }
+
+        String getString() {
+            byte[] b = getBytes();
+            return b == null ? null : new String(b, StandardCharsets.UTF_8);
+        }
+    }
+
+    // One log file and its index; replaced wholesale by compaction
+    private static final class Segment {
+        final FileChannel channel;
+        final Map<Long, Integer> offsets = new ConcurrentHashMap<>();
+        volatile MappedByteBuffer map;
+        volatile int writePos;
+        volatile long deadBytes;
+        volatile long maxId;
+
+        Segment(FileChannel channel, MappedByteBuffer map) {
+            this.channel = channel;
+            this.map = map;
+        }
+    }
+}
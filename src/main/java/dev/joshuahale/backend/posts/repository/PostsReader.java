@@ -0,0 +1,27 @@
+package dev.joshuahale.backend.posts.repository;
+
+import dev.joshuahale.backend.posts.repository.PostsRepository.ProjectedPost;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read side for full post responses. Selected with posts.read-path:
+ *   jpa  (default) - entities through the EntityManager (JpaPostsReader)
+ *   jdbc           - plain prepared statements mapped straight into responses (JdbcPostsReader)
+ * Rows come back as ProjectedPost, so compressed bodies are decoded in one place (the service).
+ */
+public interface PostsReader {
+
+    Optional<ProjectedPost> findById(Long id);
+
+    Optional<ProjectedPost> findBySlug(String slug);
+
+    // Newest-first; must be consumed (and closed) inside the caller's transaction
+    Stream<ProjectedPost> streamAllOrdered();
+
+    // Either collection may be empty but not both
+    List<ProjectedPost> findAllByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs);
+}
@@ -1,68 +1,72 @@
 package dev.joshuahale.backend.posts.repository;
 
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+import dev.joshuahale.backend.posts.dto.PostFields;
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
 import dev.joshuahale.backend.posts.entity.PostsEntity;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-@Repository
-@Transactional
-public class PostsRepository {
-
-    @PersistenceContext
-    private EntityManager em;
-
-    public PostsEntity save(PostsEntity post) {
-        if (post.getId() == null) {
-            em.persist(post);
-            return post;
-        } else {
-            return em.merge(post);
-        }
-    }
-
-    @Transactional(readOnly = true)
-    public Optional<PostsEntity> findById(Long id) {
-        return Optional.ofNullable(em.find(PostsEntity.class, id));
-    }
-
-    public boolean deleteById(Long id) {
-        PostsEntity managed = em.find(PostsEntity.class, id);
-        if (managed == null) return false;
-        em.remove(managed);
-        return true;
-    }
-
-    @Transactional(readOnly = true)
-    public Optional<PostsEntity> findBySlug(String slug) {
-        var query = em.createQuery("""
-        select p from PostsEntity p
-        where p.slug = :slug
-        """, PostsEntity.class);
-        return query.setParameter("slug", slug)
-                .getResultStream()
-                .findFirst();
-    }
-
-    @Transactional(readOnly = true)
-    public boolean existsBySlug(String slug) {
-        Long count = em.createQuery("""
-        select count(p) from PostsEntity p
-        where p.slug = :slug
-        """, Long.class)
-                .setParameter("slug", slug)
-                .getSingleResult();
-        return count > 0;
-    }
-
-    @Transactional(readOnly = true)
-    public List<PostsEntity> listAllOrdered() {
-        return em.createQuery("""
-        select p from PostsEntity p
-        order by p.createdAt desc, p.id desc
-    """, PostsEntity.class).getResultList();
-    }
-}
\ No newline at end of file
+/**
+ * Storage for posts. Selected by Spring profile:
+ *   (default) - Postgres through the EntityManager (JpaPostsRepository)
+ *   embedded  - single-node memory-mapped append-only log, no database (EmbeddedPostsRepository)
+ * Callers must write changes back through save(): the embedded store hands out detached copies.
+ */
+public interface PostsRepository {
+
+    // Inserts when the id is null (assigning id and timestamps), otherwise overwrites the stored post
+    PostsEntity save(PostsEntity post);
+
+    Optional<PostsEntity> findById(Long id);
+
+    boolean deleteById(Long id);
+
+    Optional<PostsEntity> findBySlug(String slug);
+
+    boolean existsBySlug(String slug);
+
+    // Newest-first (createdAt desc, id desc)
+    List<PostsEntity> listAllOrdered();
+
+    // Lightweight rows for the in-memory title index (skips the content entirely)
+    List<PostSuggestion> listSuggestionEntries();
+
+    // Multi-get; either collection may be empty but not both
+    List<PostsEntity> findAllByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs);
+
+    // ===============================
+    // Sparse projections (?fields=): only the selected properties are populated
+    // ===============================
+    Optional<ProjectedPost> findProjectedById(Long id, PostFields fields);
+
+    Optional<ProjectedPost> findProjectedBySlug(String slug, PostFields fields);
+
+    List<ProjectedPost> listAllOrderedProjected(PostFields fields);
+
+    // Newest N posts (limit <= 0 means all)
+    List<ProjectedPost> listLatestProjected(PostFields fields, int limit);
+
+    // Posts per calendar month (UTC), newest month first
+    List<ArchiveMonth> countByMonth();
+
+    List<ProjectedPost> findProjectedByIdsOrSlugs(Collection<Long> ids, Collection<String> slugs, PostFields fields);
+
+    // ===============================
+    // Compressed-storage housekeeping (PostContentCompactor)
+    // ===============================
+    List<String> samplePlainContent(int limit);
+
+    // {id, content} pairs of plain bodies with at least minLength chars and id > afterId, ordered by id
+    List<Object[]> findPlainBodiesForCompression(int minLength, long afterId, int limit);
+
+    // Swap a plain body for its compressed form without touching updatedAt. Only if the body is still exactly
+    // original (what the compactor read): an edit saved in between must win. 0 if changed/compressed/missing
+    int storeCompressed(Long id, String original, byte[] deflated, Integer dictId);
+
+    // Projection result plus the raw compressed body (if any) for the selected content field
+    record ProjectedPost(PostResponse response, byte[] contentDeflated, Integer contentDictId) { }
+}
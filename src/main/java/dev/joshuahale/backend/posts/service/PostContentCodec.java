@@ -0,0 +1,160 @@
+package dev.joshuahale.backend.posts.service;
+
+import dev.joshuahale.backend.posts.entity.PostContentDictionaryEntity;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import dev.joshuahale.backend.posts.repository.PostContentDictionaryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and writes post bodies in either storage mode.
+ *
+ * Plain rows keep their text in posts.content. Compressed rows (opt-in, bodies >= min-bytes) keep
+ * [format byte][uncompressed length][raw deflate] in posts.content_deflated, primed with the dictionary
+ * referenced by content_dict_id. Reads always handle both, so the mode can be switched at any time.
+ */
+@Component
+public class PostContentCodec {
+
+    private static final byte FORMAT_DEFLATE_V1 = 1;
+    private static final int HEADER_BYTES = 1 + Integer.BYTES;
+
+    private final PostContentDictionaryRepository dictionaries;
+    private final boolean enabled;
+    private final int minBytes;
+
+    // Dictionaries are immutable once stored, so caching them forever is safe
+    private final Map<Integer, byte[]> dictionaryCache = new ConcurrentHashMap<>();
+    private volatile PostContentDictionaryEntity activeDictionary;
+    private volatile boolean activeDictionaryLoaded;
+
+    public PostContentCodec(PostContentDictionaryRepository dictionaries,
+                            @Value("${posts.content.compression.enabled:false}") boolean enabled,
+                            @Value("${posts.content.compression.min-bytes:4096}") int minBytes) {
+        this.dictionaries = dictionaries;
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMinBytes() {
+        return minBytes;
+    }
+
+    // ===============================
+    // Write path
+    // ===============================
+    public void store(PostsEntity e, String content) {
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (!enabled || utf8.length < minBytes) {
+            e.setContent(content);
+            e.setContentDeflated(null);
+            e.setContentDictId(null);
+            return;
+        }
+        PostContentDictionaryEntity dict = activeDictionary();
+        e.setContentDeflated(compress(utf8, dict == null ? null : dict.getDictionary()));
+        e.setContentDictId(dict == null ? null : dict.getId());
+        e.setContent(null);
+    }
+
+    /** Make a freshly trained dictionary the one used for new writes. */
+    public void useDictionary(PostContentDictionaryEntity dict) {
+        dictionaryCache.put(dict.getId(), dict.getDictionary());
+        this.activeDictionary = dict;
+        this.activeDictionaryLoaded = true;
+    }
+
+    private PostContentDictionaryEntity activeDictionary() {
+        if (!activeDictionaryLoaded) {
+            PostContentDictionaryEntity latest = dictionaries.findLatest().orElse(null);
+            if (latest != null) dictionaryCache.put(latest.getId(), latest.getDictionary());
+            activeDictionary = latest;
+            activeDictionaryLoaded = true;
+        }
+        return activeDictionary;
+    }
+
+    // ===============================
+    // Read path
+    // ===============================
+    public String read(PostsEntity e) {
+        return read(e.getContent(), e.getContentDeflated(), e.getContentDictId());
+    }
+
+    public String read(String plain, byte[] deflated, Integer dictId) {
+        if (deflated == null) return plain;
+        byte[] dict = dictId == null ? null : dictionaryCache.computeIfAbsent(dictId, id ->
+                dictionaries.findById(id)
+                        .orElseThrow(() -> new IllegalStateException("Missing post content dictionary " + id))
+                        .getDictionary());
+        return new String(decompress(deflated, dict), StandardCharsets.UTF_8);
+    }
+
+    // ===============================
+    // Deflate helpers
+    // ===============================
+    static byte[] compress(byte[] input, byte[] dict) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            if (dict != null) deflater.setDictionary(dict);
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 3 + HEADER_BYTES);
+            out.write(FORMAT_DEFLATE_V1);
+            out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(input.length).array());
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] stored, byte[] dict) {
+        ByteBuffer header = ByteBuffer.wrap(stored, 0, HEADER_BYTES);
+        byte format = header.get();
+        if (format != FORMAT_DEFLATE_V1) {
+            throw new IllegalStateException("Unknown post content format " + format);
+        }
+        int length = header.getInt();
+
+        Inflater inflater = new Inflater(true);
+        try {
+            // Raw deflate never asks for the dictionary, so it has to be primed up front
+            if (dict != null) inflater.setDictionary(dict);
+            inflater.setInput(stored, HEADER_BYTES, stored.length - HEADER_BYTES);
+            byte[] out = new byte[length];
+            int off = 0;
+            while (off < length) {
+                int n = inflater.inflate(out, off, length - off);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) break;
+                off += n;
+            }
+            if (off != length) {
+                throw new IllegalStateException("Truncated post content (" + off + " of " + length + " bytes)");
+            }
+            return out;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt post content", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
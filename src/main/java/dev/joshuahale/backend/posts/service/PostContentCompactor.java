@@ -0,0 +1,165 @@
+package dev.joshuahale.backend.posts.service;
+
+import dev.joshuahale.backend.posts.entity.PostContentDictionaryEntity;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import dev.joshuahale.backend.posts.repository.PostContentDictionaryRepository;
+import dev.joshuahale.backend.posts.repository.PostsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Converts existing plain post bodies to compressed storage once the mode is enabled.
+ *
+ * Runs after startup on the background executor, so readiness does not wait for it. One node at a time:
+ * the run holds a Postgres advisory lock, and a node that cannot get it only loads the current dictionary
+ * (so several nodes never train competing ones). The holder trains a dictionary on the corpus if none
+ * exists yet, then walks the table in id order, one short transaction per batch, so it never holds long
+ * row locks and resumes after a restart.
+ *
+ * Not a Flyway migration: whether and how to compress (enabled, min-bytes, the trained dictionary) is
+ * application configuration that the schema history cannot follow.
+ */
+@Component
+public class PostContentCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PostContentCompactor.class);
+
+    // Below this a trained dictionary is mostly noise
+    private static final int MIN_TRAINING_SAMPLES = 8;
+
+    // pg_try_advisory_lock key for the conversion run ("pcompact")
+    private static final long LOCK_KEY = 0x70636f6d70616374L;
+
+    private final PostsRepository posts;
+    private final PostContentDictionaryRepository dictionaries;
+    private final PostContentCodec codec;
+    private final TransactionTemplate tx;
+    private final DataSource dataSource;
+    private final Executor executor;
+    private final int batchSize;
+    private final int trainingSamples;
+
+    public PostContentCompactor(PostsRepository posts,
+                                PostContentDictionaryRepository dictionaries,
+                                PostContentCodec codec,
+                                TransactionTemplate tx,
+                                DataSource dataSource,
+                                @Qualifier("backgroundExecutor") Executor executor,
+                                @Value("${posts.content.compression.batch-size:100}") int batchSize,
+                                @Value("${posts.content.compression.training-samples:500}") int trainingSamples) {
+        this.posts = posts;
+        this.dictionaries = dictionaries;
+        this.codec = codec;
+        this.tx = tx;
+        this.dataSource = dataSource;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.trainingSamples = trainingSamples;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void compactOnStartup() {
+        if (!codec.isEnabled()) return;
+        executor.execute(this::compactUnderLock);
+    }
+
+    void compactUnderLock() {
+        // Session-level lock: held on this one connection for the whole run, released when it closes
+        try (Connection lock = dataSource.getConnection()) {
+            if (!advisoryLock(lock, "select pg_try_advisory_lock(?)")) {
+                log.info("Post content conversion is running on another node; using the current dictionary");
+                dictionaries.findLatest().ifPresent(codec::useDictionary);
+                return;
+            }
+            try {
+                ensureDictionary();
+                long converted = compactExisting();
+                if (converted > 0) {
+                    log.info("Converted {} post bodies to compressed storage", converted);
+                }
+            } finally {
+                advisoryLock(lock, "select pg_advisory_unlock(?)");
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Rows left plain are still readable; the next start picks up where this one stopped
+            log.warn("Post content conversion stopped", e);
+        }
+    }
+
+    void ensureDictionary() {
+        PostContentDictionaryEntity existing = dictionaries.findLatest().orElse(null);
+        if (existing != null) {
+            codec.useDictionary(existing);
+            return;
+        }
+        List<String> samples = posts.samplePlainContent(trainingSamples);
+        if (samples.size() < MIN_TRAINING_SAMPLES) {
+            log.info("Only {} posts to train on; compressing without a dictionary for now", samples.size());
+            return;
+        }
+        PostContentDictionaryEntity dict = new PostContentDictionaryEntity();
+        dict.setDictionary(PostContentDictionaryTrainer.train(samples));
+        codec.useDictionary(dictionaries.save(dict));
+        log.info("Trained post content dictionary {} ({} bytes) on {} posts",
+                dict.getId(), dict.getDictionary().length, samples.size());
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(sql)) {
+            st.setLong(1, LOCK_KEY);
+            try (ResultSet rs = st.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    long compactExisting() {
+        long afterId = 0;
+        long converted = 0;
+        while (true) {
+            final long from = afterId;
+            long[] batch = tx.execute(status -> compactBatch(from));
+            if (batch == null || batch[0] == 0) break;
+            converted += batch[1];
+            afterId = batch[2];
+        }
+        return converted;
+    }
+
+    // Returns {rows scanned, rows converted, last id}
+    private long[] compactBatch(long afterId) {
+        List<Object[]> rows = posts.findPlainBodiesForCompression(codec.getMinBytes() / 4, afterId, batchSize);
+        long converted = 0;
+        long lastId = afterId;
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String content = (String) row[1];
+            lastId = id;
+
+            // The query filters on character length (cheap, index-free); the codec's threshold is in bytes
+            if (content.getBytes(StandardCharsets.UTF_8).length < codec.getMinBytes()) continue;
+
+            PostsEntity target = new PostsEntity();
+            codec.store(target, content);
+            if (target.getContentDeflated() != null) {
+                converted += posts.storeCompressed(id, content, target.getContentDeflated(), target.getContentDictId());
+            }
+        }
+        return new long[] { rows.size(), converted, lastId };
+    }
+}
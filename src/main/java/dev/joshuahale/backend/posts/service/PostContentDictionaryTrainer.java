@@ -0,0 +1,75 @@
+package dev.joshuahale.backend.posts.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a preset deflate dictionary from a sample of post bodies.
+ *
+ * Deflate can only reference the last 32 KiB, so the dictionary is a concatenation of the phrases
+ * that recur across the most posts, weighted by length, with the most valuable ones placed last
+ * (closest to the data, hence the cheapest back-references).
+ */
+public final class PostContentDictionaryTrainer {
+
+    public static final int MAX_DICTIONARY_BYTES = 32 * 1024;
+
+    private static final int MIN_PHRASE_WORDS = 2;
+    private static final int MAX_PHRASE_WORDS = 6;
+    // Keeps training memory bounded on large samples
+    private static final int MAX_CANDIDATES = 200_000;
+
+    private PostContentDictionaryTrainer() { }
+
+    public static byte[] train(List<String> samples) {
+        Map<String, Integer> docFreq = new HashMap<>();
+        for (String sample : samples) {
+            if (sample == null || sample.isBlank()) continue;
+            // Keep the separators so phrases include the exact whitespace/markup that follows each word
+            String[] words = sample.split("(?<=\\s)");
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < words.length; i++) {
+                StringBuilder phrase = new StringBuilder();
+                for (int n = 0; n < MAX_PHRASE_WORDS && i + n < words.length; n++) {
+                    phrase.append(words[i + n]);
+                    if (n + 1 >= MIN_PHRASE_WORDS && seen.add(phrase.toString())
+                            && (docFreq.size() < MAX_CANDIDATES || docFreq.containsKey(phrase.toString()))) {
+                        docFreq.merge(phrase.toString(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        // Only phrases shared by at least two posts are worth dictionary space
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : docFreq.entrySet()) {
+            if (e.getValue() >= 2) ranked.add(e);
+        }
+        ranked.sort(Comparator.comparingLong(
+                (Map.Entry<String, Integer> e) -> (long) e.getValue() * e.getKey().length()).reversed());
+
+        // Greedily take the best phrases until the window is full
+        List<byte[]> chosen = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> e : ranked) {
+            byte[] bytes = e.getKey().getBytes(StandardCharsets.UTF_8);
+            if (total + bytes.length > MAX_DICTIONARY_BYTES) continue;
+            chosen.add(bytes);
+            total += bytes.length;
+            if (total >= MAX_DICTIONARY_BYTES - 16) break;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(total);
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            out.writeBytes(chosen.get(i));
+        }
+        return out.toByteArray();
+    }
+}
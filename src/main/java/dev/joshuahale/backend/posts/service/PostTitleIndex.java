@@ -0,0 +1,171 @@
+package dev.joshuahale.backend.posts.service;
+
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
+import dev.joshuahale.backend.posts.repository.PostsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over post titles and slugs, used for as-you-type suggestions.
+ *
+ * Reads work on an immutable snapshot (a sorted key array plus a recency-ordered entry array),
+ * so lookups are a binary search and a short scan with no locking and no database access.
+ * Writes are rare: they patch the id -> entry map and publish a freshly built snapshot.
+ */
+@Component
+public class PostTitleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PostTitleIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    private final PostsRepository repo;
+
+    // Source of truth for rebuilding snapshots; guarded by "this"
+    private final Map<Long, PostSuggestion> entriesById = new HashMap<>();
+
+    // Published snapshot; replaced wholesale on every write
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public PostTitleIndex(PostsRepository repo) {
+        this.repo = repo;
+    }
+
+    // ===============================
+    // Lifecycle
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        List<PostSuggestion> all = repo.listSuggestionEntries();
+        rebuild(all);
+        log.info("Post title index built with {} posts", all.size());
+    }
+
+    public synchronized void rebuild(Collection<PostSuggestion> all) {
+        entriesById.clear();
+        for (PostSuggestion s : all) {
+            entriesById.put(s.getId(), s);
+        }
+        publish();
+    }
+
+    // ===============================
+    // Write-side patches (called after commit)
+    // ===============================
+    public synchronized void upsert(PostSuggestion entry) {
+        entriesById.put(entry.getId(), entry);
+        publish();
+    }
+
+    public synchronized void remove(Long id) {
+        if (entriesById.remove(id) != null) {
+            publish();
+        }
+    }
+
+    // ===============================
+    // Lookup
+    // ===============================
+    public List<PostSuggestion> suggest(String rawPrefix, int limit) {
+        String prefix = normalize(rawPrefix);
+        if (prefix.isEmpty() || limit <= 0) return List.of();
+
+        Snapshot s = this.snapshot;
+        int i = lowerBound(s.keys, prefix);
+
+        // Entries are ordered newest-first, so the lowest matching entry indexes are the most recent.
+        // A BitSet both de-duplicates (title and slug can both match) and keeps them in rank order.
+        BitSet matches = new BitSet(s.entries.length);
+        while (i < s.keys.length && s.keys[i].startsWith(prefix)) {
+            matches.set(s.refs[i]);
+            i++;
+        }
+
+        List<PostSuggestion> out = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        for (int e = matches.nextSetBit(0); e >= 0 && out.size() < limit; e = matches.nextSetBit(e + 1)) {
+            out.add(s.entries[e]);
+        }
+        return out;
+    }
+
+    public int size() {
+        return snapshot.entries.length;
+    }
+
+    // ===============================
+    // Snapshot building
+    // ===============================
+    private void publish() {
+        PostSuggestion[] entries = entriesById.values().toArray(new PostSuggestion[0]);
+        Arrays.sort(entries, Comparator
+                .comparing(PostSuggestion::getCreatedAt, Comparator.nullsLast(Comparator.<OffsetDateTime>reverseOrder()))
+                .thenComparing(PostSuggestion::getId, Comparator.reverseOrder()));
+
+        List<KeyRef> keyRefs = new ArrayList<>(entries.length * 4);
+        for (int e = 0; e < entries.length; e++) {
+            // Every word start of the title is a key, so "stre" finds "Java Streams in Practice"
+            String title = normalize(entries[e].getTitle());
+            int start = 0;
+            while (start < title.length()) {
+                keyRefs.add(new KeyRef(title.substring(start), e));
+                int space = title.indexOf(' ', start);
+                if (space < 0) break;
+                start = space + 1;
+            }
+            String slug = normalize(entries[e].getSlug());
+            if (!slug.isEmpty() && !slug.equals(title)) {
+                keyRefs.add(new KeyRef(slug, e));
+            }
+        }
+        keyRefs.sort(Comparator.comparing(KeyRef::key));
+
+        String[] keys = new String[keyRefs.size()];
+        int[] refs = new int[keyRefs.size()];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = keyRefs.get(k).key();
+            refs[k] = keyRefs.get(k).entry();
+        }
+        this.snapshot = new Snapshot(keys, refs, entries);
+    }
+
+    private static int lowerBound(String[] keys, String prefix) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static String normalize(String raw) {
+        // Fold accents and case, and treat any run of punctuation/whitespace (incl. slug dashes) as one space
+        if (raw == null) return "";
+        String s = Normalizer.normalize(raw, Normalizer.Form.NFD);
+        s = COMBINING_MARKS.matcher(s).replaceAll("").toLowerCase(Locale.ROOT);
+        return NON_ALNUM.matcher(s).replaceAll(" ").trim();
+    }
+
+    private record KeyRef(String key, int entry) { }
+
+    private record Snapshot(String[] keys, int[] refs, PostSuggestion[] entries) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new PostSuggestion[0]);
+    }
+}
@@ -1,15 +1,35 @@
 package dev.joshuahale.backend.posts.service;
 
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+import dev.joshuahale.backend.posts.dto.PostBatchResponse;
+import dev.joshuahale.backend.posts.dto.PostFields;
 import dev.joshuahale.backend.posts.dto.PostResponse;
 import dev.joshuahale.backend.posts.dto.PostRequest;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
 import dev.joshuahale.backend.posts.dto.PostUpdateRequest;
 import java.util.List;
 
 public interface PostsService {
+    // Upper bound on ids + slugs in one batch request
+    int MAX_BATCH_SIZE = 50;
+
     PostResponse create(PostRequest request);
     PostResponse getById(Long id);
     PostResponse getBySlug(String slug);
+    PostBatchResponse getBatch(List<Long> ids, List<String> slugs);
     List<PostResponse> listAllOrdered();
+
+    // Sparse-fieldset variants: only the selected fields are loaded and populated
+    PostResponse getById(Long id, PostFields fields);
+    PostResponse getBySlug(String slug, PostFields fields);
+    PostBatchResponse getBatch(List<Long> ids, List<String> slugs, PostFields fields);
+    List<PostResponse> listAllOrdered(PostFields fields);
+    List<PostResponse> listLatest(int limit, PostFields fields);
+
+    // Post counts per month, newest first
+    List<ArchiveMonth> archive();
+
+    List<PostSuggestion> suggest(String prefix, int limit);
     PostResponse update(Long id, PostUpdateRequest request);
     void delete(Long id);
 }
\ No newline at end of file
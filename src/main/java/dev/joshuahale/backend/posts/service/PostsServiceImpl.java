@@ -1,24 +1,90 @@
 package dev.joshuahale.backend.posts.service;
 
+import dev.joshuahale.backend.config.InvalidationBus;
+import dev.joshuahale.backend.media.repository.PostImagesRepository;
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+import dev.joshuahale.backend.posts.dto.PostBatchResponse;
+import dev.joshuahale.backend.posts.dto.PostFields;
 import dev.joshuahale.backend.posts.dto.PostRequest;
 import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
 import dev.joshuahale.backend.posts.dto.PostUpdateRequest;
 import dev.joshuahale.backend.posts.entity.PostsEntity;
+import dev.joshuahale.backend.posts.repository.PostsReader;
 import dev.joshuahale.backend.posts.repository.PostsRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 @Service                                   // 1) Registers this class as a Spring bean for DI
 @Transactional                             // 2) Makes write methods atomic; reads marked readOnly below
 public class PostsServiceImpl implements PostsService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+    // InvalidationBus topic: a post was created, edited or deleted on another node (keyed by id)
+    private static final String TOPIC_POSTS = "post";
+    private static final PostFields SUGGESTION_FIELDS = PostFields.parse("id,title,slug,createdAt");
+
     private final PostsRepository repo;
+    private final PostsReader reader;
+    private final PostTitleIndex titleIndex;
+    private final PostContentCodec contentCodec;
+    private final PostImagesRepository images;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate primaryTx;
+    private final InvalidationBus invalidationBus;
+
+    // Concurrent misses for the same slug share one query + mapping
+    private final SingleFlight<String, PostResponse> slugLoads = new SingleFlight<>();
+    // Full list: served from memory, refreshed in the background once stale, dropped on writes
+    private final StaleWhileRevalidate<List<PostResponse>> listCache;
 
-    public PostsServiceImpl(PostsRepository repo) {
+    public PostsServiceImpl(PostsRepository repo,
+                            PostsReader reader,
+                            PostTitleIndex titleIndex,
+                            PostContentCodec contentCodec,
+                            PostImagesRepository images,
+                            TransactionTemplate tx,
+                            InvalidationBus invalidationBus,
+                            @Qualifier("backgroundExecutor") Executor backgroundExecutor,
+                            @Value("${posts.cache.list.fresh-ttl:5s}") Duration listFreshTtl,
+                            @Value("${posts.cache.list.stale-ttl:60s}") Duration listStaleTtl) {
         this.repo = repo;
+        this.reader = reader;
+        this.titleIndex = titleIndex;
+        this.contentCodec = contentCodec;
+        this.images = images;
+        this.readTx = new TransactionTemplate(tx.getTransactionManager());
+        this.readTx.setReadOnly(true);
+        // Not read-only, so replica routing sends it to the primary (see refreshLocal, loadAllOrdered); its own
+        // transaction, so it never joins a caller's read-only one
+        this.primaryTx = new TransactionTemplate(tx.getTransactionManager());
+        this.primaryTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.listCache = new StaleWhileRevalidate<>(this::loadAllOrdered, backgroundExecutor,
+                listFreshTtl, listStaleTtl, Clock.systemUTC());
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(TOPIC_POSTS, id -> refreshLocal(Long.valueOf(id)), this::resyncLocal);
     }
 
     // ===============================
@@ -37,12 +103,13 @@ public class PostsServiceImpl implements PostsService {
         // 5) Map DTO -> Entity (only the fields you allow clients to set)
         PostsEntity e = new PostsEntity();
         e.setTitle(request.getTitle());
-        e.setContent(request.getContent());
+        contentCodec.store(e, request.getContent());   // plain or compressed, depending on config
         e.setHeroImage(request.getHeroImage());
         e.setSlug(uniqueSlug);
 
         // 6) Persist using your custom repository (EntityManager under the hood)
         PostsEntity saved = repo.save(e);
+        indexAfterCommit(saved);
 
         // 7) Map Entity -> DTO response (so controllers never expose JPA entities)
         return toResponse(saved);
@@ -54,33 +121,133 @@ public class PostsServiceImpl implements PostsService {
     @Override
     @Transactional(readOnly = true)        // 8) Read-only transaction: small perf/safety win
     public PostResponse getById(Long id) {
-        PostsEntity e = repo.findById(id)
+        return reader.findById(id)
+            .map(this::decode)
             .orElseThrow(() -> new PostNotFoundException("Post not found: id=" + id));
-        return toResponse(e);
     }
 
     // ===============================
     // Read (by slug)
     // ===============================
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)   // waiters must not hold a connection
     public PostResponse getBySlug(String slug) {
-        PostsEntity e = repo.findBySlug(slug)
-            .orElseThrow(() -> new PostNotFoundException("Post not found: slug=" + slug));
-        return toResponse(e);
+        // Only the first caller for a slug queries; the rest await its result (or its 404)
+        return slugLoads.load(slug, () -> readTx.execute(status -> reader.findBySlug(slug)
+            .map(this::decode)
+            .orElseThrow(() -> new PostNotFoundException("Post not found: slug=" + slug))));
     }
 
     // ===============================
-    // List all (ordered newest-first)
+    // Read (batch by ids and/or slugs)
     // ===============================
     @Override
     @Transactional(readOnly = true)
+    public PostBatchResponse getBatch(List<Long> ids, List<String> slugs) {
+        // 9a) De-duplicate while keeping the caller's order
+        Set<Long> idKeys = batchKeys(ids);
+        Set<String> slugKeys = batchKeys(slugs);
+        checkBatchSize(idKeys, slugKeys);
+
+        // 9b) One IN query for every key, then re-order in memory
+        List<PostResponse> found = reader.findAllByIdsOrSlugs(idKeys, slugKeys)
+            .stream()
+            .map(this::decode)
+            .toList();
+        return assembleBatch(idKeys, slugKeys, found);
+    }
+
+    // ===============================
+    // List all (ordered newest-first)
+    // ===============================
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<PostResponse> listAllOrdered() {
-        // 9) Delegate sorting to the repository; convert entities to DTOs
-        return repo.listAllOrdered()
+        // 9) Served via the stale-while-revalidate cache; loads are coalesced
+        return listCache.get();
+    }
+
+    private List<PostResponse> loadAllOrdered() {
+        // Delegate sorting to the read path; rows are streamed and mapped one at a time. From the primary: the
+        // list is shared by every client, and a lagging replica would serve an author the pre-write list for
+        // fresh+stale TTL (read-your-writes only covers the client that wrote)
+        return primaryTx.execute(status -> {
+            try (Stream<PostsRepository.ProjectedPost> rows = reader.streamAllOrdered()) {
+                return rows.map(this::decode).toList();
+            }
+        });
+    }
+
+    // ===============================
+    // Sparse-fieldset reads (projection queries; content is skipped unless asked for)
+    // ===============================
+    @Override
+    @Transactional(readOnly = true)
+    public PostResponse getById(Long id, PostFields fields) {
+        return repo.findProjectedById(id, fields)
+            .map(this::decode)
+            .orElseThrow(() -> new PostNotFoundException("Post not found: id=" + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostResponse getBySlug(String slug, PostFields fields) {
+        return repo.findProjectedBySlug(slug, fields)
+            .map(this::decode)
+            .orElseThrow(() -> new PostNotFoundException("Post not found: slug=" + slug));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostBatchResponse getBatch(List<Long> ids, List<String> slugs, PostFields fields) {
+        Set<Long> idKeys = batchKeys(ids);
+        Set<String> slugKeys = batchKeys(slugs);
+        checkBatchSize(idKeys, slugKeys);
+
+        // id and slug are needed to re-order, even if the caller didn't ask for them
+        List<PostResponse> found = repo.findProjectedByIdsOrSlugs(idKeys, slugKeys,
+                fields.with(PostFields.Field.ID, PostFields.Field.SLUG))
             .stream()
-            .map(this::toResponse)
+            .map(this::decode)
             .toList();
+        return assembleBatch(idKeys, slugKeys, found);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostResponse> listAllOrdered(PostFields fields) {
+        return repo.listAllOrderedProjected(fields)
+            .stream()
+            .map(this::decode)
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostResponse> listLatest(int limit, PostFields fields) {
+        return repo.listLatestProjected(fields, Math.max(1, limit))
+            .stream()
+            .map(this::decode)
+            .toList();
+    }
+
+    // ===============================
+    // Archive histogram (one GROUP BY, no rows loaded)
+    // ===============================
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArchiveMonth> archive() {
+        return repo.countByMonth();
+    }
+
+    // ===============================
+    // Title suggestions (served from memory, no DB)
+    // ===============================
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<PostSuggestion> suggest(String prefix, int limit) {
+        int capped = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return titleIndex.suggest(prefix, capped);
     }
 
     // ===============================
@@ -97,7 +264,7 @@ public class PostsServiceImpl implements PostsService {
             e.setTitle(request.getTitle());
         }
         if (request.getContent() != null) {
-            e.setContent(request.getContent());
+            contentCodec.store(e, request.getContent());
         }
         if (request.getHeroImage() != null) {
             e.setHeroImage(request.getHeroImage());
@@ -118,6 +285,7 @@ public class PostsServiceImpl implements PostsService {
 
         // 14) Save the updated entity; @PreUpdate on the entity can update timestamps
         PostsEntity saved = repo.save(e);
+        indexAfterCommit(saved);
         return toResponse(saved);
     }
 
@@ -131,6 +299,13 @@ public class PostsServiceImpl implements PostsService {
         if (!removed) {
             throw new PostNotFoundException("Post not found: id=" + id);
         }
+        // No foreign key to cascade (posts may live in the embedded log), so the hero rows go here
+        images.deleteByPostId(id);
+        afterCommit(() -> {
+            titleIndex.remove(id);
+            listCache.invalidate();
+        });
+        invalidationBus.publish(TOPIC_POSTS, id.toString());
     }
 
     // ===============================
@@ -142,13 +317,102 @@ public class PostsServiceImpl implements PostsService {
         r.setId(e.getId());
         r.setTitle(e.getTitle());
         r.setSlug(e.getSlug());
-        r.setContent(e.getContent());
+        r.setContent(contentCodec.read(e));
         r.setHeroImage(e.getHeroImage());
         r.setCreatedAt(e.getCreatedAt());
         r.setUpdatedAt(e.getUpdatedAt());
         return r;
     }
 
+    // ===============================
+    // Batch helpers
+    // ===============================
+    private <K> Set<K> batchKeys(List<K> keys) {
+        return keys == null ? Set.of() : new LinkedHashSet<>(keys);
+    }
+
+    private void checkBatchSize(Set<Long> idKeys, Set<String> slugKeys) {
+        if (idKeys.size() + slugKeys.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException("At most " + MAX_BATCH_SIZE + " ids and slugs per batch");
+        }
+    }
+
+    private PostBatchResponse assembleBatch(Set<Long> idKeys, Set<String> slugKeys, List<PostResponse> found) {
+        Map<Long, PostResponse> byId = new HashMap<>();
+        Map<String, PostResponse> bySlug = new HashMap<>();
+        for (PostResponse r : found) {
+            byId.put(r.getId(), r);
+            bySlug.put(r.getSlug(), r);
+        }
+
+        List<PostResponse> posts = new ArrayList<>(idKeys.size() + slugKeys.size());
+        Set<Long> emitted = new HashSet<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingSlugs = new ArrayList<>();
+        for (Long id : idKeys) {
+            PostResponse r = byId.get(id);
+            if (r == null) missingIds.add(id);
+            else if (emitted.add(r.getId())) posts.add(r);
+        }
+        for (String slug : slugKeys) {
+            PostResponse r = bySlug.get(slug);
+            if (r == null) missingSlugs.add(slug);
+            else if (emitted.add(r.getId())) posts.add(r);
+        }
+        return new PostBatchResponse(posts, missingIds, missingSlugs);
+    }
+
+    // ===============================
+    // After-commit hooks (in-memory views and caches only see committed data)
+    // ===============================
+    private void indexAfterCommit(PostsEntity e) {
+        PostSuggestion entry = new PostSuggestion(e.getId(), e.getTitle(), e.getSlug(), e.getCreatedAt());
+        afterCommit(() -> {
+            titleIndex.upsert(entry);
+            listCache.invalidate();
+        });
+        invalidationBus.publish(TOPIC_POSTS, e.getId().toString());
+    }
+
+    // Another node changed post id: re-read just its index entry, and let the list reload. Read from the
+    // primary: the event can arrive before a replica has the write, and a stale entry would stay indexed
+    private void refreshLocal(Long id) {
+        Optional<PostSuggestion> entry = primaryTx.execute(status -> repo.findProjectedById(id, SUGGESTION_FIELDS)
+            .map(p -> new PostSuggestion(id, p.response().getTitle(), p.response().getSlug(), p.response().getCreatedAt())));
+        if (entry.isPresent()) titleIndex.upsert(entry.get());
+        else titleIndex.remove(id);
+        listCache.invalidate();
+    }
+
+    // Invalidations may have been missed: rebuild the title index (from the primary, as above), and let the list reload
+    private void resyncLocal() {
+        titleIndex.rebuild(primaryTx.execute(status -> repo.listSuggestionEntries()));
+        listCache.invalidate();
+    }
+
+    private void afterCommit(Runnable action) {
+        // Outside a transaction (e.g. unit tests) just run immediately
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private PostResponse decode(PostsRepository.ProjectedPost row) {
+        // Only rows stored compressed need work; plain content was projected directly
+        PostResponse r = row.response();
+        if (row.contentDeflated() != null) {
+            r.setContent(contentCodec.read(null, row.contentDeflated(), row.contentDictId()));
+        }
+        return r;
+    }
+
     // ===============================
     // Slug helpers (self-contained)
     // ===============================
@@ -182,4 +446,10 @@ public class PostsServiceImpl implements PostsService {
     public static class DuplicateSlugException extends RuntimeException {
         public DuplicateSlugException(String message) { super(message); }
     }
+
+    // Callers other than PostsController (which checks the raw count first) still get a 400, not a 500
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class BatchTooLargeException extends RuntimeException {
+        public BatchTooLargeException(String message) { super(message); }
+    }
 }
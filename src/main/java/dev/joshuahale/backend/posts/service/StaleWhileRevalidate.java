@@ -0,0 +1,98 @@
+package dev.joshuahale.backend.posts.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A single cached value with stale-while-revalidate semantics.
+ *
+ * Fresh: returned as-is. Stale (past freshTtl but within staleTtl): returned immediately while one
+ * background refresh runs. Missing or expired: loaded synchronously, with concurrent callers coalesced.
+ * invalidate() drops the value; a load that started before the invalidation is never published, and
+ * callers arriving after it never join such a load.
+ */
+public class StaleWhileRevalidate<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidate.class);
+
+    private record Entry<V>(V value, long loadedAtMillis) { }
+
+    // The generation and the entry move together, so a load can only publish into the generation it read
+    private record State<V>(long generation, Entry<V> entry) { }
+
+    private final Supplier<V> loader;
+    private final Executor refreshExecutor;
+    private final long freshMillis;
+    private final long staleMillis;
+    private final Clock clock;
+
+    private final SingleFlight<Long, V> flight = new SingleFlight<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicReference<State<V>> state = new AtomicReference<>(new State<>(0, null));
+
+    public StaleWhileRevalidate(Supplier<V> loader, Executor refreshExecutor,
+                                Duration freshTtl, Duration staleTtl, Clock clock) {
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.freshMillis = freshTtl.toMillis();
+        this.staleMillis = staleTtl.toMillis();
+        this.clock = clock;
+    }
+
+    public V get() {
+        State<V> s = state.get();
+        Entry<V> e = s.entry();
+        long now = clock.millis();
+        if (e != null) {
+            long age = now - e.loadedAtMillis();
+            if (age < freshMillis) {
+                return e.value();
+            }
+            if (age < freshMillis + staleMillis) {
+                refreshInBackground();
+                return e.value();
+            }
+        }
+        return load(s.generation());
+    }
+
+    public void invalidate() {
+        state.updateAndGet(s -> new State<>(s.generation() + 1, null));
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) return;
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(state.get().generation());
+                } catch (RuntimeException ex) {
+                    // Keep serving the stale value; the next caller past the stale window reloads synchronously
+                    log.warn("Background refresh failed", ex);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.set(false);
+        }
+    }
+
+    // Coalesced per generation: a load that started before an invalidation is not shared with later callers
+    private V load(long gen) {
+        return flight.load(gen, () -> {
+            V value = loader.get();
+            Entry<V> loaded = new Entry<>(value, clock.millis());
+            state.updateAndGet(s -> s.generation() == gen ? new State<>(gen, loaded) : s);
+            return value;
+        });
+    }
+}
@@ -0,0 +1,51 @@
+-- Case-insensitive login lookups served by an index.
+-- Login matches lower(email) or lower(username) against the normalized identifier; the plain UNIQUE
+-- constraints from V3 are on the raw columns and cannot serve that, so every login was a seq scan.
+-- These indexes also make uniqueness case-insensitive ("Alice" and "alice" are one username).
+
+DO $$
+DECLARE
+    clashes TEXT;
+BEGIN
+    SELECT string_agg(k, ', ') INTO clashes FROM (
+        SELECT 'email ' || lower(email) AS k FROM users GROUP BY lower(email) HAVING count(*) > 1
+        UNION ALL
+        SELECT 'username ' || lower(username) FROM users GROUP BY lower(username) HAVING count(*) > 1
+    ) d;
+    IF clashes IS NOT NULL THEN
+        RAISE EXCEPTION 'Users differing only by case must be merged or renamed first: %', clashes;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX ux_users_email_lower ON users (lower(email));
+CREATE UNIQUE INDEX ux_users_username_lower ON users (lower(username));
+
+-- Prove both probes of the login lookup (the two branches of LoginLookup.SQL) can use these indexes.
+-- Seq scans are disabled for the check only, so a tiny table cannot hide a missing or unusable index.
+DO $$
+DECLARE
+    probe TEXT;
+BEGIN
+    SET LOCAL enable_seqscan = off;
+    FOR probe IN
+        SELECT p FROM (VALUES
+            ('EXPLAIN (FORMAT TEXT) SELECT * FROM users WHERE lower(email) = ''probe@example.com'' LIMIT 1'),
+            ('EXPLAIN (FORMAT TEXT) SELECT * FROM users WHERE lower(username) = ''probe'' LIMIT 1')
+        ) AS q(p)
+    LOOP
+        DECLARE
+            line TEXT;
+            indexed BOOLEAN := false;
+        BEGIN
+            FOR line IN EXECUTE probe LOOP
+                IF line LIKE '%Index Scan using ux_users_%_lower%' OR line LIKE '%Bitmap Index Scan on ux_users_%_lower%' THEN
+                    indexed := true;
+                END IF;
+            END LOOP;
+            IF NOT indexed THEN
+                RAISE EXCEPTION 'Login lookup does not use a lower() index: %', probe;
+            END IF;
+        END;
+    END LOOP;
+    RESET enable_seqscan;
+END $$;
@@ -0,0 +1,5 @@
+-- post_images.post_id no longer references posts(id).
+-- Under the embedded profile posts live in the append-only post log, not the posts table, so every hero
+-- upload failed the foreign key. PostsServiceImpl.delete removes a post's image rows instead of the cascade.
+
+ALTER TABLE post_images DROP CONSTRAINT IF EXISTS post_images_post_id_fkey;
@@ -0,0 +1,18 @@
+-- Opt-in compressed storage for long post bodies.
+-- A row keeps its body either in "content" (plain text) or in "content_deflated"
+-- (raw deflate, optionally primed with a trained dictionary), never neither.
+
+CREATE TABLE post_content_dictionaries (
+                       id           SERIAL PRIMARY KEY,
+                       dictionary   BYTEA NOT NULL,
+                       created_at   TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+ALTER TABLE posts
+    ALTER COLUMN content DROP NOT NULL,
+    ADD COLUMN content_deflated BYTEA,
+    ADD COLUMN content_dict_id  INT REFERENCES post_content_dictionaries(id),
+    ADD CONSTRAINT posts_content_present CHECK (content IS NOT NULL OR content_deflated IS NOT NULL);
+
+-- Already compressed: store out of line but skip pglz, so reads never pay for a second decompression
+ALTER TABLE posts ALTER COLUMN content_deflated SET STORAGE EXTERNAL;
@@ -0,0 +1,19 @@
+-- Uploaded hero images and their resized variants.
+-- Files live on local disk under media.root and are content-addressed by sha256,
+-- so a path never changes content and can be cached forever.
+
+CREATE TABLE post_images (
+                       id            BIGSERIAL PRIMARY KEY,
+                       post_id       BIGINT NOT NULL REFERENCES posts(id) ON DELETE CASCADE,
+                       sha256        CHAR(64) NOT NULL,
+                       variant       VARCHAR(16) NOT NULL,   -- 'original' or 'w<width>'
+                       path          VARCHAR(255) NOT NULL,  -- relative to media.root
+                       content_type  VARCHAR(64) NOT NULL,
+                       width         INT NOT NULL,
+                       height        INT NOT NULL,
+                       bytes         BIGINT NOT NULL,
+                       created_at    TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+                       CONSTRAINT uq_post_images_variant UNIQUE (post_id, sha256, variant)
+);
+
+CREATE INDEX idx_post_images_post_id ON post_images(post_id);
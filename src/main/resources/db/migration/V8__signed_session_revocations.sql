@@ -0,0 +1,19 @@
+-- Revocation state for signed (stateless) session tokens, auth.session.mode=signed.
+-- Both tables stay small: a revoked token only matters until it would have expired anyway,
+-- and a user has at most one watermark. Opaque sessions keep using the sessions table.
+
+-- Individually revoked tokens (logout), keyed by the token's random id
+CREATE TABLE revoked_sessions (
+                       token_id     VARCHAR(32) PRIMARY KEY,
+                       user_id      BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                       expires_at   TIMESTAMPTZ NOT NULL,
+                       revoked_at   TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_revoked_sessions_expires_at ON revoked_sessions(expires_at);
+
+-- "Logout everywhere": tokens issued at or before not_before are invalid for this user
+CREATE TABLE session_watermarks (
+                       user_id      BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+                       not_before   TIMESTAMPTZ NOT NULL
+);
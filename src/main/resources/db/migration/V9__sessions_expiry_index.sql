@@ -0,0 +1,6 @@
+-- Support set-based session housekeeping.
+-- The purge job deletes expired rows in chunks ordered by expires_at, and logout-everywhere is one
+-- DELETE by user_id; without these indexes both scan the whole table.
+
+CREATE INDEX IF NOT EXISTS idx_sessions_expires_at ON sessions(expires_at);
+CREATE INDEX IF NOT EXISTS idx_sessions_user_id ON sessions(user_id);
@@ -0,0 +1,56 @@
+-- OPTIONAL: range-partition sessions by expires_at, one partition per UTC day (sessions_pYYYYMMDD).
+-- Enable by adding classpath:db/partitioning to spring.flyway.locations and setting
+-- auth.session.purge.strategy=partitions; the purge job then creates partitions ahead of time and
+-- drops whole days once everything in them has expired, instead of deleting rows.
+-- Apply it before any later migration has run, or set spring.flyway.out-of-order=true.
+--
+-- Trade-offs: PostgreSQL cannot enforce a unique index on a partitioned table unless it includes the
+-- partition key, so session_token uniqueness is no longer a constraint: it rests on tokens being 256
+-- bits from SecureRandom alone, nothing checks for a clash on creation. Sliding expiry moves a row into a
+-- later partition on update.
+--
+-- sessions_default catches any expires_at no day partition covers (the purge job stopped for longer than
+-- the days it creates ahead), so inserts and sliding-expiry updates never fail with "no partition of
+-- relation found". The purge job moves such rows into their day partition when it creates it.
+
+ALTER TABLE sessions RENAME TO sessions_unpartitioned;
+ALTER SEQUENCE sessions_id_seq OWNED BY NONE;
+
+CREATE TABLE sessions (
+                       id             BIGINT NOT NULL DEFAULT nextval('sessions_id_seq'),
+                       user_id        BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                       session_token  VARCHAR(255) NOT NULL,
+                       expires_at     TIMESTAMPTZ NOT NULL,
+                       created_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+                       PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+ALTER SEQUENCE sessions_id_seq OWNED BY sessions.id;
+
+CREATE INDEX idx_sessions_p_token ON sessions(session_token);
+CREATE INDEX idx_sessions_p_user_id ON sessions(user_id);
+
+CREATE TABLE sessions_default PARTITION OF sessions DEFAULT;
+
+-- Partitions from today through 14 days out (twice the session lifetime); the purge job keeps extending this
+DO $$
+DECLARE
+    day DATE := (NOW() AT TIME ZONE 'UTC')::date;
+BEGIN
+    FOR i IN 0..14 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF sessions FOR VALUES FROM (%L) TO (%L)',
+            'sessions_p' || to_char(day + i, 'YYYYMMDD'),
+            ((day + i)::timestamp AT TIME ZONE 'UTC'),
+            ((day + i + 1)::timestamp AT TIME ZONE 'UTC'));
+    END LOOP;
+END $$;
+
+-- Carry over live sessions only; expired ones would be purged anyway
+INSERT INTO sessions (id, user_id, session_token, expires_at, created_at)
+SELECT id, user_id, session_token, expires_at, created_at
+FROM sessions_unpartitioned
+WHERE expires_at >= date_trunc('day', NOW() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC'
+  AND expires_at < (date_trunc('day', NOW() AT TIME ZONE 'UTC') + INTERVAL '15 days') AT TIME ZONE 'UTC';
+
+DROP TABLE sessions_unpartitioned;
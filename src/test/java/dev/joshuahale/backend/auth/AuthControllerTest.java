@@ -6,17 +6,24 @@ import dev.joshuahale.backend.auth.dto.AuthResponse;
 import dev.joshuahale.backend.auth.dto.LoginRequest;
 import dev.joshuahale.backend.auth.dto.SignupRequest;
 import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.AuthService.CurrentSession;
+import dev.joshuahale.backend.auth.service.AuthService.LoginResult;
+import dev.joshuahale.backend.auth.service.PasswordHashingBusyException;
 import dev.joshuahale.backend.auth.service.SessionService;
+import dev.joshuahale.backend.config.SecurityConfig;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -28,7 +35,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(AuthController.class)
+@WebMvcTest(controllers = AuthController.class, properties = "cors.allowed-origins=http://localhost:5173")
+@Import(SecurityConfig.class)
 class AuthControllerTest {
 
     @Autowired MockMvc mvc;
@@ -101,11 +109,11 @@ class AuthControllerTest {
     @Test
     void login_ok_setsCookie_andReturnsUser() throws Exception {
         Mockito.when(authService.login(any(LoginRequest.class), any(), any()))
-                .thenReturn(user(11L, "bob@example.com", "bob", Set.of("USER")));
-        Mockito.when(sessionService.create(eq(11L), any(), any()))
-                .thenReturn("tokXYZ");
+                .thenReturn(new LoginResult(user(11L, "bob@example.com", "bob", Set.of("USER")), "tokXYZ"));
 
+        // Secure is left off only for localhost, so log in through a production host name
         var res = mvc.perform(post("/auth/login")
+                        .with(r -> { r.setServerName("api.example.com"); return r; })
                         .header("User-Agent", "JUnit-UA")
                         .header("X-Forwarded-For", "198.51.100.5")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -125,7 +133,7 @@ class AuthControllerTest {
         assertThat(setCookie).contains("Path=/");
 
         Mockito.verify(authService).login(any(LoginRequest.class), eq("JUnit-UA"), eq("198.51.100.5"));
-        Mockito.verify(sessionService).create(eq(11L), eq("JUnit-UA"), eq("198.51.100.5"));
+        Mockito.verifyNoInteractions(sessionService);   // the session comes from login, not a second create
     }
 
     @Test
@@ -158,7 +166,7 @@ class AuthControllerTest {
 
     @Test
     void me_withInvalidToken_returns401() throws Exception {
-        Mockito.when(authService.currentUser("badtoken")).thenReturn(Optional.empty());
+        Mockito.when(authService.currentSession("badtoken")).thenReturn(Optional.empty());
 
         mvc.perform(get("/auth/me").cookie(new Cookie("sid", "badtoken")))
                 .andExpect(status().isUnauthorized());
@@ -166,8 +174,8 @@ class AuthControllerTest {
 
     @Test
     void me_withValidToken_returnsUser() throws Exception {
-        Mockito.when(authService.currentUser("goodtoken"))
-                .thenReturn(Optional.of(user(99L, "carol@example.com", "carol", Set.of("ADMIN"))));
+        Mockito.when(authService.currentSession("goodtoken"))
+                .thenReturn(Optional.of(new CurrentSession(user(99L, "carol@example.com", "carol", Set.of("ADMIN")), null)));
 
         mvc.perform(get("/auth/me").cookie(new Cookie("sid", "goodtoken")))
                 .andExpect(status().isOk())
@@ -176,4 +184,33 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.username").value("carol"))
                 .andExpect(jsonPath("$.roles[0]").value("ADMIN"));
     }
+
+    @Test
+    void me_reissuesCookie_onlyWhenSlidingExpiryMovedIt() throws Exception {
+        AuthResponse dave = user(5L, "dave@example.com", "dave", Set.of());
+        Mockito.when(authService.currentSession("steady")).thenReturn(Optional.of(new CurrentSession(dave, null)));
+        Mockito.when(authService.currentSession("slid"))
+                .thenReturn(Optional.of(new CurrentSession(dave, OffsetDateTime.now().plusDays(7))));
+
+        mvc.perform(get("/auth/me").cookie(new Cookie("sid", "steady")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE));
+
+        String setCookie = mvc.perform(get("/auth/me").cookie(new Cookie("sid", "slid")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).startsWith("sid=slid;").contains("HttpOnly").containsPattern("Max-Age=60479\\d");
+    }
+
+    @Test
+    void busyPasswordHashing_is503_withRetryAfter() throws Exception {
+        Mockito.when(authService.login(any(LoginRequest.class), any(), any()))
+                .thenThrow(new PasswordHashingBusyException(Duration.ofSeconds(2)));
+
+        mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginBody("bob@example.com", "CorrectHorseBatteryStaple1!")))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
 }
@@ -0,0 +1,69 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.dto.LoginRequest;
+import dev.joshuahale.backend.auth.repository.LoginLookup;
+import dev.joshuahale.backend.auth.repository.LoginLookup.LoginCandidate;
+import dev.joshuahale.backend.auth.repository.UserRepository;
+import dev.joshuahale.backend.auth.service.AuthService.LoginResult;
+import dev.joshuahale.backend.auth.service.PasswordService;
+import dev.joshuahale.backend.auth.service.SessionCache;
+import dev.joshuahale.backend.auth.service.SessionService;
+import dev.joshuahale.backend.auth.service.SessionWriteBehind;
+import dev.joshuahale.backend.auth.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the database work behind one successful login: a single lookup (user and roles together),
+ * a single session insert, and nothing through the JPA user repository.
+ */
+class AuthServiceImplLoginTest {
+
+    private final UserRepository users = mock(UserRepository.class);
+    private final LoginLookup lookup = mock(LoginLookup.class);
+    private final SessionService sessions = mock(SessionService.class);
+    private final PasswordService passwords = mock(PasswordService.class);
+    private final SessionWriteBehind writeBehind = mock(SessionWriteBehind.class);
+
+    private final AuthServiceImpl auth = new AuthServiceImpl(users, lookup, sessions, passwords,
+            mock(SessionCache.class), writeBehind, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    private LoginRequest request(String login) {
+        LoginRequest r = new LoginRequest();
+        r.setEmailOrUsername(login);
+        r.setPassword("pw");
+        return r;
+    }
+
+    @Test
+    void successfulLogin_isOneLookupAndOneSession() {
+        when(lookup.find("bob@example.com"))
+                .thenReturn(Optional.of(new LoginCandidate(11L, "bob", "bob@example.com", "$2a$12$h", true, Set.of("ADMIN"))));
+        when(passwords.verify("pw", "$2a$12$h")).thenReturn(true);
+        when(sessions.create(any(AuthResponse.class), eq("ua"), eq("203.0.113.1"))).thenReturn("tok");
+
+        LoginResult result = auth.login(request("  Bob@Example.com "), "ua", "203.0.113.1");
+
+        assertThat(result.sessionToken()).isEqualTo("tok");
+        assertThat(result.user().getRoles()).containsExactly("ADMIN");
+        verify(lookup).find("bob@example.com");
+        verify(sessions).create(any(AuthResponse.class), eq("ua"), eq("203.0.113.1"));
+        verifyNoMoreInteractions(lookup, sessions);
+        verify(writeBehind).recordLogin(eq(11L), any());
+        verifyNoInteractions(users);
+    }
+}
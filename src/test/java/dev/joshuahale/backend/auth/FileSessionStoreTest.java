@@ -0,0 +1,98 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.repository.FileSessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore.StoredSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSessionStoreTest extends SessionStoreContractTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private FileSessionStore store;
+    private final AtomicLong users = new AtomicLong();
+
+    @BeforeEach
+    void open() {
+        file = dir.resolve("sessions.db");
+        store = new FileSessionStore(file, 4, false);   // tiny, so the contract tests also exercise growth
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        store.close();
+    }
+
+    @Override
+    protected SessionStore store() {
+        return store;
+    }
+
+    @Override
+    protected Long newUser() {
+        return users.incrementAndGet();
+    }
+
+    @Test
+    void sessions_surviveReopen_includingExtensionsAndDeletes() throws IOException {
+        List<StoredSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            StoredSession s = new StoredSession("token-" + i, (long) (i % 3), now.plusDays(1), createdAt);
+            store.insert(s);
+            sessions.add(s);
+        }
+        store.extend("token-0", now.plusDays(7));
+        store.delete("token-1");
+        store.deleteByUser(2L);
+        store.close();
+
+        store = new FileSessionStore(file, 4, false);
+        assertThat(store.size()).isEqualTo(13);
+        assertThat(store.find("token-0").orElseThrow().expiresAt()).isAtSameInstantAs(now.plusDays(7));
+        assertThat(store.find("token-1")).isEmpty();
+        assertThat(store.find("token-2")).isEmpty();
+        assertThat(store.find("token-3").orElseThrow().userId()).isZero();
+
+        // Freed slots are reused before the file grows again
+        long size = Files.size(file);
+        store.insert(new StoredSession("token-new", 9L, now.plusDays(1), createdAt));
+        assertThat(Files.size(file)).isEqualTo(size);
+        assertThat(store.deleteByUser(0L)).isEqualTo(7);
+    }
+
+    @Test
+    void tornSlot_isDroppedOnOpen() throws IOException {
+        store.insert(new StoredSession("kept", 1L, now.plusDays(1), createdAt));
+        store.insert(new StoredSession("torn", 1L, now.plusDays(1), createdAt));
+        store.close();
+
+        // Flip a byte of the second slot's expiry, as if the process died halfway through an update
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var map = ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size());
+            int expiry = 8 + 128 + 10;
+            map.put(expiry, (byte) (map.get(expiry) ^ 0x5A));
+            map.force();
+        }
+
+        store = new FileSessionStore(file, 4, false);
+        assertThat(store.find("kept")).isPresent();
+        assertThat(store.find("torn")).isEmpty();
+        assertThat(store.size()).isEqualTo(1);
+    }
+}
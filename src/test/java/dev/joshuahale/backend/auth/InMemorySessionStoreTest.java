@@ -0,0 +1,22 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.repository.InMemorySessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class InMemorySessionStoreTest extends SessionStoreContractTest {
+
+    private final InMemorySessionStore store = new InMemorySessionStore(8);
+    private final AtomicLong users = new AtomicLong();
+
+    @Override
+    protected SessionStore store() {
+        return store;
+    }
+
+    @Override
+    protected Long newUser() {
+        return users.incrementAndGet();
+    }
+}
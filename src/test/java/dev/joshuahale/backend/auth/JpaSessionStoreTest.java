@@ -0,0 +1,63 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.repository.SessionStore;
+import dev.joshuahale.backend.auth.service.SessionWriteBehind;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+/**
+ * The session contract against the real sessions table (foreign key, unique token, write-behind expiry).
+ */
+@SpringBootTest(properties = "auth.session.purge.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class JpaSessionStoreTest extends SessionStoreContractTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("cors.allowed-origins", () -> "http://localhost");
+        registry.add("contact.recipient.email", () -> "owner@example.com");
+        registry.add("contact.from.email", () -> "noreply@example.com");
+    }
+
+    @Autowired SessionStore store;
+    @Autowired SessionWriteBehind writeBehind;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach
+    void emptySessions() {
+        jdbc.update("delete from sessions");
+    }
+
+    @Override
+    protected SessionStore store() {
+        return store;
+    }
+
+    @Override
+    protected Long newUser() {
+        String name = "u" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        return jdbc.queryForObject("insert into users (email, username, password_hash) values (?, ?, 'x') returning id",
+                Long.class, name + "@example.com", name);
+    }
+
+    @Override
+    protected void settle() {
+        writeBehind.flush();
+    }
+}
@@ -0,0 +1,73 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.repository.LoginLookup;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the real migrations (V10 carries its own EXPLAIN check) and then LoginLookup's own query,
+ * checking that both of its probes are index scans and that uniqueness is case-insensitive.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LoginLookupIndexTest {
+
+    @Container
+    static PostgreSQLContainer<?> pg = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(pg.getJdbcUrl(), pg.getUsername(), pg.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        // One connection, so the session-level enable_seqscan setting below applies to the EXPLAIN
+        jdbc = new JdbcTemplate(new SingleConnectionDataSource(pg.getJdbcUrl(), pg.getUsername(), pg.getPassword(), true));
+        jdbc.update("insert into users (email, username, password_hash) values ('alice@example.com', 'Alice', 'x')");
+        jdbc.update("insert into user_roles (user_id, role_id) select u.id, r.id from users u, roles r "
+                + "where u.username = 'Alice' and r.name = 'USER'");
+    }
+
+    private static String loginQuery() {
+        return LoginLookup.SQL.replace(":login", "?");
+    }
+
+    @Test
+    void bothLoginProbes_areIndexScans() {
+        jdbc.execute("set enable_seqscan = off");
+        try {
+            List<String> plan = jdbc.queryForList("explain " + loginQuery(), String.class, "alice", "alice");
+            assertThat(plan).anyMatch(line -> line.contains("ux_users_email_lower"));
+            assertThat(plan).anyMatch(line -> line.contains("ux_users_username_lower"));
+            assertThat(plan).noneMatch(line -> line.contains("Seq Scan"));
+        } finally {
+            jdbc.execute("reset enable_seqscan");
+        }
+    }
+
+    @Test
+    void loginMatchesEmailOrUsername_ignoringCase_withRolesInTheSameRow() {
+        LoginLookup lookup = new LoginLookup(JdbcClient.create(jdbc));
+        assertThat(lookup.find("alice@example.com")).hasValueSatisfying(u -> assertThat(u.roles()).containsExactly("USER"));
+        assertThat(lookup.find("alice")).hasValueSatisfying(u -> assertThat(u.username()).isEqualTo("Alice"));
+        assertThat(lookup.find("nobody")).isEmpty();
+        assertThatThrownBy(() -> jdbc.update(
+                "insert into users (email, username, password_hash) values ('other@example.com', 'ALICE', 'x')"))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+}
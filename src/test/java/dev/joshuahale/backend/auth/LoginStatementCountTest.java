@@ -0,0 +1,133 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.dto.LoginRequest;
+import dev.joshuahale.backend.auth.dto.SignupRequest;
+import dev.joshuahale.backend.auth.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements a login really issues, at the JDBC connection, against the real schema:
+ * the single user + roles lookup and the session insert, nothing else. Only the calling thread is
+ * counted, so the write-behind flush and other background work do not interfere.
+ */
+@SpringBootTest(properties = "auth.session.purge.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class LoginStatementCountTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("cors.allowed-origins", () -> "http://localhost");
+        registry.add("contact.recipient.email", () -> "owner@example.com");
+        registry.add("contact.from.email", () -> "noreply@example.com");
+    }
+
+    @TestConfiguration
+    static class CountStatements {
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String name) {
+                    return bean instanceof DataSource ds && "dataSource".equals(name) ? new StatementLog(ds) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired AuthService authService;
+    @Autowired StatementLog statements;
+
+    @Test
+    void login_isOneLookupAndOneSessionInsert() {
+        SignupRequest signup = new SignupRequest();
+        signup.setEmail("counted@example.com");
+        signup.setUsername("counted");
+        signup.setPassword("CorrectHorseBatteryStaple1!");
+        authService.register(signup);
+
+        LoginRequest login = new LoginRequest();
+        login.setEmailOrUsername("Counted@Example.com");
+        login.setPassword("CorrectHorseBatteryStaple1!");
+        List<String> sql = statements.during(() -> authService.login(login, "JUnit", "203.0.113.1"));
+
+        assertThat(sql).hasSize(2);
+        assertThat(sql.get(0)).contains("with candidate");
+        assertThat(sql.get(1)).containsIgnoringCase("insert into sessions");
+    }
+
+    // Records every statement prepared or created on the recording thread's connections
+    static final class StatementLog extends DelegatingDataSource {
+
+        private final List<String> sql = new CopyOnWriteArrayList<>();
+        private volatile Thread recording;
+
+        StatementLog(DataSource target) {
+            super(target);
+        }
+
+        List<String> during(Runnable action) {
+            sql.clear();
+            recording = Thread.currentThread();
+            try {
+                action.run();
+            } finally {
+                recording = null;
+            }
+            return List.copyOf(sql);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private Connection counting(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (recording == Thread.currentThread()
+                                && (name.startsWith("prepare") || name.equals("createStatement"))) {
+                            sql.add(args != null && args.length > 0 && args[0] instanceof String s ? s : name);
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
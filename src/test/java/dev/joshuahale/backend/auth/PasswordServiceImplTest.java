@@ -0,0 +1,78 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.service.PasswordHashingBusyException;
+import dev.joshuahale.backend.auth.service.impl.PasswordServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordServiceImplTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor executor = executor();
+    private final PasswordServiceImpl passwords = new PasswordServiceImpl(executor, registry, Duration.ofSeconds(3), 4);
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        return executor;
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void hashAndVerify_runOnTheExecutor_andAreTimed() {
+        String hash = passwords.hash("correct horse");
+
+        assertThat(passwords.verify("correct horse", hash)).isTrue();
+        assertThat(passwords.verify("wrong", hash)).isFalse();
+        assertThat(registry.get("auth.password.hash").tag("op", "hash").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.password.hash").tag("op", "verify").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void hashesWithAnotherCost_needRehash() {
+        String seededAdmin = "$2a$12$T7rD5Kym9qu.8VdT6DmLQOMR9IfD1rZWuWz4qR4L2yMqB7Sik/F2G";
+
+        assertThat(passwords.needsRehash(seededAdmin)).isTrue();
+        assertThat(passwords.needsRehash(passwords.hash("pw"))).isFalse();
+        assertThat(passwords.needsRehash("not-a-bcrypt-hash")).isFalse();
+        assertThat(registry.get("auth.password.bcrypt.cost").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void saturatedQueue_failsFastWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try { release.await(); } catch (InterruptedException ignored) { }
+        });
+        running.await();
+        executor.execute(() -> { });   // fills the one queue slot
+
+        try {
+            assertThatThrownBy(() -> passwords.verify("pw", "$2a$12$abcdefghijklmnopqrstuu"))
+                    .isInstanceOf(PasswordHashingBusyException.class)
+                    .extracting(e -> ((PasswordHashingBusyException) e).getRetryAfter())
+                    .isEqualTo(Duration.ofSeconds(3));
+            assertThat(registry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+            assertThat(registry.get("auth.password.queue.depth").gauge().value()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+}
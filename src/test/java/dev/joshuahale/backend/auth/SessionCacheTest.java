@@ -0,0 +1,105 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.service.SessionCache;
+import dev.joshuahale.backend.auth.service.SessionCache.CachedSession;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-10-01T12:00:00Z"));
+    private final SessionCache cache = new SessionCache(true, 100, Duration.ofSeconds(60), clock);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Supplier<Optional<CachedSession>> loader(long userId, OffsetDateTime expiresAt) {
+        return () -> {
+            loads.incrementAndGet();
+            return Optional.of(new CachedSession(new AuthResponse(userId, "u" + userId, "u@x", Set.of()), expiresAt, OffsetDateTime.now()));
+        };
+    }
+
+    private OffsetDateTime in(Duration d) {
+        return clock.instant().plus(d).atOffset(ZoneOffset.UTC);
+    }
+
+    @Test
+    void hitsSkipTheLoader_untilTtlOrSessionExpiry() {
+        assertThat(cache.get("a", loader(1, in(Duration.ofDays(7))))).isPresent();
+        assertThat(cache.get("a", loader(1, in(Duration.ofDays(7))))).isPresent();
+        assertThat(loads).hasValue(1);
+
+        clock.advance(Duration.ofSeconds(61));
+        cache.get("a", loader(1, in(Duration.ofDays(7))));
+        assertThat(loads).hasValue(2);
+
+        // A session ending in 5s is only cached for 5s, not the full ttl
+        cache.get("b", loader(2, in(Duration.ofSeconds(5))));
+        clock.advance(Duration.ofSeconds(6));
+        cache.get("b", loader(2, in(Duration.ofSeconds(5))));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void revocations_evictByTokenAndByUser() {
+        cache.get("a", loader(1, in(Duration.ofDays(1))));
+        cache.get("b", loader(1, in(Duration.ofDays(1))));
+        cache.get("c", loader(2, in(Duration.ofDays(1))));
+
+        cache.evict("a");
+        cache.evictUser(1L);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.get("c", loader(2, in(Duration.ofDays(1))));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void loadThatRacedWithARevocation_isNotCached() {
+        Optional<AuthResponse> result = cache.get("a", () -> {
+            cache.evict("a");   // revoked while this lookup was reading the database
+            return loader(1, in(Duration.ofDays(1))).get();
+        });
+
+        assertThat(result).isPresent();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidTokens_areNotCached_andSizeStaysBounded() {
+        SessionCache small = new SessionCache(true, 3, Duration.ofSeconds(60), clock);
+        small.get("nope", Optional::empty);
+        assertThat(small.size()).isZero();
+
+        for (int i = 0; i < 10; i++) {
+            small.get("t" + i, loader(i, in(Duration.ofDays(1))));
+        }
+        assertThat(small.size()).isLessThanOrEqualTo(3);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) { this.now = now; }
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+
+        @Override public Clock withZone(ZoneId zone) { return this; }
+
+        @Override public Instant instant() { return now; }
+    }
+}
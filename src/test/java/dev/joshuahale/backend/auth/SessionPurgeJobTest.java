@@ -0,0 +1,78 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.service.SessionPurgeJob;
+import dev.joshuahale.backend.auth.service.SessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionPurgeJobTest {
+
+    private final SessionService sessionService = mock(SessionService.class);
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2025-10-10T15:00:00Z"), ZoneOffset.UTC);
+
+    private SessionPurgeJob job(String strategy) {
+        return new SessionPurgeJob(sessionService, jdbc, true, Duration.ofHours(1), strategy, 2, clock);
+    }
+
+    @Test
+    void deleteStrategy_onlyRunsTheChunkedPurge() {
+        when(sessionService.purgeExpired()).thenReturn(42L);
+
+        assertThat(job("delete").run()).isEqualTo(42L);
+        verify(jdbc, never()).execute(anyString());
+    }
+
+    @Test
+    void partitionStrategy_dropsPastDays_andCreatesMissingDaysAhead() {
+        when(jdbc.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("sessions_p20251008", "sessions_p20251009", "sessions_p20251010", "sessions_legacy",
+                        "sessions_default"));
+
+        job("partitions").run();
+
+        verify(jdbc).execute("drop table if exists sessions_p20251008");
+        verify(jdbc).execute("drop table if exists sessions_p20251009");
+        verify(jdbc, never()).execute(contains("sessions_legacy"));
+        verify(jdbc, never()).execute(contains("sessions_default"));
+        verify(jdbc, never()).execute(contains("sessions_p20251010 partition of"));
+        verify(jdbc).execute("create table if not exists sessions_p20251011 partition of sessions "
+                + "for values from ('2025-10-11T00:00Z') to ('2025-10-12T00:00Z')");
+        verify(jdbc, times(2)).execute(startsWith("create table"));
+        verify(sessionService).purgeExpired();
+    }
+
+    @Test
+    void partitionStrategy_recreatesAMissingDefault_andMovesItsRowsIntoANewDay() {
+        when(jdbc.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("sessions_p20251010", "sessions_p20251011"));
+        doThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+                .when(jdbc).execute(startsWith("create table if not exists sessions_p20251012"));
+
+        job("partitions").run();
+
+        verify(jdbc).execute("create table if not exists sessions_default partition of sessions default");
+        verify(jdbc).execute(contains("alter table sessions attach partition sessions_p20251012 "
+                + "for values from ('2025-10-12T00:00Z') to ('2025-10-13T00:00Z')"));
+        verify(jdbc, never()).execute(contains("attach partition sessions_p20251011"));
+    }
+}
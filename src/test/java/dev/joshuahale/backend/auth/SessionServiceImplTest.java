@@ -0,0 +1,73 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.repository.InMemorySessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore.StoredSession;
+import dev.joshuahale.backend.auth.service.SessionCache;
+import dev.joshuahale.backend.auth.service.impl.SessionServiceImpl;
+import dev.joshuahale.backend.config.InvalidationBus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.mockito.Mockito.mock;
+
+class SessionServiceImplTest {
+
+    private final InMemorySessionStore store = new InMemorySessionStore(4);
+    private final SessionServiceImpl sessions = new SessionServiceImpl(store,
+            new SessionCache(false, 0, Duration.ZERO), mock(InvalidationBus.class),
+            true, Duration.ofHours(1), Duration.ofDays(30));
+
+    private StoredSession stored(String token, OffsetDateTime expiresAt, OffsetDateTime createdAt) {
+        StoredSession s = new StoredSession(token, 1L, expiresAt, createdAt);
+        store.insert(s);
+        return s;
+    }
+
+    @Test
+    void touch_slidesExpiry_andReturnsTheNewOne() {
+        OffsetDateTime now = OffsetDateTime.now();
+        StoredSession s = stored("young", now.plusDays(1), now.minusDays(6));
+
+        OffsetDateTime extended = sessions.touch(s.token(), s.expiresAt(), s.createdAt()).orElseThrow();
+
+        assertThat(extended).isCloseTo(now.plusDays(7), within(5, SECONDS));
+        assertThat(store.find(s.token()).orElseThrow().expiresAt()).isAtSameInstantAs(extended);
+    }
+
+    @Test
+    void touch_withinGranularity_changesNothing() {
+        OffsetDateTime now = OffsetDateTime.now();
+        StoredSession s = stored("fresh", now.plusDays(7).minusMinutes(5), now);
+
+        assertThat(sessions.touch(s.token(), s.expiresAt(), s.createdAt())).isEmpty();
+    }
+
+    @Test
+    void touch_neverExtendsPastTheMaximumLifetime() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime createdAt = now.minusDays(27);
+        StoredSession s = stored("old", now.plusHours(2), createdAt);
+
+        // Capped at createdAt + 30d, three days out rather than seven
+        assertThat(sessions.touch(s.token(), s.expiresAt(), s.createdAt()))
+                .hasValueSatisfying(e -> assertThat(e).isAtSameInstantAs(createdAt.plusDays(30)));
+
+        // Once at the cap, further use does not move it
+        assertThat(sessions.touch(s.token(), createdAt.plusDays(30), createdAt)).isEmpty();
+    }
+
+    @Test
+    void sessionsOlderThanTheMaximumLifetime_areNotActive() {
+        OffsetDateTime now = OffsetDateTime.now();
+        stored("ancient", now.plusDays(1), now.minusDays(31));
+        stored("current", now.plusDays(1), now.minusDays(29));
+
+        assertThat(sessions.findActive("ancient")).isEmpty();
+        assertThat(sessions.findActive("current")).isPresent();
+    }
+}
@@ -0,0 +1,96 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.repository.FileSessionStore;
+import dev.joshuahale.backend.auth.repository.InMemorySessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore.StoredSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of the single-node session stores under a request-shaped mix from several threads:
+ * 90% lookups, 5% new sessions, 4% sliding extensions, 1% logouts.
+ * Run with -Dbenchmarks=true; prints operations per second per store. (The JPA store's numbers are
+ * those of the database; PostsReadPathBenchmarkTest shows how to measure against a container.)
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SessionStoreBenchmarkTest {
+
+    private static final int PRELOADED = 100_000;
+    private static final int OPS_PER_THREAD = 500_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void singleNodeStores_throughput() throws Exception {
+        measure(new InMemorySessionStore(64));   // warm-up: JIT the driver loop before timing anything
+        InMemorySessionStore memory = new InMemorySessionStore(64);
+        try (FileSessionStore file = new FileSessionStore(dir.resolve("sessions.db"), PRELOADED * 2, false)) {
+            long memoryOps = measure(memory);
+            long fileOps = measure(file);
+            System.out.printf("memory %,12d ops/s%n", memoryOps);
+            System.out.printf("file   %,12d ops/s%n", fileOps);
+            assertThat(memoryOps).isPositive();
+            assertThat(fileOps).isPositive();
+        }
+    }
+
+    private long measure(SessionStore store) throws InterruptedException {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<String> tokens = new ArrayList<>(PRELOADED);
+        for (int i = 0; i < PRELOADED; i++) {
+            String token = "preloaded-" + i;
+            store.insert(new StoredSession(token, (long) (i % 10_000), now.plusDays(7), now));
+            tokens.add(token);
+        }
+
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger created = new AtomicInteger();
+        LongAdder found = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    int op = rnd.nextInt(100);
+                    String token = tokens.get(rnd.nextInt(PRELOADED));
+                    if (op < 90) {
+                        if (store.find(token).isPresent()) found.increment();
+                    } else if (op < 95) {
+                        store.insert(new StoredSession("new-" + created.incrementAndGet(), rnd.nextLong(10_000), now.plusDays(7), now));
+                    } else if (op < 99) {
+                        store.extend(token, now.plusDays(7).plusMinutes(i));
+                    } else {
+                        store.delete(token);
+                    }
+                }
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) w.join();
+        long elapsed = System.nanoTime() - started;
+        assertThat(found.sum()).isPositive();
+        return (long) threads * OPS_PER_THREAD * 1_000_000_000L / elapsed;
+    }
+}
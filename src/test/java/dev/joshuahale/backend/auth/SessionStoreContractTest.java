@@ -0,0 +1,121 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.repository.SessionStore;
+import dev.joshuahale.backend.auth.repository.SessionStore.StoredSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * What SessionServiceImpl relies on from every SessionStore. Subclasses supply a fresh, empty store per test.
+ */
+abstract class SessionStoreContractTest {
+
+    // Micros: the finest resolution every store (Postgres timestamptz included) keeps
+    protected final OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    // createdAt only bounds the session's lifetime; stores may keep it to the second
+    protected final OffsetDateTime createdAt = now.truncatedTo(ChronoUnit.SECONDS);
+
+    protected abstract SessionStore store();
+
+    // A user id sessions may reference (the JPA store has a foreign key)
+    protected abstract Long newUser();
+
+    // Wait for asynchronous writes (extend) to land
+    protected void settle() { }
+
+    private StoredSession session(Long userId, Duration fromNow) {
+        return new StoredSession(UUID.randomUUID().toString(), userId, now.plus(fromNow), createdAt);
+    }
+
+    @Test
+    void insertedSession_isFoundByToken() {
+        StoredSession s = session(newUser(), Duration.ofDays(7));
+        store().insert(s);
+
+        StoredSession found = store().find(s.token()).orElseThrow();
+        assertThat(found.userId()).isEqualTo(s.userId());
+        assertThat(found.expiresAt()).isAtSameInstantAs(s.expiresAt());
+        assertThat(found.createdAt()).isAtSameInstantAs(s.createdAt());
+        assertThat(store().find("no-such-token")).isEmpty();
+    }
+
+    @Test
+    void duplicateToken_isRejected() {
+        StoredSession s = session(newUser(), Duration.ofDays(7));
+        store().insert(s);
+        assertThatThrownBy(() -> store().insert(new StoredSession(s.token(), newUser(), now.plusDays(1), createdAt)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void delete_removesOnlyThatSession() {
+        Long user = newUser();
+        StoredSession a = session(user, Duration.ofDays(7));
+        StoredSession b = session(user, Duration.ofDays(7));
+        store().insert(a);
+        store().insert(b);
+
+        assertThat(store().delete(a.token())).isTrue();
+        assertThat(store().delete(a.token())).isFalse();
+        assertThat(store().find(a.token())).isEmpty();
+        assertThat(store().find(b.token())).isPresent();
+    }
+
+    @Test
+    void deleteByUser_removesEverySessionOfThatUser_only() {
+        Long alice = newUser();
+        Long bob = newUser();
+        for (int i = 0; i < 5; i++) store().insert(session(alice, Duration.ofDays(7)));
+        StoredSession bobs = session(bob, Duration.ofDays(7));
+        store().insert(bobs);
+
+        assertThat(store().deleteByUser(alice)).isEqualTo(5);
+        assertThat(store().deleteByUser(alice)).isZero();
+        assertThat(store().find(bobs.token())).isPresent();
+    }
+
+    @Test
+    void extend_movesExpiryForward_neverBack() {
+        StoredSession s = session(newUser(), Duration.ofDays(1));
+        store().insert(s);
+
+        store().extend(s.token(), now.plusDays(7));
+        store().extend(s.token(), now.plusDays(3));
+        store().extend("no-such-token", now.plusDays(7));
+        settle();
+
+        assertThat(store().find(s.token()).orElseThrow().expiresAt()).isAtSameInstantAs(now.plusDays(7));
+    }
+
+    @Test
+    void purgeExpired_removesOnlySessionsExpiredBeforeTheCutoff() {
+        Long user = newUser();
+        StoredSession expired = session(user, Duration.ofHours(-1));
+        StoredSession longExpired = session(user, Duration.ofDays(-30));
+        StoredSession live = session(user, Duration.ofMinutes(5));
+        StoredSession extended = session(user, Duration.ofMinutes(-5));
+        StoredSession weekOut = session(user, Duration.ofDays(7));
+        for (StoredSession s : new StoredSession[] { expired, longExpired, live, extended, weekOut }) store().insert(s);
+        store().extend(extended.token(), now.plusDays(1));
+        settle();
+
+        assertThat(store().purgeExpired(now)).isEqualTo(2);
+        assertThat(store().find(expired.token())).isEmpty();
+        assertThat(store().find(longExpired.token())).isEmpty();
+        assertThat(store().find(live.token())).isPresent();
+        assertThat(store().find(extended.token())).isPresent();
+
+        // Far enough ahead that the week-out session's expiry has come round too
+        assertThat(store().purgeExpired(now.plusDays(10))).isEqualTo(3);
+        assertThat(store().find(weekOut.token())).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.service.SessionWriteBehind;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionWriteBehindTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2025, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final SessionWriteBehind writeBehind = new SessionWriteBehind(jdbc, Duration.ofSeconds(10), 2);
+
+    @Test
+    void repeatedTouches_coalesceToOneRowPerSessionAndUser_latestValueWins() {
+        for (int i = 0; i < 100; i++) {
+            writeBehind.touchSession("tok", T0.plusSeconds(i));
+            writeBehind.recordLogin(7L, T0.plusSeconds(i));
+        }
+        when(jdbc.update(anyString(), any(Object[].class))).thenReturn(1);
+
+        writeBehind.flush();
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc).update(startsWith("update sessions"), args.capture());
+        assertThat(args.getValue()).containsExactly("tok", T0.plusSeconds(99));
+        verify(jdbc).update(startsWith("update users"), args.capture());
+        assertThat(args.getValue()).containsExactly(7L, T0.plusSeconds(99));
+        assertThat(writeBehind.pending()).isZero();
+    }
+
+    @Test
+    void pendingRows_areWrittenInChunksOfBatchSize() {
+        for (int i = 0; i < 5; i++) writeBehind.touchSession("tok" + i, T0);
+        when(jdbc.update(anyString(), any(Object[].class))).thenReturn(2, 2, 1);
+
+        assertThat(writeBehind.flush()).isEqualTo(5);
+        verify(jdbc, times(3)).update(startsWith("update sessions"), any(Object[].class));
+        verify(jdbc, never()).update(startsWith("update users"), any(Object[].class));
+    }
+
+    @Test
+    void failedFlush_keepsTouchesForTheNextOne() {
+        writeBehind.touchSession("tok", T0);
+        when(jdbc.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(1);
+
+        assertThatThrownBy(writeBehind::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(writeBehind.pending()).isEqualTo(1);
+
+        assertThat(writeBehind.flush()).isEqualTo(1);
+        assertThat(writeBehind.pending()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package dev.joshuahale.backend.auth;
+
+import dev.joshuahale.backend.auth.entity.UserEntity;
+import dev.joshuahale.backend.auth.repository.RevokedSessionRepository;
+import dev.joshuahale.backend.auth.repository.SessionWatermarkRepository;
+import dev.joshuahale.backend.auth.repository.UserRepository;
+import dev.joshuahale.backend.auth.service.SessionCache;
+import dev.joshuahale.backend.auth.service.SessionService.ActiveSession;
+import dev.joshuahale.backend.auth.service.impl.SignedSessionServiceImpl;
+import dev.joshuahale.backend.auth.service.impl.SignedSessionTokens;
+import dev.joshuahale.backend.config.InvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SignedSessionServiceImplTest {
+
+    private static final String OLD_KEY = "k1:" + Base64.getEncoder().encodeToString("o".repeat(32).getBytes());
+    private static final String NEW_KEY = "k2:" + Base64.getEncoder().encodeToString("n".repeat(32).getBytes());
+
+    private final UserRepository users = mock(UserRepository.class);
+    private final RevokedSessionRepository revoked = mock(RevokedSessionRepository.class);
+    private final SessionWatermarkRepository watermarks = mock(SessionWatermarkRepository.class);
+    private SignedSessionServiceImpl sessions;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity alice = mock(UserEntity.class);
+        when(alice.getUsername()).thenReturn("alice");
+        when(alice.getEmail()).thenReturn("alice@example.com");
+        when(alice.getRoles()).thenReturn(Set.of());
+        when(users.findByIdWithRoles(7L)).thenReturn(Optional.of(alice));
+        when(revoked.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(revoked.insertIfAbsent(any(), any(), any())).thenReturn(1);
+        when(watermarks.findAll()).thenReturn(List.of());
+        when(watermarks.findById(7L)).thenReturn(Optional.empty());
+        sessions = service(NEW_KEY + "," + OLD_KEY);
+        sessions.loadRevocations();
+    }
+
+    private SignedSessionServiceImpl service(String keys) {
+        return new SignedSessionServiceImpl(keys, Duration.ofHours(1), users, revoked, watermarks,
+                new SessionCache(true, 100, Duration.ofSeconds(60)), Runnable::run, mock(InvalidationBus.class));
+    }
+
+    @Test
+    void issuedToken_verifiesWithoutQueries_andCarriesThePrincipal() {
+        String token = sessions.create(7L, "JUnit", "127.0.0.1");
+
+        ActiveSession active = sessions.findActive(token).orElseThrow();
+        assertThat(active.userId()).isEqualTo(7L);
+        assertThat(active.principal().getUsername()).isEqualTo("alice");
+        assertThat(active.principal().getEmail()).isEqualTo("alice@example.com");
+
+        // Any tampering breaks the signature
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThat(sessions.findActive(tampered)).isEmpty();
+        assertThat(sessions.findActive("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void revoke_andRevokeAll_rejectTokensInMemory() {
+        String first = sessions.create(7L, "JUnit", "127.0.0.1");
+        String second = sessions.create(7L, "JUnit", "127.0.0.1");
+
+        assertThat(sessions.revoke(first)).isTrue();
+        assertThat(sessions.revoke(first)).isFalse();
+        assertThat(sessions.validate(first)).isEmpty();
+        assertThat(sessions.validate(second)).contains(7L);
+
+        sessions.revokeAll(7L);
+        assertThat(sessions.validate(second)).isEmpty();
+        // Sessions created after the watermark are unaffected
+        assertThat(sessions.validate(sessions.create(7L, "JUnit", "127.0.0.1"))).contains(7L);
+    }
+
+    @Test
+    void revoke_takesEffectOnCommit_andALostRaceIsNotAnError() {
+        String token = sessions.create(7L, "JUnit", "127.0.0.1");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(sessions.revoke(token)).isTrue();
+            // Not committed yet: a rollback must leave the token valid
+            assertThat(sessions.validate(token)).contains(7L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(sessions.validate(token)).isEmpty();
+
+        // Another request inserted the row first
+        String other = sessions.create(7L, "JUnit", "127.0.0.1");
+        when(revoked.insertIfAbsent(any(), any(), any())).thenReturn(0);
+        assertThat(sessions.revoke(other)).isFalse();
+        assertThat(sessions.validate(other)).isEmpty();
+    }
+
+    @Test
+    void keyRotation_oldKeyVerifiesUntilRemoved() {
+        SignedSessionServiceImpl beforeRotation = service(OLD_KEY);
+        String issuedWithOldKey = beforeRotation.create(7L, "JUnit", "127.0.0.1");
+
+        assertThat(sessions.validate(issuedWithOldKey)).contains(7L);
+        assertThat(sessions.create(7L, "JUnit", "127.0.0.1")).startsWith("v1.k2.");
+        assertThat(service(NEW_KEY).validate(issuedWithOldKey)).isEmpty();
+    }
+
+    @Test
+    void expiredTokens_andShortKeys_areRejected() {
+        SignedSessionTokens tokens = new SignedSessionTokens(NEW_KEY);
+        Instant issued = Instant.parse("2025-01-01T00:00:00Z");
+        String token = tokens.issue(7L, "alice", "a@x", Set.of("USER"), issued, issued.plusSeconds(60));
+
+        assertThat(tokens.verify(token, issued.plusSeconds(59))).isPresent();
+        assertThat(tokens.verify(token, issued.plusSeconds(60))).isEmpty();
+        assertThatThrownBy(() -> new SignedSessionTokens("k:" + Base64.getEncoder().encodeToString(new byte[16])))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
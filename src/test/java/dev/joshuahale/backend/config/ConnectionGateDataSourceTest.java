@@ -0,0 +1,61 @@
+package dev.joshuahale.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionGateDataSourceTest {
+
+    @Test
+    void permitIsHeldUntilClose_andReleasedOnlyOnce() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection raw = mock(Connection.class);
+        when(target.getConnection()).thenReturn(raw);
+        ConnectionGateDataSource gated = new ConnectionGateDataSource(target, new ConnectionGate(1, Duration.ofMillis(50)));
+
+        Connection first = gated.getConnection();
+        assertThatThrownBy(gated::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        verify(raw, times(2)).close();
+
+        // Exactly one permit came back: one connection fits, a second still waits
+        Connection second = gated.getConnection();
+        assertThatThrownBy(gated::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+
+    @Test
+    void failedBorrow_returnsThePermit() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionGateDataSource gated = new ConnectionGateDataSource(target, new ConnectionGate(1, Duration.ofMillis(50)));
+
+        assertThatThrownBy(gated::getConnection).hasMessage("pool exhausted");
+        assertThatThrownBy(gated::getConnection).hasMessage("pool exhausted");
+    }
+
+    @Test
+    void callsOtherThanClose_goToTheRealConnection() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection raw = mock(Connection.class);
+        when(target.getConnection()).thenReturn(raw);
+        when(raw.getAutoCommit()).thenReturn(false);
+        ConnectionGateDataSource gated = new ConnectionGateDataSource(target, new ConnectionGate(1, Duration.ofMillis(50)));
+
+        try (Connection c = gated.getConnection()) {
+            assertThat(c.getAutoCommit()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.joshuahale.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two buses on one real Postgres: events cross over NOTIFY, and a killed LISTEN connection is
+ * re-established with a resync.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class InvalidationBusPostgresTest {
+
+    @Container
+    static PostgreSQLContainer<?> pg = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final List<InvalidationBus> started = new CopyOnWriteArrayList<>();
+
+    private InvalidationBus node() {
+        DataSourceProperties props = new DataSourceProperties();
+        props.setUrl(pg.getJdbcUrl());
+        props.setUsername(pg.getUsername());
+        props.setPassword(pg.getPassword());
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(pg.getJdbcUrl(), pg.getUsername(), pg.getPassword()));
+        InvalidationBus bus = new InvalidationBus(jdbc, props, true, "cache_invalidation", 100, Duration.ofSeconds(1));
+        started.add(bus);
+        return bus;
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        for (InvalidationBus bus : started) bus.stop();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 15s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static int listeners(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("select count(*) from pg_stat_activity where query like 'LISTEN%' or query = 'select 1'",
+                Integer.class);
+    }
+
+    @Test
+    void eventsCrossNodes_andAKilledListenerReconnectsWithAResync() throws InterruptedException {
+        InvalidationBus a = node();
+        InvalidationBus b = node();
+        List<String> seen = new CopyOnWriteArrayList<>();
+        AtomicInteger resyncs = new AtomicInteger();
+        b.subscribe("post", seen::add, resyncs::incrementAndGet);
+        a.start();
+        b.start();
+        JdbcTemplate admin = new JdbcTemplate(new DriverManagerDataSource(pg.getJdbcUrl(), pg.getUsername(), pg.getPassword()));
+        await(() -> listeners(admin) == 2);
+
+        a.publish("post", "1");
+        a.publish("post", "2");
+        await(() -> seen.size() == 2);
+        assertThat(seen).containsExactly("1", "2");
+        assertThat(resyncs).hasValue(0);
+
+        admin.queryForList("select pg_terminate_backend(pid) from pg_stat_activity "
+                + "where pid <> pg_backend_pid() and (query like 'LISTEN%' or query = 'select 1')");
+        await(() -> resyncs.get() >= 1);
+        await(() -> listeners(admin) == 2);
+
+        a.publish("post", "3");
+        await(() -> seen.contains("3"));
+    }
+}
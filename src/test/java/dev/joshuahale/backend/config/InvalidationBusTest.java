@@ -0,0 +1,138 @@
+package dev.joshuahale.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Event handling without a database: payloads are handed from one bus's queue to another's receive().
+ */
+class InvalidationBusTest {
+
+    private static InvalidationBus bus(int maxQueued) {
+        return new InvalidationBus(mock(JdbcTemplate.class), new DataSourceProperties(), true,
+                "cache_invalidation", maxQueued, Duration.ofSeconds(30));
+    }
+
+    private final InvalidationBus a = bus(100);
+    private final InvalidationBus b = bus(100);
+    private final List<String> seen = new ArrayList<>();
+    private final AtomicInteger resyncs = new AtomicInteger();
+
+    {
+        b.subscribe("post", seen::add, resyncs::incrementAndGet);
+    }
+
+    private void deliver(List<String> payloads, InvalidationBus to) {
+        payloads.forEach(to::receive);
+    }
+
+    @Test
+    void eventsReachOtherNodes_inOrder_butNotTheSender() {
+        a.publish("post", "1");
+        a.publish("post", "2");
+        a.publish("other", "3");
+
+        deliver(a.queued(), b);
+        assertThat(seen).containsExactly("1", "2");
+        assertThat(resyncs).hasValue(0);
+
+        // The sender's own events come back over LISTEN too; they are skipped
+        b.publish("post", "4");
+        b.queued().forEach(b::receive);
+        assertThat(seen).containsExactly("1", "2");
+    }
+
+    @Test
+    void sequenceGap_resyncsInsteadOfApplying() {
+        a.publish("post", "1");
+        a.publish("post", "2");
+        a.publish("post", "3");
+        List<String> sent = a.queued();
+
+        b.receive(sent.get(0));
+        b.receive(sent.get(2));   // the second one was lost
+        assertThat(seen).containsExactly("1");
+        assertThat(resyncs).hasValue(1);
+
+        a.publish("post", "4");
+        deliver(a.queued().subList(3, 4), b);
+        assertThat(seen).containsExactly("1", "4");
+        assertThat(resyncs).hasValue(1);
+    }
+
+    @Test
+    void concurrentPublishers_queueInSequenceOrder_soReceiversNeverResync() throws Exception {
+        InvalidationBus busy = bus(100_000);
+        int threads = 8;
+        int perThread = 2_000;
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            publishers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) busy.publish("post", id + "-" + i);
+            }));
+        }
+        go.countDown();
+        for (Thread t : publishers) t.join();
+
+        deliver(busy.queued(), b);
+        assertThat(resyncs).hasValue(0);
+        assertThat(seen).hasSize(threads * perThread);
+    }
+
+    @Test
+    void fullQueue_dropsTheEvent_andCountsIt() {
+        InvalidationBus small = bus(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        small.bindTo(registry);
+
+        small.publish("post", "1");
+        small.publish("post", "2");   // dropped: its sequence number is spent, so receivers will see a gap
+
+        assertThat(small.queued()).hasSize(1);
+        assertThat(registry.get("cache.invalidation.dropped").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void insideATransaction_nothingIsQueuedUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            a.publish("post", "1");
+            assertThat(a.queued()).isEmpty();
+
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCommit();
+            }
+            assertThat(a.queued()).hasSize(1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void disabledBus_publishesNothing() {
+        InvalidationBus off = new InvalidationBus(mock(JdbcTemplate.class), new DataSourceProperties(), false,
+                "cache_invalidation", 100, Duration.ofSeconds(30));
+        off.publish("post", "1");
+        assertThat(off.queued()).isEmpty();
+    }
+}
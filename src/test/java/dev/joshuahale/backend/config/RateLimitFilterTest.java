@@ -0,0 +1,96 @@
+package dev.joshuahale.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joshuahale.backend.config.RateLimitFilter.Route;
+import dev.joshuahale.backend.config.TokenBucketLimiter.Limit;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<String> bodiesSeen = new ArrayList<>();
+    private final FilterChain controller = (req, res) ->
+            bodiesSeen.add(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+    private final RateLimitFilter filter = new RateLimitFilter(List.of(
+            new Route("login", PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/auth/login"),
+                    Limit.parse("3/1m"), Limit.parse("2/1m"))),
+            new TokenBucketLimiter(1000, nanos::get), new ObjectMapper());
+
+    // Behind nginx (the 127.0.0.1 socket peer) and the load balancer (10.0.0.1), which append what they saw
+    private MockHttpServletResponse login(String ip, String identifier) throws Exception {
+        return login(ip + ", 10.0.0.1", "127.0.0.1", identifier);
+    }
+
+    private MockHttpServletResponse login(String forwardedFor, String peer, String identifier) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", "/auth/login");
+        req.setRemoteAddr(peer);
+        if (forwardedFor != null) req.addHeader("X-Forwarded-For", forwardedFor);
+        req.setContent(("{\"emailOrUsername\":\"" + identifier + "\",\"password\":\"pw\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, controller);
+        return res;
+    }
+
+    @Test
+    void burstUpToCapacity_thenTooManyRequestsWithRetryAfter_thenRefills() throws Exception {
+        assertThat(login("203.0.113.1", "a").getStatus()).isEqualTo(200);
+        assertThat(login("203.0.113.1", "b").getStatus()).isEqualTo(200);
+        assertThat(login("203.0.113.1", "c").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse throttled = login("203.0.113.1", "d");
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader("Retry-After")).isEqualTo("20");   // one token per 20s
+        assertThat(login("198.51.100.7", "d").getStatus()).isEqualTo(200);   // other clients unaffected
+
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        assertThat(login("203.0.113.1", "d").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void loginIdentifier_isLimitedAcrossAddresses_caseInsensitively() throws Exception {
+        assertThat(login("203.0.113.1", "Alice").getStatus()).isEqualTo(200);
+        assertThat(login("203.0.113.2", "alice").getStatus()).isEqualTo(200);
+        assertThat(login("203.0.113.3", " ALICE ").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void bodyIsReplayedToTheController_andOtherRoutesAreNotFiltered() throws Exception {
+        login("203.0.113.1", "alice");
+        assertThat(bodiesSeen).containsExactly("{\"emailOrUsername\":\"alice\",\"password\":\"pw\"}");
+
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/auth/login"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/posts"))).isTrue();
+    }
+
+    @Test
+    void spoofedForwardedFor_stillSharesOneBucket() throws Exception {
+        // The client prepends whatever it likes; the load balancer appends the address it really saw
+        assertThat(login("1.1.1.1, 203.0.113.9, 10.0.0.1", "127.0.0.1", "a").getStatus()).isEqualTo(200);
+        assertThat(login("2.2.2.2, 203.0.113.9, 10.0.0.1", "127.0.0.1", "b").getStatus()).isEqualTo(200);
+        assertThat(login("10.9.9.9, 203.0.113.9, 10.0.0.1", "127.0.0.1", "c").getStatus()).isEqualTo(200);
+        assertThat(login("198.51.100.4, 203.0.113.9, 10.0.0.1", "127.0.0.1", "d").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void forwardedFor_isIgnored_unlessThePeerIsATrustedProxy() throws Exception {
+        // Straight to the app, bypassing the proxies: the socket address is all there is
+        assertThat(login("1.1.1.1", "203.0.113.50", "a").getStatus()).isEqualTo(200);
+        assertThat(login("2.2.2.2", "203.0.113.50", "b").getStatus()).isEqualTo(200);
+        assertThat(login("3.3.3.3", "203.0.113.50", "c").getStatus()).isEqualTo(200);
+        assertThat(login(null, "203.0.113.50", "d").getStatus()).isEqualTo(429);
+    }
+}
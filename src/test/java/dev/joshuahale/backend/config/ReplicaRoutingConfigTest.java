@@ -0,0 +1,27 @@
+package dev.joshuahale.backend.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingConfigTest {
+
+    private static MockHttpServletRequest viaLoadBalancer(String client) {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/posts");
+        req.setRemoteAddr("127.0.0.1");
+        req.addHeader("X-Forwarded-For", client + ", 10.0.0.1");
+        return req;
+    }
+
+    @Test
+    void readYourWritesKeys_areTheClientAndItsSession_notTheLoadBalancer() {
+        MockHttpServletRequest anonymous = viaLoadBalancer("203.0.113.1");
+        MockHttpServletRequest signedIn = viaLoadBalancer("198.51.100.2");
+        signedIn.setCookies(new Cookie("sid", "tok"));
+
+        assertThat(ReplicaRoutingConfig.clientKeys(anonymous)).containsExactly("ip:203.0.113.1");
+        assertThat(ReplicaRoutingConfig.clientKeys(signedIn)).containsExactly("ip:198.51.100.2", "sid:tok");
+    }
+}
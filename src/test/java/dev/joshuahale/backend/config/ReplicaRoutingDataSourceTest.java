@@ -0,0 +1,115 @@
+package dev.joshuahale.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two independent Postgres containers stand in for primary and replica; each answers "who am I"
+ * from its own table, which shows where a transaction was routed.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> pg, String name) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl(pg.getJdbcUrl());
+        ds.setUsername(pg.getUsername());
+        ds.setPassword(pg.getPassword());
+        ds.setPoolName(name);
+        JdbcTemplate init = new JdbcTemplate(ds);
+        init.execute("create table if not exists whoami (name text)");
+        init.execute("truncate whoami");
+        init.update("insert into whoami values (?)", name);
+        return ds;
+    }
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofMillis(300));
+        routing = new ReplicaRoutingDataSource(pool(primary, "primary"), List.of(pool(replica, "replica")),
+                tracker, Duration.ofSeconds(2));
+        routing.checkLag();
+        DataSource ds = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(ds);
+        writeTx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+        readTx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+        readTx.setReadOnly(true);
+        tracker.bind(List.of("ip:127.0.0.1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.clear();
+        routing.close();
+    }
+
+    private String readWhoAmI() {
+        return readTx.execute(s -> jdbc.queryForObject("select name from whoami order by name limit 1", String.class));
+    }
+
+    @Test
+    void readOnlyTransactions_goToReplica_writesToPrimary() {
+        assertThat(readWhoAmI()).isEqualTo("replica");
+        String written = writeTx.execute(s -> jdbc.queryForObject("select name from whoami order by name limit 1", String.class));
+        assertThat(written).isEqualTo("primary");
+    }
+
+    @Test
+    void readsStickToPrimary_withinWindowAfterAWrite() throws Exception {
+        writeTx.executeWithoutResult(s -> jdbc.update("insert into whoami values ('written')"));
+
+        assertThat(readWhoAmI()).isEqualTo("primary");
+        Thread.sleep(400);
+        assertThat(readWhoAmI()).isEqualTo("replica");
+    }
+
+    @Test
+    void otherClients_andLaggingOrUnreachableReplicas() {
+        writeTx.executeWithoutResult(s -> jdbc.update("insert into whoami values ('written')"));
+        tracker.bind(List.of("ip:10.0.0.2"));
+        assertThat(readWhoAmI()).isEqualTo("replica");
+
+        HikariDataSource dead = new HikariDataSource();
+        dead.setJdbcUrl("jdbc:postgresql://127.0.0.1:1/none");
+        dead.setInitializationFailTimeout(-1);
+        dead.setConnectionTimeout(250);
+        ReplicaRoutingDataSource noReplica = new ReplicaRoutingDataSource(
+                pool(primary, "primary"), List.of(dead), tracker, Duration.ofSeconds(2));
+        noReplica.checkLag();
+        JdbcTemplate viaDead = new JdbcTemplate(new LazyConnectionDataSourceProxy(noReplica));
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(viaDead.getDataSource()));
+        tx.setReadOnly(true);
+
+        String fallback = tx.execute(s -> viaDead.queryForObject("select name from whoami order by name limit 1", String.class));
+        assertThat(fallback).isEqualTo("primary");
+        assertThat(noReplica.replicaLag()).containsEntry("replica-1", -1L);
+        noReplica.close();
+    }
+}
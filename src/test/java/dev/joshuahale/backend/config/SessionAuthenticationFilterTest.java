@@ -0,0 +1,98 @@
+package dev.joshuahale.backend.config;
+
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.AuthService.CurrentSession;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionAuthenticationFilterTest {
+
+    private final AuthService authService = mock(AuthService.class);
+    private final SessionAuthenticationFilter filter = new SessionAuthenticationFilter(authService);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", path);
+        req.setCookies(new Cookie("sid", "tok"));
+        return req;
+    }
+
+    @Test
+    void sessionIsNotLookedUp_unlessSomethingAsksForAuthentication() throws Exception {
+        FilterChain publicRead = (req, res) -> { };
+        filter.doFilter(request("/api/posts"), new MockHttpServletResponse(), publicRead);
+
+        verify(authService, never()).currentSession(any());
+    }
+
+    @Test
+    void sessionIsResolvedOnce_onFirstAccess() throws Exception {
+        when(authService.currentSession("tok")).thenReturn(Optional.of(new CurrentSession(alice(), null)));
+        Authentication[] seen = new Authentication[2];
+        FilterChain protectedRoute = (req, res) -> {
+            seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            seen[1] = SecurityContextHolder.getContext().getAuthentication();
+        };
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/admin/thing"), response, protectedRoute);
+
+        assertThat(((AuthResponse) seen[0].getPrincipal()).getUserId()).isEqualTo(7L);
+        assertThat(seen[1]).isSameAs(seen[0]);
+        verify(authService, times(1)).currentSession("tok");
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).isNull();   // expiry did not move
+    }
+
+    @Test
+    void slidingExtension_reissuesTheCookie_withTheNewMaxAge() throws Exception {
+        OffsetDateTime extendedTo = OffsetDateTime.now().plusDays(7);
+        when(authService.currentSession("tok")).thenReturn(Optional.of(new CurrentSession(alice(), extendedTo)));
+        FilterChain protectedRoute = (req, res) -> SecurityContextHolder.getContext().getAuthentication();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/admin/thing"), response, protectedRoute);
+
+        Cookie sid = response.getCookie("sid");
+        assertThat(sid).isNotNull();
+        assertThat(sid.getValue()).isEqualTo("tok");
+        assertThat(sid.getMaxAge()).isBetween(7 * 24 * 3600 - 60, 7 * 24 * 3600);
+        assertThat(sid.isHttpOnly()).isTrue();
+    }
+
+    private static AuthResponse alice() {
+        return new AuthResponse(7L, "alice", "a@x", Set.of());
+    }
+
+    @Test
+    void sessionlessPublicRoutes_skipTheFilter_otherRoutesDoNot() {
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/media/original/abc.jpg"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/auth/login"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/home"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/posts/hello"))).isFalse();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/metrics"))).isFalse();
+    }
+}
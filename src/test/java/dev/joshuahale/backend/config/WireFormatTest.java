@@ -0,0 +1,119 @@
+package dev.joshuahale.backend.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.joshuahale.backend.posts.dto.PostRequest;
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatTest {
+
+    private static final Type POST_LIST = new TypeReference<List<PostResponse>>() { }.getType();
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ProtobufWireConverter protobuf = new ProtobufWireConverter();
+
+    private List<PostResponse> samplePosts(int n) {
+        List<PostResponse> posts = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            PostResponse r = new PostResponse();
+            r.setId((long) i);
+            r.setTitle("Post number " + i);
+            r.setSlug("post-number-" + i);
+            r.setContent("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(20));
+            r.setHeroImage(i % 2 == 0 ? "https://cdn.example.com/hero/" + i + ".jpg" : null);
+            r.setCreatedAt(OffsetDateTime.parse("2025-09-29T12:00:00Z").plusDays(i));
+            r.setUpdatedAt(OffsetDateTime.parse("2025-09-29T12:00:00Z").plusDays(i));
+            posts.add(r);
+        }
+        return posts;
+    }
+
+    @Test
+    void binaryEncodings_areSmallerThanJson_forPostLists() throws Exception {
+        List<PostResponse> posts = samplePosts(50);
+
+        int jsonSize = json.writeValueAsBytes(posts).length;
+        int cborSize = cbor.writeValueAsBytes(posts).length;
+        int smileSize = smile.writeValueAsBytes(posts).length;
+        int protoSize = protobuf.encode(posts, POST_LIST).length;
+
+        assertThat(cborSize).isLessThan(jsonSize);
+        assertThat(smileSize).isLessThan(jsonSize);
+        assertThat(protoSize).isLessThan(cborSize);
+    }
+
+    @Test
+    void protobuf_roundTripsPostRequest_andWritesPostList() throws Exception {
+        PostRequest request = new PostRequest();
+        request.setTitle("Hello");
+        request.setContent("Body");
+        request.setSlug("hello");
+
+        // Encode against the published schema, then decode through the HTTP read path
+        byte[] encoded = protobuf.encode(request, PostRequest.class);
+        MockHttpInputMessage in = new MockHttpInputMessage(encoded);
+        in.getHeaders().setContentType(ProtobufWireConverter.APPLICATION_PROTOBUF);
+        PostRequest decoded = (PostRequest) protobuf.read(PostRequest.class, null, in);
+
+        assertThat(decoded.getTitle()).isEqualTo("Hello");
+        assertThat(decoded.getContent()).isEqualTo("Body");
+        assertThat(decoded.getSlug()).isEqualTo("hello");
+
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+        assertThat(protobuf.canWrite(POST_LIST, List.class, ProtobufWireConverter.APPLICATION_PROTOBUF)).isTrue();
+        protobuf.write(samplePosts(2), POST_LIST, ProtobufWireConverter.APPLICATION_PROTOBUF, out);
+        assertThat(out.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("application/x-protobuf");
+        assertThat(out.getBodyAsBytes()).isNotEmpty();
+    }
+
+    // Run with -Dbenchmarks=true; prints payload size and single-thread encode throughput per format
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_payloadSizeAndThroughput() throws Exception {
+        List<PostResponse> posts = samplePosts(100);
+        Map<String, Encoder> formats = new LinkedHashMap<>();
+        formats.put("json", () -> json.writeValueAsBytes(posts));
+        formats.put("cbor", () -> cbor.writeValueAsBytes(posts));
+        formats.put("smile", () -> smile.writeValueAsBytes(posts));
+        formats.put("protobuf", () -> protobuf.encode(posts, POST_LIST));
+
+        for (var e : formats.entrySet()) {
+            Encoder enc = e.getValue();
+            for (int i = 0; i < 2_000; i++) enc.encode(); // warm-up
+            int iterations = 5_000;
+            long start = System.nanoTime();
+            int size = 0;
+            for (int i = 0; i < iterations; i++) size = enc.encode().length;
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-9s %7d bytes  %10.0f lists/s%n", e.getKey(), size, iterations / seconds);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode() throws Exception;
+    }
+}
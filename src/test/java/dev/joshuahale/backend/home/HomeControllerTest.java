@@ -0,0 +1,40 @@
+package dev.joshuahale.backend.home;
+
+import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.config.SecurityConfig;
+import dev.joshuahale.backend.home.controller.HomeController;
+import dev.joshuahale.backend.home.service.HomeService;
+import dev.joshuahale.backend.home.service.HomeUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = HomeController.class, properties = "cors.allowed-origins=http://localhost:5173")
+@Import(SecurityConfig.class)
+class HomeControllerTest {
+
+    @Autowired MockMvc mvc;
+
+    @MockitoBean HomeService homeService;
+    @MockitoBean AuthService authService;
+
+    @Test
+    void latestPostsMissingTheDeadline_is503() throws Exception {
+        Mockito.when(homeService.load(anyInt(), any()))
+                .thenThrow(new HomeUnavailableException("Homepage data not ready before the deadline", new TimeoutException()));
+
+        mvc.perform(get("/api/home"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,107 @@
+package dev.joshuahale.backend.home;
+
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.AuthService.CurrentSession;
+import dev.joshuahale.backend.config.ReadYourWritesTracker;
+import dev.joshuahale.backend.home.dto.HomeResponse;
+import dev.joshuahale.backend.home.service.HomeServiceImpl;
+import dev.joshuahale.backend.posts.dto.ArchiveMonth;
+import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.service.PostsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HomeServiceImplTest {
+
+    private final PostsService posts = mock(PostsService.class);
+    private final AuthService auth = mock(AuthService.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private PostResponse post(long id) {
+        PostResponse r = new PostResponse();
+        r.setId(id);
+        r.setTitle("Post " + id);
+        r.setSlug("post-" + id);
+        return r;
+    }
+
+    private static <T> T slow(long millis, T value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    @Test
+    void subQueries_runInParallel_andComposeOnePayload() throws Exception {
+        AuthResponse me = new AuthResponse(1L, "admin", "admin@example.com", Set.of("ADMIN"));
+        when(posts.listLatest(anyInt(), any())).thenAnswer(i -> slow(300, List.of(post(2), post(1))));
+        when(posts.archive()).thenAnswer(i -> slow(300, List.of(new ArchiveMonth(2025, 9, 2L))));
+        when(auth.currentSession("token")).thenAnswer(i -> slow(300, Optional.of(new CurrentSession(me, null))));
+        HomeServiceImpl service = new HomeServiceImpl(posts, auth, executor, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        HomeResponse home = service.load(5, "token");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(800);   // the slowest part, not the sum (900ms)
+        assertThat(home.getLatest()).extracting(m -> m.get("id")).containsExactly(2L, 1L);
+        assertThat(home.getLatest().get(0)).doesNotContainKey("content");
+        assertThat(home.getArchive()).singleElement().extracting(ArchiveMonth::getCount).isEqualTo(2L);
+        assertThat(home.getCurrentUser()).isSameAs(me);
+    }
+
+    @Test
+    void slowSecondaryParts_areOmittedAtTheDeadline_andAnonymousSkipsUserLookup() {
+        when(posts.listLatest(anyInt(), any())).thenReturn(List.of(post(1)));
+        when(posts.archive()).thenAnswer(i -> slow(5_000, List.of()));
+        HomeServiceImpl service = new HomeServiceImpl(posts, auth, executor, Duration.ofMillis(200));
+
+        HomeResponse home = service.load(5, null);
+
+        assertThat(home.getLatest()).hasSize(1);
+        assertThat(home.getArchive()).isNull();
+        assertThat(home.getCurrentUser()).isNull();
+        verify(auth, never()).currentSession(any());
+    }
+
+    @Test
+    void subQueries_readAsTheCallingClient() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        ConcurrentLinkedQueue<Boolean> sticky = new ConcurrentLinkedQueue<>();
+        when(posts.listLatest(anyInt(), any())).thenAnswer(i -> { sticky.add(tracker.isSticky()); return List.of(); });
+        when(posts.archive()).thenAnswer(i -> { sticky.add(tracker.isSticky()); return List.of(); });
+        when(auth.currentSession("token")).thenAnswer(i -> { sticky.add(tracker.isSticky()); return Optional.empty(); });
+        HomeServiceImpl service = new HomeServiceImpl(posts, auth, executor, Duration.ofSeconds(5));
+
+        tracker.bind(List.of("ip:203.0.113.1"));
+        try {
+            tracker.recordWrite();      // the caller just wrote: its reads must stay on the primary
+            service.load(5, "token");
+        } finally {
+            tracker.clear();
+        }
+
+        assertThat(sticky).hasSize(3).containsOnly(true);
+    }
+}
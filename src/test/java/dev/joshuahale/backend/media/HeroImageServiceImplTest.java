@@ -0,0 +1,178 @@
+package dev.joshuahale.backend.media;
+
+import dev.joshuahale.backend.config.InvalidationBus;
+import dev.joshuahale.backend.media.dto.HeroImageResponse;
+import dev.joshuahale.backend.media.entity.PostImageEntity;
+import dev.joshuahale.backend.media.repository.PostImagesRepository;
+import dev.joshuahale.backend.media.service.HeroImageServiceImpl;
+import dev.joshuahale.backend.media.service.HeroImageServiceImpl.InvalidImageException;
+import dev.joshuahale.backend.media.service.MediaStorage;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import dev.joshuahale.backend.posts.repository.EmbeddedPostsRepository;
+import dev.joshuahale.backend.posts.repository.PostContentDictionaryRepository;
+import dev.joshuahale.backend.posts.repository.PostsReader;
+import dev.joshuahale.backend.posts.service.PostContentCodec;
+import dev.joshuahale.backend.posts.service.PostTitleIndex;
+import dev.joshuahale.backend.posts.service.PostsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HeroImageServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    private final PostImagesRepository images = mock(PostImagesRepository.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final List<Runnable> resizes = new ArrayList<>();
+    private EmbeddedPostsRepository log;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (log != null) log.close();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    // The embedded profile: posts in the append-only log, image metadata in the database
+    private HeroImageServiceImpl embedded() {
+        return embedded(1_000_000, 40_000_000);
+    }
+
+    private HeroImageServiceImpl embedded(long maxUploadBytes, long maxPixels) {
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        log = new EmbeddedPostsRepository(dir.resolve("posts.log"), DataSize.ofKilobytes(4), true,
+                DataSize.ofMegabytes(1), 0.5, Runnable::run);
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        PostsServiceImpl posts = new PostsServiceImpl(log, mock(PostsReader.class), new PostTitleIndex(log),
+                new PostContentCodec(mock(PostContentDictionaryRepository.class), false, 4096), images, tx,
+                mock(InvalidationBus.class), Runnable::run, Duration.ofSeconds(5), Duration.ofSeconds(60));
+        MediaStorage storage = new MediaStorage(dir.resolve("media").toString(), "/media");
+        return new HeroImageServiceImpl(images, posts, storage, resizes::add, tx,
+                new int[] {480, 960}, maxUploadBytes, maxPixels, 0.8f);
+    }
+
+    private PostsEntity post() {
+        PostsEntity e = new PostsEntity();
+        e.setTitle("Hello");
+        e.setSlug("hello");
+        e.setContent("body");
+        return log.save(e);
+    }
+
+    @Test
+    void upload_underTheEmbeddedProfile_pointsTheLoggedPostAtTheOriginal() throws Exception {
+        HeroImageServiceImpl heroes = embedded();
+        Long id = post().getId();
+
+        HeroImageResponse hero = heroes.upload(id, new MockMultipartFile("file", "hero.png", "image/png", png(600, 300)));
+
+        assertThat(hero.getOriginal().getWidth()).isEqualTo(600);
+        assertThat(hero.isProcessing()).isTrue();
+        assertThat(resizes).hasSize(1);
+        verify(images).save(any(PostImageEntity.class));
+        assertThat(log.findById(id).orElseThrow().getHeroImage()).isEqualTo(hero.getOriginal().getUrl());
+    }
+
+    @Test
+    void upload_leavesThePostLogUntouched_whenTheImageRowsFail() throws Exception {
+        HeroImageServiceImpl heroes = embedded();
+        Long id = post().getId();
+        doThrow(new IllegalStateException("insert failed")).when(images).save(any(PostImageEntity.class));
+
+        assertThatThrownBy(() -> heroes.upload(id, new MockMultipartFile("file", "hero.png", "image/png", png(600, 300))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(log.findById(id).orElseThrow().getHeroImage()).isNull();
+    }
+
+    @Test
+    void replacingAHero_deletesTheOldRows_beforeSavingTheNewOriginal() throws Exception {
+        HeroImageServiceImpl heroes = embedded();
+        Long id = post().getId();
+
+        HeroImageResponse first = heroes.upload(id, new MockMultipartFile("file", "a.png", "image/png", png(600, 300)));
+        HeroImageResponse second = heroes.upload(id, new MockMultipartFile("file", "b.png", "image/png", png(300, 600)));
+
+        InOrder order = inOrder(images);
+        for (int i = 0; i < 2; i++) {
+            order.verify(images).deleteByPostId(id);
+            order.verify(images).save(any(PostImageEntity.class));
+        }
+        assertThat(second.getOriginal().getUrl()).isNotEqualTo(first.getOriginal().getUrl());
+        assertThat(log.findById(id).orElseThrow().getHeroImage()).isEqualTo(second.getOriginal().getUrl());
+    }
+
+    @Test
+    void variants_areSaved_onlyWhileTheUploadIsStillTheHero() throws Exception {
+        HeroImageServiceImpl heroes = embedded();
+        Long id = post().getId();
+        heroes.upload(id, new MockMultipartFile("file", "hero.png", "image/png", png(1200, 600)));
+        assertThat(resizes).hasSize(1);
+
+        // Replaced while the 480 and 960 variants were being resized: neither row is written
+        when(images.isCurrentOriginal(eq(id), anyString())).thenReturn(false);
+        resizes.get(0).run();
+        verify(images, times(1)).save(any(PostImageEntity.class));
+
+        when(images.isCurrentOriginal(eq(id), anyString())).thenReturn(true);
+        resizes.get(0).run();
+        ArgumentCaptor<PostImageEntity> saved = ArgumentCaptor.forClass(PostImageEntity.class);
+        verify(images, times(3)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(PostImageEntity::getVariant).containsExactly("original", "w480", "w960");
+        assertThat(saved.getAllValues().get(1).getWidth()).isEqualTo(480);
+    }
+
+    @Test
+    void oversizedAndOverPixelUploads_areRejected_beforeAnythingIsWritten() throws Exception {
+        HeroImageServiceImpl heroes = embedded(50_000, 100_000);
+        Long id = post().getId();
+
+        assertThatThrownBy(() -> heroes.upload(id, new MockMultipartFile("file", "big.png", "image/png", new byte[50_001])))
+                .isInstanceOf(InvalidImageException.class)
+                .hasMessageContaining("larger than 50000 bytes");
+        // 400x300 is 120,000 pixels; a blank PNG of it is only a few hundred bytes
+        assertThatThrownBy(() -> heroes.upload(id, new MockMultipartFile("file", "wide.png", "image/png", png(400, 300))))
+                .isInstanceOf(InvalidImageException.class)
+                .hasMessageContaining("400x300");
+
+        verify(images, never()).deleteByPostId(anyLong());
+        verify(images, never()).save(any(PostImageEntity.class));
+        assertThat(log.findById(id).orElseThrow().getHeroImage()).isNull();
+    }
+}
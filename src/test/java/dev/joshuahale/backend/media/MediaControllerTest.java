@@ -0,0 +1,103 @@
+package dev.joshuahale.backend.media;
+
+import dev.joshuahale.backend.media.controller.MediaController;
+import dev.joshuahale.backend.media.service.ImageResizer;
+import dev.joshuahale.backend.media.service.MediaStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaControllerTest {
+
+    private static final String SHA = "a".repeat(64);
+
+    @TempDir
+    Path root;
+
+    private MediaStorage storage;
+    private MediaController controller;
+    private String name;
+
+    @BeforeEach
+    void setUp() {
+        storage = new MediaStorage(root.toString(), "/media");
+        controller = new MediaController(storage);
+        String path = storage.variantPath(SHA, 480);
+        storage.write(path, "0123456789".getBytes(StandardCharsets.US_ASCII));
+        name = path.substring(path.indexOf('/') + 1);
+    }
+
+    private MockHttpServletResponse get(String name, String range) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/variants/" + name);
+        if (range != null) request.addHeader("Range", range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve("variants", name, request, response);
+        return response;
+    }
+
+    @Test
+    void fullFile_isServedWithImmutableCaching() throws Exception {
+        MockHttpServletResponse res = get(name, null);
+
+        assertThat(res.getStatus()).isEqualTo(200);
+        assertThat(res.getContentAsString()).isEqualTo("0123456789");
+        assertThat(res.getContentType()).isEqualTo("image/jpeg");
+        assertThat(res.getHeader("Cache-Control")).isEqualTo("public, max-age=31536000, immutable");
+        assertThat(res.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void ranges_return206_or416() throws Exception {
+        MockHttpServletResponse partial = get(name, "bytes=2-4");
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getContentAsString()).isEqualTo("234");
+        assertThat(partial.getHeader("Content-Range")).isEqualTo("bytes 2-4/10");
+
+        MockHttpServletResponse suffix = get(name, "bytes=-3");
+        assertThat(suffix.getContentAsString()).isEqualTo("789");
+
+        MockHttpServletResponse unsatisfiable = get(name, "bytes=50-");
+        assertThat(unsatisfiable.getStatus()).isEqualTo(416);
+        assertThat(unsatisfiable.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void sendfile_isUsedWhenTheConnectorSupportsIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/variants/" + name);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=5-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.serve("variants", name, request, response);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(5L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(10L);
+        assertThat(response.getContentLengthLong()).isEqualTo(5L);
+    }
+
+    @Test
+    void unknownOrTraversingNames_are404() throws Exception {
+        assertThat(get("../../etc/passwd", null).getStatus()).isEqualTo(404);
+        assertThat(get(SHA + "-w960.jpg", null).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void resizer_keepsAspectRatio() {
+        BufferedImage source = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB);
+
+        ImageResizer.Encoded out = ImageResizer.resizeToJpeg(source, 480, 0.8f);
+
+        assertThat(out.width()).isEqualTo(480);
+        assertThat(out.height()).isEqualTo(240);
+        assertThat(ImageResizer.probe(out.bytes(), 10_000_000).contentType()).isEqualTo("image/jpeg");
+    }
+}
@@ -0,0 +1,151 @@
+package dev.joshuahale.backend.posts;
+
+import dev.joshuahale.backend.posts.dto.PostFields;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import dev.joshuahale.backend.posts.repository.EmbeddedPostsRepository;
+import dev.joshuahale.backend.posts.repository.PostsRepository.ProjectedPost;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddedPostsRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private EmbeddedPostsRepository open(Path file, DataSize minDead) {
+        // Direct executor: compaction runs inline so the test can observe it
+        return new EmbeddedPostsRepository(file, DataSize.ofKilobytes(4), true, minDead, 0.5, Runnable::run);
+    }
+
+    private static PostsEntity post(String title, String slug, String content) {
+        PostsEntity e = new PostsEntity();
+        e.setTitle(title);
+        e.setSlug(slug);
+        e.setContent(content);
+        return e;
+    }
+
+    @Test
+    void writes_surviveReopen_withIndexesRebuilt() throws Exception {
+        Path file = dir.resolve("posts.log");
+        EmbeddedPostsRepository repo = open(file, DataSize.ofMegabytes(1));
+        PostsEntity first = repo.save(post("First", "first", "one"));
+        PostsEntity second = repo.save(post("Second", "second", "two ".repeat(2_000)));   // forces the mapping to grow
+        PostsEntity edited = repo.findById(first.getId()).orElseThrow();
+        edited.setTitle("First, edited");
+        repo.save(edited);
+        assertThatThrownBy(() -> repo.save(post("Dup", "second", "x"))).isInstanceOf(DuplicateKeyException.class);
+        repo.close();
+
+        EmbeddedPostsRepository reopened = open(file, DataSize.ofMegabytes(1));
+        assertThat(reopened.findBySlug("first").orElseThrow().getTitle()).isEqualTo("First, edited");
+        assertThat(reopened.findBySlug("first").orElseThrow().getCreatedAt()).isEqualTo(first.getCreatedAt());
+        assertThat(reopened.listAllOrdered()).extracting(PostsEntity::getId).containsExactly(second.getId(), first.getId());
+
+        ProjectedPost titleOnly = reopened.findProjectedBySlug("second", PostFields.parse("title")).orElseThrow();
+        assertThat(titleOnly.response().getTitle()).isEqualTo("Second");
+        assertThat(titleOnly.response().getContent()).isNull();
+
+        // Ids keep increasing across restarts
+        assertThat(reopened.save(post("Third", "third", "three")).getId()).isGreaterThan(second.getId());
+        reopened.close();
+    }
+
+    @Test
+    void tornTail_isDroppedOnOpen_andLogStaysWritable() throws Exception {
+        Path file = dir.resolve("posts.log");
+        EmbeddedPostsRepository repo = open(file, DataSize.ofMegabytes(1));
+        repo.save(post("Kept", "kept", "safe"));
+        repo.save(post("Torn", "torn", "half-written"));
+        repo.close();
+
+        // Corrupt the last byte of the last record, as if the process died mid-append
+        byte[] bytes = Files.readAllBytes(file);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) last--;
+        bytes[last] ^= 0x5A;
+        Files.write(file, bytes);
+
+        EmbeddedPostsRepository recovered = open(file, DataSize.ofMegabytes(1));
+        assertThat(recovered.existsBySlug("kept")).isTrue();
+        assertThat(recovered.existsBySlug("torn")).isFalse();
+        recovered.save(post("After", "after", "appended over the torn tail"));
+        recovered.close();
+
+        EmbeddedPostsRepository again = open(file, DataSize.ofMegabytes(1));
+        assertThat(again.listAllOrdered()).extracting(PostsEntity::getSlug).containsExactly("after", "kept");
+        again.close();
+    }
+
+    @Test
+    void deletedNewestId_isNotReused_afterReopenOrCompaction() throws Exception {
+        Path file = dir.resolve("posts.log");
+        EmbeddedPostsRepository repo = open(file, DataSize.ofMegabytes(1));
+        repo.save(post("Kept", "kept", "k"));
+        PostsEntity newest = repo.save(post("Newest", "newest", "n"));
+        assertThat(repo.deleteById(newest.getId())).isTrue();
+        repo.close();
+
+        EmbeddedPostsRepository reopened = open(file, DataSize.ofMegabytes(1));
+        PostsEntity next = reopened.save(post("Next", "next", "x"));
+        assertThat(next.getId()).isGreaterThan(newest.getId());
+        assertThat(reopened.deleteById(next.getId())).isTrue();
+        reopened.close();
+
+        // Compaction drops tombstones, except the one that carries the highest id
+        EmbeddedPostsRepository compacted = open(file, DataSize.ofBytes(1));
+        compacted.close();
+        EmbeddedPostsRepository again = open(file, DataSize.ofMegabytes(1));
+        assertThat(again.save(post("Later", "later", "l")).getId()).isGreaterThan(next.getId());
+        again.close();
+    }
+
+    @Test
+    void deadRecords_areCompactedAway_withoutLosingLivePosts() throws Exception {
+        Path file = dir.resolve("posts.log");
+        EmbeddedPostsRepository repo = open(file, DataSize.ofBytes(1));
+        PostsEntity kept = repo.save(post("Kept", "kept", "k"));
+        for (int i = 0; i < 50; i++) {
+            PostsEntity doomed = repo.save(post("Doomed " + i, "doomed-" + i, "d".repeat(500)));
+            assertThat(repo.deleteById(doomed.getId())).isTrue();
+        }
+        repo.close();
+
+        // ~25KB of records were written (the mapping grew past 4KB); after compaction one small post is left
+        assertThat(Files.size(file)).isEqualTo(DataSize.ofKilobytes(4).toBytes());
+        EmbeddedPostsRepository reopened = open(file, DataSize.ofBytes(1));
+        assertThat(reopened.listAllOrdered()).extracting(PostsEntity::getId).containsExactly(kept.getId());
+        List<Object[]> plain = reopened.findPlainBodiesForCompression(0, 0, 10);
+        assertThat(plain).hasSize(1);
+        reopened.close();
+    }
+
+    @Test
+    void storeCompressed_leavesABodyEditedSinceItWasRead() throws Exception {
+        EmbeddedPostsRepository repo = open(dir.resolve("posts.log"), DataSize.ofMegabytes(1));
+        PostsEntity saved = repo.save(post("Post", "post", "the original body"));
+
+        // The compactor read "the original body"; a PATCH then saves a new (short, plain) body
+        PostsEntity edited = repo.findById(saved.getId()).orElseThrow();
+        edited.setContent("the edit");
+        repo.save(edited);
+
+        assertThat(repo.storeCompressed(saved.getId(), "the original body", new byte[] { 1, 2, 3 }, null)).isZero();
+        PostsEntity after = repo.findById(saved.getId()).orElseThrow();
+        assertThat(after.getContent()).isEqualTo("the edit");
+        assertThat(after.getContentDeflated()).isNull();
+
+        assertThat(repo.storeCompressed(saved.getId(), "the edit", new byte[] { 1, 2, 3 }, null)).isEqualTo(1);
+        assertThat(repo.findById(saved.getId()).orElseThrow().getContentDeflated()).containsExactly(1, 2, 3);
+        repo.close();
+    }
+}
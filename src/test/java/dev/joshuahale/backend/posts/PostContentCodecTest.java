@@ -0,0 +1,72 @@
+package dev.joshuahale.backend.posts;
+
+import dev.joshuahale.backend.posts.entity.PostContentDictionaryEntity;
+import dev.joshuahale.backend.posts.entity.PostsEntity;
+import dev.joshuahale.backend.posts.repository.PostContentDictionaryRepository;
+import dev.joshuahale.backend.posts.service.PostContentCodec;
+import dev.joshuahale.backend.posts.service.PostContentDictionaryTrainer;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostContentCodecTest {
+
+    private final PostContentDictionaryRepository dictionaries = Mockito.mock(PostContentDictionaryRepository.class);
+
+    private String body(int i) {
+        return ("## Section " + i + "\n\nIn this post we look at how the Spring Boot backend handles "
+                + "sessions, caching and the posts API. ").repeat(60) + "Unique tail " + i;
+    }
+
+    @Test
+    void shortBodies_stayPlain_longBodies_roundTripCompressed() {
+        Mockito.when(dictionaries.findLatest()).thenReturn(Optional.empty());
+        PostContentCodec codec = new PostContentCodec(dictionaries, true, 1024);
+
+        PostsEntity small = new PostsEntity();
+        codec.store(small, "Short body");
+        assertThat(small.getContent()).isEqualTo("Short body");
+        assertThat(small.getContentDeflated()).isNull();
+
+        PostsEntity large = new PostsEntity();
+        codec.store(large, body(1));
+        assertThat(large.getContent()).isNull();
+        assertThat(large.getContentDeflated()).hasSizeLessThan(body(1).length() / 4);
+        assertThat(codec.read(large)).isEqualTo(body(1));
+    }
+
+    @Test
+    void trainedDictionary_shrinksPayload_andIsResolvedOnRead() {
+        List<String> corpus = new ArrayList<>();
+        for (int i = 0; i < 20; i++) corpus.add(body(i));
+        byte[] trained = PostContentDictionaryTrainer.train(corpus);
+        assertThat(trained.length).isBetween(1, PostContentDictionaryTrainer.MAX_DICTIONARY_BYTES);
+
+        PostContentDictionaryEntity dict = new PostContentDictionaryEntity();
+        dict.setDictionary(trained);
+        ReflectionTestUtils.setField(dict, "id", 7);
+
+        Mockito.when(dictionaries.findLatest()).thenReturn(Optional.empty());
+        PostsEntity withoutDict = new PostsEntity();
+        new PostContentCodec(dictionaries, true, 1024).store(withoutDict, body(99));
+
+        PostContentCodec codec = new PostContentCodec(dictionaries, true, 1024);
+        codec.useDictionary(dict);
+        PostsEntity withDict = new PostsEntity();
+        codec.store(withDict, body(99));
+
+        assertThat(withDict.getContentDictId()).isEqualTo(7);
+        assertThat(withDict.getContentDeflated().length).isLessThan(withoutDict.getContentDeflated().length);
+
+        // A fresh instance (e.g. another node) loads the dictionary by id on first read
+        Mockito.when(dictionaries.findById(7)).thenReturn(Optional.of(dict));
+        PostContentCodec reader = new PostContentCodec(dictionaries, false, 1024);
+        assertThat(reader.read(withDict)).isEqualTo(body(99));
+    }
+}
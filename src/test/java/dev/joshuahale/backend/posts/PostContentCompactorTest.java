@@ -0,0 +1,71 @@
+package dev.joshuahale.backend.posts;
+
+import dev.joshuahale.backend.posts.entity.PostContentDictionaryEntity;
+import dev.joshuahale.backend.posts.repository.PostContentDictionaryRepository;
+import dev.joshuahale.backend.posts.repository.PostsRepository;
+import dev.joshuahale.backend.posts.service.PostContentCodec;
+import dev.joshuahale.backend.posts.service.PostContentCompactor;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostContentCompactorTest {
+
+    private final PostsRepository posts = mock(PostsRepository.class);
+    private final PostContentDictionaryRepository dictionaries = mock(PostContentDictionaryRepository.class);
+    private final PostContentCodec codec = mock(PostContentCodec.class);
+    private final List<Runnable> background = new ArrayList<>();
+
+    private PostContentCompactor compactor(boolean lockFree) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getBoolean(1)).thenReturn(lockFree);
+        PreparedStatement st = mock(PreparedStatement.class);
+        when(st.executeQuery()).thenReturn(rs);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(st);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        when(codec.isEnabled()).thenReturn(true);
+        return new PostContentCompactor(posts, dictionaries, codec, mock(TransactionTemplate.class), dataSource,
+                background::add, 100, 500);
+    }
+
+    @Test
+    void conversion_runsOffTheReadyThread() throws Exception {
+        compactor(true).compactOnStartup();
+
+        assertThat(background).hasSize(1);
+        verify(dictionaries, never()).findLatest();
+    }
+
+    @Test
+    void nodeWithoutTheLock_onlyLoadsTheDictionary() throws Exception {
+        PostContentDictionaryEntity dict = new PostContentDictionaryEntity();
+        when(dictionaries.findLatest()).thenReturn(Optional.of(dict));
+        compactor(false).compactOnStartup();
+
+        background.forEach(Runnable::run);
+
+        verify(codec).useDictionary(dict);
+        verify(posts, never()).samplePlainContent(anyInt());
+        verify(posts, never()).findPlainBodiesForCompression(anyInt(), anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,68 @@
+package dev.joshuahale.backend.posts;
+
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
+import dev.joshuahale.backend.posts.service.PostTitleIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostTitleIndexTest {
+
+    private PostTitleIndex index;
+
+    private PostSuggestion entry(long id, String title, String slug, String createdAt) {
+        return new PostSuggestion(id, title, slug, OffsetDateTime.parse(createdAt));
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Repository is only needed for the startup rebuild, which these tests drive directly
+        index = new PostTitleIndex(null);
+        index.rebuild(List.of(
+                entry(1L, "Java Streams in Practice", "java-streams", "2025-01-01T00:00:00Z"),
+                entry(2L, "Javascript Gotchas", "js-gotchas", "2025-03-01T00:00:00Z"),
+                entry(3L, "Café Notes", "cafe-notes", "2025-02-01T00:00:00Z")
+        ));
+    }
+
+    @Test
+    void prefix_matchesTitles_rankedNewestFirst() {
+        List<PostSuggestion> out = index.suggest("jav", 10);
+
+        assertThat(out).extracting(PostSuggestion::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void prefix_matchesWordStartsAndSlugs_withoutDuplicates() {
+        assertThat(index.suggest("stre", 10)).extracting(PostSuggestion::getId).containsExactly(1L);
+        assertThat(index.suggest("js-go", 10)).extracting(PostSuggestion::getId).containsExactly(2L);
+        assertThat(index.suggest("java streams", 10)).extracting(PostSuggestion::getId).containsExactly(1L);
+    }
+
+    @Test
+    void prefix_isAccentAndCaseInsensitive() {
+        assertThat(index.suggest("CAFE", 10)).extracting(PostSuggestion::getId).containsExactly(3L);
+        assertThat(index.suggest("café", 10)).extracting(PostSuggestion::getId).containsExactly(3L);
+    }
+
+    @Test
+    void limit_andBlankPrefix_areRespected() {
+        assertThat(index.suggest("j", 1)).extracting(PostSuggestion::getId).containsExactly(2L);
+        assertThat(index.suggest("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void upsertAndRemove_patchTheIndex() {
+        index.upsert(entry(1L, "Kotlin Streams", "kotlin-streams", "2025-01-01T00:00:00Z"));
+        assertThat(index.suggest("java s", 10)).isEmpty();
+        assertThat(index.suggest("kot", 10)).extracting(PostSuggestion::getId).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.suggest("kot", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
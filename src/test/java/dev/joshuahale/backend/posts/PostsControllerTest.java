@@ -1,34 +1,54 @@
 package dev.joshuahale.backend.posts;
 
+import dev.joshuahale.backend.auth.dto.AuthResponse;
+import dev.joshuahale.backend.auth.service.AuthService;
+import dev.joshuahale.backend.auth.service.AuthService.CurrentSession;
+import dev.joshuahale.backend.auth.service.SessionService;
+import dev.joshuahale.backend.config.ProtobufWireConverter;
+import dev.joshuahale.backend.config.SecurityConfig;
 import dev.joshuahale.backend.posts.controller.PostsController;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joshuahale.backend.posts.dto.PostBatchResponse;
+import dev.joshuahale.backend.posts.dto.PostFields;
 import dev.joshuahale.backend.posts.dto.PostRequest;
 import dev.joshuahale.backend.posts.dto.PostResponse;
+import dev.joshuahale.backend.posts.dto.PostSuggestion;
 import dev.joshuahale.backend.posts.dto.PostUpdateRequest;
 import dev.joshuahale.backend.posts.service.PostsService;
+import dev.joshuahale.backend.posts.service.PostsServiceImpl;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(PostsController.class)
+@WebMvcTest(controllers = PostsController.class, properties = "cors.allowed-origins=http://localhost:5173")
+@Import(SecurityConfig.class)
 class PostsControllerTest {
 
     @Autowired MockMvc mvc;
     @Autowired ObjectMapper json;
 
     @MockitoBean PostsService service; // note: package dev.joshuahale.backend.posts.service
+    @MockitoBean AuthService authService;       // SessionAuthenticationFilter (picked up by the slice) needs these
+    @MockitoBean SessionService sessionService;
 
     private PostResponse sample(Long id, String slug, String title) {
         PostResponse r = new PostResponse();
@@ -63,6 +83,84 @@ class PostsControllerTest {
                 .andExpect(jsonPath("$.slug").value("hello"));
     }
 
+    @Test
+    void getById_withFields_returnsOnlySelectedFields() throws Exception {
+        PostResponse projected = new PostResponse();
+        projected.setId(1L);
+        projected.setTitle("Hello");
+        Mockito.when(service.getById(eq(1L), any(PostFields.class))).thenReturn(projected);
+
+        mvc.perform(get("/api/posts/1").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.title").value("Hello"))
+                .andExpect(jsonPath("$.content").doesNotExist())
+                .andExpect(jsonPath("$.heroImage").doesNotExist());
+    }
+
+    @Test
+    void listAllOrdered_withUnknownField_400() throws Exception {
+        mvc.perform(get("/api/posts").param("fields", "title,passwordHash"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void batch_withFields_projectsEveryPost_andKeepsMissingKeys() throws Exception {
+        PostResponse projected = new PostResponse();
+        projected.setId(2L);
+        projected.setSlug("second");
+        Mockito.when(service.getBatch(eq(List.of(2L, 9L)), eq(null), any(PostFields.class)))
+                .thenReturn(new PostBatchResponse(List.of(projected), List.of(9L), List.of()));
+
+        mvc.perform(get("/api/posts/batch").param("ids", "2,9").param("fields", "slug"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].slug").value("second"))
+                .andExpect(jsonPath("$.posts[0].title").doesNotExist())
+                .andExpect(jsonPath("$.posts[0].content").doesNotExist())
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+    }
+
+    @Test
+    void getById_negotiatesBinaryFormats_jsonStaysDefault() throws Exception {
+        Mockito.when(service.getById(1L)).thenReturn(sample(1L, "hello", "Hello"));
+
+        mvc.perform(get("/api/posts/1"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mvc.perform(get("/api/posts/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        mvc.perform(get("/api/posts/1").accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-protobuf"));
+        mvc.perform(get("/api/posts/1").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"));
+    }
+
+    @Test
+    void create_acceptsProtobufBody() throws Exception {
+        var req = new PostRequest();
+        req.setTitle("Hello");
+        req.setSlug("hello");
+        req.setContent("Body");
+        byte[] body = new ProtobufWireConverter().encode(req, PostRequest.class);
+
+        Mockito.when(service.create(any(PostRequest.class))).thenReturn(sample(42L, "hello", "Hello"));
+
+        mvc.perform(post("/api/posts")
+                        .contentType(ProtobufWireConverter.APPLICATION_PROTOBUF)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.slug").value("hello"));
+
+        ArgumentCaptor<PostRequest> decoded = ArgumentCaptor.forClass(PostRequest.class);
+        Mockito.verify(service).create(decoded.capture());
+        assertThat(decoded.getValue().getTitle()).isEqualTo("Hello");
+        assertThat(decoded.getValue().getContent()).isEqualTo("Body");
+    }
+
     @Test
     void getBySlug_ok() throws Exception {
         Mockito.when(service.getBySlug("hello")).thenReturn(sample(1L, "hello", "Hello"));
@@ -72,6 +170,52 @@ class PostsControllerTest {
                 .andExpect(jsonPath("$.slug").value("hello"));
     }
 
+    @Test
+    void suggest_ok() throws Exception {
+        Mockito.when(service.suggest("hel", 5)).thenReturn(List.of(
+                new PostSuggestion(1L, "Hello", "hello", OffsetDateTime.parse("2025-09-29T12:00:00Z"))));
+
+        mvc.perform(get("/api/posts/suggest").param("prefix", "hel").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].slug").value("hello"))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
+    @Test
+    void batch_ok_reportsMissingKeys() throws Exception {
+        Mockito.when(service.getBatch(List.of(2L, 9L), List.of("hello")))
+                .thenReturn(new PostBatchResponse(
+                        List.of(sample(2L, "second", "Second"), sample(1L, "hello", "Hello")),
+                        List.of(9L),
+                        List.of()));
+
+        mvc.perform(get("/api/posts/batch").param("ids", "2,9").param("slugs", "hello"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].id").value(2))
+                .andExpect(jsonPath("$.posts[1].slug").value("hello"))
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+    }
+
+    @Test
+    void batch_400_whenOverCap() throws Exception {
+        String ids = java.util.stream.IntStream.rangeClosed(1, PostsService.MAX_BATCH_SIZE + 1)
+                .mapToObj(String::valueOf)
+                .collect(java.util.stream.Collectors.joining(","));
+
+        mvc.perform(get("/api/posts/batch").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batch_400_whenServiceRejectsSize() throws Exception {
+        Mockito.when(service.getBatch(List.of(1L), List.of("hello")))
+                .thenThrow(new PostsServiceImpl.BatchTooLargeException("At most 50 ids and slugs per batch"));
+
+        mvc.perform(get("/api/posts/batch").param("ids", "1").param("slugs", "hello"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void create_returns201_andLocationHeader_usesSlug() throws Exception {
         var req = new PostRequest();
@@ -104,6 +248,21 @@ class PostsControllerTest {
         // Body shape depends on your @ControllerAdvice; we just assert 400 here.
     }
 
+    @Test
+    void heroUpload_requiresSignedInUser() throws Exception {
+        mvc.perform(multipart("/api/posts/1/hero")
+                        .file(new MockMultipartFile("file", "hero.jpg", "image/jpeg", new byte[]{1, 2, 3})))
+                .andExpect(status().isForbidden());
+
+        // Signed in: security lets it through (HeroImageController is not part of this slice, hence 404)
+        Mockito.when(authService.currentSession("goodtoken")).thenReturn(Optional.of(new CurrentSession(
+                new AuthResponse(7L, "alice", "alice@example.com", Set.of("USER")), null)));
+        mvc.perform(multipart("/api/posts/1/hero")
+                        .file(new MockMultipartFile("file", "hero.jpg", "image/jpeg", new byte[]{1, 2, 3}))
+                        .cookie(new Cookie("sid", "goodtoken")))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void patch_ok() throws Exception {
         var patch = new PostUpdateRequest();
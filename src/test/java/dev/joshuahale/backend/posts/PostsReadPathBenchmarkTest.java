@@ -0,0 +1,97 @@
+package dev.joshuahale.backend.posts;
+
+import dev.joshuahale.backend.posts.dto.PostRequest;
+import dev.joshuahale.backend.posts.repository.JdbcPostsReader;
+import dev.joshuahale.backend.posts.repository.JpaPostsReader;
+import dev.joshuahale.backend.posts.repository.PostsReader;
+import dev.joshuahale.backend.posts.repository.PostsRepository;
+import dev.joshuahale.backend.posts.service.PostsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request CPU time and allocation of the JPA vs JDBC read paths against a real PostgreSQL.
+ * Run with -Dbenchmarks=true (needs Docker); prints one line per read path.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PostsReadPathBenchmarkTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("cors.allowed-origins", () -> "http://localhost");
+        registry.add("contact.recipient.email", () -> "owner@example.com");
+        registry.add("contact.from.email", () -> "noreply@example.com");
+    }
+
+    @Autowired PostsService service;
+    @Autowired PostsRepository repo;
+    @Autowired DataSource dataSource;
+    @Autowired TransactionTemplate tx;
+
+    @Test
+    void jdbcReadPath_usesLessCpuAndAllocation_thanJpa() {
+        for (int i = 0; i < 200; i++) {
+            PostRequest r = new PostRequest();
+            r.setTitle("Benchmark post " + i);
+            r.setContent("Lorem ipsum dolor sit amet. ".repeat(40));
+            service.create(r);
+        }
+
+        Map<String, PostsReader> readers = Map.of(
+                "jpa", new JpaPostsReader(repo),
+                "jdbc", new JdbcPostsReader(dataSource, 100));
+        long[] jpa = measure(readers.get("jpa"));
+        long[] jdbc = measure(readers.get("jdbc"));
+
+        System.out.printf("jpa   %8d ns cpu  %10d bytes/request%n", jpa[0], jpa[1]);
+        System.out.printf("jdbc  %8d ns cpu  %10d bytes/request%n", jdbc[0], jdbc[1]);
+        assertThat(jdbc[1]).isLessThan(jpa[1]);
+    }
+
+    // One "request" = list every post + one slug lookup, each in its own read-only transaction
+    private long[] measure(PostsReader reader) {
+        Runnable request = () -> {
+            tx.executeWithoutResult(s -> {
+                try (Stream<PostsRepository.ProjectedPost> rows = reader.streamAllOrdered()) {
+                    rows.forEach(row -> { });
+                }
+            });
+            tx.executeWithoutResult(s -> reader.findBySlug("benchmark-post-100"));
+        };
+        for (int i = 0; i < 300; i++) request.run();   // warm-up
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = 1_000;
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) request.run();
+        return new long[] {
+                (threads.getCurrentThreadCpuTime() - cpuBefore) / iterations,
+                (threads.getCurrentThreadAllocatedBytes() - allocBefore) / iterations
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package dev.joshuahale.backend.posts;
+
+import dev.joshuahale.backend.config.InvalidationBus;
+import dev.joshuahale.backend.media.repository.PostImagesRepository;
+import dev.joshuahale.backend.posts.repository.PostsReader;
+import dev.joshuahale.backend.posts.repository.PostsRepository;
+import dev.joshuahale.backend.posts.service.PostContentCodec;
+import dev.joshuahale.backend.posts.service.PostTitleIndex;
+import dev.joshuahale.backend.posts.service.PostsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostsServiceImplTest {
+
+    private final PostsRepository repo = mock(PostsRepository.class);
+    private final PostTitleIndex titleIndex = mock(PostTitleIndex.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final InvalidationBus bus = mock(InvalidationBus.class);
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void otherNodesChanges_areReloadedFromThePrimary_notAReplica() {
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repo.findProjectedById(eq(5L), any())).thenReturn(Optional.empty());
+        when(repo.listSuggestionEntries()).thenReturn(List.of());
+        new PostsServiceImpl(repo, mock(PostsReader.class), titleIndex, mock(PostContentCodec.class),
+                mock(PostImagesRepository.class), new TransactionTemplate(txManager), bus, Runnable::run,
+                Duration.ofSeconds(5), Duration.ofSeconds(60));
+
+        ArgumentCaptor<Consumer<String>> onEvent = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<Runnable> onResync = ArgumentCaptor.forClass(Runnable.class);
+        verify(bus).subscribe(eq("post"), onEvent.capture(), onResync.capture());
+
+        onEvent.getValue().accept("5");
+        onResync.getValue().run();
+
+        // Replica routing sends read-only transactions to a replica, which may not have the write yet
+        ArgumentCaptor<TransactionDefinition> used = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(txManager, times(2)).getTransaction(used.capture());
+        assertThat(used.getAllValues()).noneMatch(TransactionDefinition::isReadOnly);
+        verify(titleIndex).remove(5L);
+        verify(titleIndex).rebuild(List.of());
+    }
+}
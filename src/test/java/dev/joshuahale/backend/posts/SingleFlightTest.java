@@ -0,0 +1,134 @@
+package dev.joshuahale.backend.posts;
+
+import dev.joshuahale.backend.posts.service.SingleFlight;
+import dev.joshuahale.backend.posts.service.StaleWhileRevalidate;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentLoads_forSameKey_runLoaderOnce() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> flight.load("hot-slug", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "post";
+                })));
+            }
+            // Let every caller pile up behind the leader before it finishes
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> f : results) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void leaderException_isPropagated_andNotRemembered() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flight.load("k", () -> { throw new IllegalStateException("boom"); }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(flight.load("k", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void staleValue_isServedWhileRefreshingInBackground_andInvalidateForcesReload() {
+        MutableClock clock = new MutableClock();
+        AtomicInteger version = new AtomicInteger();
+        List<Runnable> queued = new ArrayList<>();
+        StaleWhileRevalidate<Integer> cache = new StaleWhileRevalidate<>(version::incrementAndGet, queued::add,
+                Duration.ofSeconds(5), Duration.ofSeconds(60), clock);
+
+        assertThat(cache.get()).isEqualTo(1);
+        clock.advance(Duration.ofSeconds(10));
+
+        // Stale: old value returned immediately, exactly one refresh scheduled
+        assertThat(cache.get()).isEqualTo(1);
+        assertThat(cache.get()).isEqualTo(1);
+        assertThat(queued).hasSize(1);
+        queued.remove(0).run();
+        assertThat(cache.get()).isEqualTo(2);
+
+        cache.invalidate();
+        assertThat(cache.get()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidateDuringALoad_discardsThatLoad() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StaleWhileRevalidate<Integer> cache = new StaleWhileRevalidate<>(() -> {
+            int v = version.incrementAndGet();
+            if (v == 1) {
+                loading.countDown();
+                await(release);     // the first load read the data before the write below
+            }
+            return v;
+        }, Runnable::run, Duration.ofSeconds(5), Duration.ofSeconds(60), new MutableClock());
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> early = pool.submit(cache::get);
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            cache.invalidate();
+            // A caller after the invalidation does not join the blocked load
+            assertThat(cache.get()).isEqualTo(2);
+
+            release.countDown();
+            assertThat(early.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        // The pre-invalidation value was not published over the newer one
+        assertThat(cache.get()).isEqualTo(2);
+        assertThat(version.get()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}